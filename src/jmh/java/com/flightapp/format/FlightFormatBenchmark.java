@@ -0,0 +1,96 @@
+package com.flightapp.format;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.flightapp.dto.FlightDto;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Writes and reads flight lists in each {@link FlightFormat}, the way the endpoints do.
+ * Setup prints the body size per format, plain and gzipped, to compare bytes on the wire.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlightFormatBenchmark {
+
+    @Param({"JSON", "CBOR", "SMILE", "PROTOBUF"})
+    public FlightFormat format;
+
+    @Param({"1", "50", "500", "5000"})
+    public int size;
+
+    private FlightSerializer serializer;
+    private ObjectReader reader;
+    private List<FlightDto> flights;
+    private byte[] body;
+
+    @Setup
+    public void setUp() throws Exception {
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper cbor = Jackson2ObjectMapperBuilder.json().factory(new CBORFactory()).build();
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.json().factory(new SmileFactory()).build();
+        serializer = new FlightSerializer(json,
+                new MappingJackson2CborHttpMessageConverter(cbor), new MappingJackson2SmileHttpMessageConverter(smile));
+        ObjectMapper mapper = switch (format) {
+            case CBOR -> cbor;
+            case SMILE -> smile;
+            default -> json;
+        };
+        reader = mapper.readerForListOf(FlightDto.class);
+        flights = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            flights.add(new FlightDto((long) i, "AA", String.format("%04d", i % 10000),
+                    LocalDate.of(2025, 3, 15).plusDays(i % 365), "JFK", "LHR"));
+        }
+        body = serializer.serialize(flights, format);
+        System.out.printf("%n%s, %d flights: %d bytes, %d gzipped%n", format, size, body.length, gzippedSize(body));
+    }
+
+    @Benchmark
+    public byte[] serialize() {
+        return serializer.serialize(flights, format);
+    }
+
+    @Benchmark
+    public List<FlightDto> deserialize() throws Exception {
+        return format == FlightFormat.PROTOBUF
+                ? FlightProtobuf.readFlightList(new ByteArrayInputStream(body))
+                : reader.readValue(body);
+    }
+
+    private static int gzippedSize(byte[] bytes) throws Exception {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(buffer)) {
+            gzip.write(bytes);
+        }
+        return buffer.size();
+    }
+}
@@ -0,0 +1,23 @@
+package com.flightapp.security;
+
+import com.flightapp.config.JwtConfig;
+
+import java.util.Base64;
+
+final class BenchmarkSupport {
+
+    private BenchmarkSupport() {
+    }
+
+    static JwtConfig jwtConfig() {
+        JwtConfig jwtConfig = new JwtConfig();
+        jwtConfig.setSecret(Base64.getEncoder().encodeToString(
+                "benchmarkSecretKey1234567890123456789012345678901234567890".getBytes()));
+        jwtConfig.setExpiration(3600000);
+        jwtConfig.setHeader("Authorization");
+        jwtConfig.setPrefix("Bearer ");
+        jwtConfig.setCacheMaxSize(10000);
+        jwtConfig.setCacheMaxAge(300000);
+        return jwtConfig;
+    }
+}
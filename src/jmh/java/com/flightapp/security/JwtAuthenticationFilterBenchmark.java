@@ -0,0 +1,89 @@
+package com.flightapp.security;
+
+import com.flightapp.config.CacheConfig;
+import com.flightapp.config.JwtConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Authenticates one bearer-token request per invocation. The user lookup is stubbed, so
+ * database mode measures the filter and copy overhead without a query.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    @Param({"true", "false"})
+    public boolean claimsAuthentication;
+
+    @Param({"true", "false"})
+    public boolean tokenCache;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain chain;
+
+    @Setup
+    public void setUp() {
+        JwtConfig jwtConfig = BenchmarkSupport.jwtConfig();
+        jwtConfig.setClaimsAuthentication(claimsAuthentication);
+        jwtConfig.setCacheEnabled(tokenCache);
+        JwtTokenProvider tokenProvider = new JwtTokenProvider(jwtConfig);
+        tokenProvider.init();
+        JwtAuthenticationCache authenticationCache = new JwtAuthenticationCache(jwtConfig);
+
+        UserDetails user = new User("admin", "hash", List.of(new SimpleGrantedAuthority("ROLE_ADMIN")));
+        CacheConfig cacheConfig = new CacheConfig();
+        cacheConfig.setUsersMaxSize(1);
+        cacheConfig.setUsersTtl(1);
+        UserDetailsServiceImpl userDetailsService = new UserDetailsServiceImpl(null, cacheConfig, authenticationCache) {
+            @Override
+            public UserDetails loadUserByUsername(String username) {
+                return User.withUserDetails(user).build();
+            }
+        };
+        filter = new JwtAuthenticationFilter(tokenProvider, userDetailsService, jwtConfig, authenticationCache,
+                new SimpleMeterRegistry());
+
+        String token = tokenProvider.createToken(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        request = new MockHttpServletRequest("GET", "/flights/1");
+        request.addHeader("Authorization", "Bearer " + token);
+        response = new MockHttpServletResponse();
+        chain = (req, res) -> { };
+    }
+
+    @Benchmark
+    public Object doFilterInternal() throws Exception {
+        filter.doFilterInternal(request, response, chain);
+        Object authentication = SecurityContextHolder.getContext().getAuthentication();
+        SecurityContextHolder.clearContext();
+        return authentication;
+    }
+}
@@ -0,0 +1,48 @@
+package com.flightapp.service.impl;
+
+import com.flightapp.dto.FlightDto;
+import com.flightapp.model.Flight;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class FlightConversionBenchmark {
+
+    private FlightServiceImpl flightService;
+    private Flight flight;
+    private FlightDto flightDto;
+
+    @Setup
+    public void setUp() {
+        // Conversions touch none of the collaborators
+        flightService = new FlightServiceImpl(null, null, null, null, null, null, null, null, null, null, null, null);
+        flight = new Flight(1L, "AA", "1234", LocalDate.of(2025, 3, 15), "JFK", "LHR");
+        flightDto = new FlightDto(1L, "AA", "1234", LocalDate.of(2025, 3, 15), "JFK", "LHR");
+    }
+
+    @Benchmark
+    public FlightDto convertToDto() {
+        return flightService.convertToDto(flight);
+    }
+
+    @Benchmark
+    public Flight convertToEntity() {
+        return flightService.convertToEntity(flightDto);
+    }
+}
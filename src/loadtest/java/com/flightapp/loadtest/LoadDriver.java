@@ -0,0 +1,335 @@
+package com.flightapp.loadtest;
+
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.flightapp.dto.AuthRequest;
+import com.flightapp.dto.AuthResponse;
+import com.flightapp.dto.FlightDto;
+import com.flightapp.dto.FlightPageDto;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Closed-loop HTTP load driver: logs in through {@code /auth/login}, then keeps a fixed
+ * number of workers issuing a weighted GET/POST/DELETE mix against {@code /flights} and
+ * prints throughput and latency percentiles per operation. {@code get_v2} reads by ID through
+ * the reactive {@code /v2/flights} API instead.
+ *
+ * <p>Options are {@code --name=value}: {@code base-url}, {@code username}, {@code password},
+ * {@code concurrency}, {@code warmup} and {@code duration} (seconds), and {@code mix}
+ * (e.g. {@code get=90,post=5,delete=5}). Deletes only remove flights this run created.
+ */
+public final class LoadDriver {
+
+    enum Operation { GET, GET_V2, POST, DELETE }
+
+    private static final String[] CARRIERS = {"AA", "BA", "LH", "AF", "KL", "UA"};
+    private static final String[] AIRPORTS = {"JFK", "LHR", "FRA", "CDG", "AMS", "ORD", "MAD", "ZRH"};
+
+    private final JsonMapper mapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final Queue<Long> created = new ConcurrentLinkedQueue<>();
+
+    private final String baseUrl;
+    private final String username;
+    private final String password;
+    private final int concurrency;
+    private final Duration warmup;
+    private final Duration duration;
+    private final Map<Operation, Integer> mix;
+
+    private String authorization;
+    private long minId;
+    private long maxId;
+
+    LoadDriver(Map<String, String> options) {
+        this.baseUrl = options.getOrDefault("base-url", "http://localhost:8080/flightapp");
+        this.username = options.getOrDefault("username", "admin");
+        this.password = options.getOrDefault("password", "123");
+        this.concurrency = Integer.parseInt(options.getOrDefault("concurrency", "16"));
+        this.warmup = Duration.ofSeconds(Long.parseLong(options.getOrDefault("warmup", "10")));
+        this.duration = Duration.ofSeconds(Long.parseLong(options.getOrDefault("duration", "60")));
+        this.mix = parseMix(options.getOrDefault("mix", "get=90,post=5,delete=5"));
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("=")) {
+                throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+            }
+            int eq = arg.indexOf('=');
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        new LoadDriver(options).run();
+    }
+
+    void run() throws Exception {
+        login();
+        discoverIds();
+        System.out.printf("Target %s, %d workers, mix %s, IDs %d..%d%n", baseUrl, concurrency, mix, minId, maxId);
+        System.out.printf("Warming up for %ds, measuring for %ds%n", warmup.toSeconds(), duration.toSeconds());
+
+        long measureFrom = System.nanoTime() + warmup.toNanos();
+        long measureUntil = measureFrom + duration.toNanos();
+        List<Worker> workers = new ArrayList<>();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            Worker worker = new Worker(measureFrom, measureUntil);
+            Thread thread = new Thread(worker, "load-" + i);
+            workers.add(worker);
+            threads.add(thread);
+            thread.start();
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        report(workers);
+    }
+
+    private void login() throws IOException, InterruptedException {
+        HttpResponse<byte[]> response = send(HttpRequest.newBuilder(URI.create(baseUrl + "/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(
+                        mapper.writeValueAsBytes(new AuthRequest(username, password))))
+                .build());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login failed with HTTP " + response.statusCode());
+        }
+        authorization = "Bearer " + mapper.readValue(response.body(), AuthResponse.class).getToken();
+    }
+
+    /** GETs are spread over [lowest existing ID, ID of a freshly created flight]. */
+    private void discoverIds() throws IOException, InterruptedException {
+        HttpResponse<byte[]> page = send(authorized("/flights/page?size=1").GET().build());
+        FlightPageDto first = mapper.readValue(page.body(), FlightPageDto.class);
+        Long probe = post();
+        if (probe == null) {
+            throw new IllegalStateException("Could not create a flight; is " + username + " an ADMIN?");
+        }
+        maxId = probe;
+        minId = first.getFlights().isEmpty() ? probe : first.getFlights().get(0).getId();
+    }
+
+    private Long post() throws IOException, InterruptedException {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int origin = random.nextInt(AIRPORTS.length);
+        FlightDto flight = new FlightDto(null,
+                CARRIERS[random.nextInt(CARRIERS.length)],
+                String.format("%04d", 1 + random.nextInt(9999)),
+                LocalDate.now().plusDays(random.nextInt(365)),
+                AIRPORTS[origin],
+                AIRPORTS[(origin + 1 + random.nextInt(AIRPORTS.length - 1)) % AIRPORTS.length]);
+        HttpResponse<byte[]> response = send(authorized("/flights")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(mapper.writeValueAsBytes(flight)))
+                .build());
+        if (response.statusCode() != 201) {
+            return null;
+        }
+        Long id = mapper.readValue(response.body(), FlightDto.class).getId();
+        created.add(id);
+        return id;
+    }
+
+    private HttpRequest.Builder authorized(String path) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", authorization);
+    }
+
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        return client.send(request, HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    private Operation pick() {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<Operation, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        return Operation.GET;
+    }
+
+    private final class Worker implements Runnable {
+
+        private final long measureFrom;
+        private final long measureUntil;
+        private final Map<Operation, Samples> samples = new EnumMap<>(Operation.class);
+
+        Worker(long measureFrom, long measureUntil) {
+            this.measureFrom = measureFrom;
+            this.measureUntil = measureUntil;
+            for (Operation operation : Operation.values()) {
+                samples.put(operation, new Samples());
+            }
+        }
+
+        @Override
+        public void run() {
+            long now;
+            while ((now = System.nanoTime()) < measureUntil) {
+                Operation operation = pick();
+                boolean ok;
+                try {
+                    ok = execute(operation);
+                } catch (IOException e) {
+                    ok = false;
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                if (now >= measureFrom) {
+                    samples.get(operation).record(System.nanoTime() - now, ok);
+                }
+            }
+        }
+
+        /** A DELETE with nothing left to delete creates a flight instead, keeping the write share. */
+        private boolean execute(Operation operation) throws IOException, InterruptedException {
+            if (operation == Operation.DELETE) {
+                Long id = created.poll();
+                if (id != null) {
+                    int status = send(authorized("/flights/" + id).DELETE().build()).statusCode();
+                    return status == 204 || status == 200;
+                }
+                operation = Operation.POST;
+            }
+            if (operation == Operation.POST) {
+                return post() != null;
+            }
+            String path = operation == Operation.GET_V2 ? "/v2/flights/" : "/flights/";
+            long id = ThreadLocalRandom.current().nextLong(minId, maxId + 1);
+            int status = send(authorized(path + id).GET().build()).statusCode();
+            // Deleted or never-created IDs are a legitimate miss, not a failure
+            return status == 200 || status == 404;
+        }
+    }
+
+    private void report(List<Worker> workers) {
+        double seconds = duration.toNanos() / 1e9;
+        Samples all = new Samples();
+        System.out.printf("%n%-8s %10s %8s %10s %9s %9s %9s %9s %9s%n",
+                "op", "requests", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p999 ms", "max ms");
+        for (Operation operation : Operation.values()) {
+            Samples merged = new Samples();
+            workers.forEach(worker -> merged.addAll(worker.samples.get(operation)));
+            all.addAll(merged);
+            printRow(operation.name(), merged, seconds);
+        }
+        printRow("ALL", all, seconds);
+        printHistogram(all);
+    }
+
+    private static void printRow(String label, Samples samples, double seconds) {
+        if (samples.size == 0) {
+            return;
+        }
+        long[] sorted = samples.sorted();
+        System.out.printf("%-8s %10d %8d %10.1f %9.3f %9.3f %9.3f %9.3f %9.3f%n",
+                label, sorted.length, samples.errors, sorted.length / seconds,
+                millis(percentile(sorted, 0.50)), millis(percentile(sorted, 0.90)),
+                millis(percentile(sorted, 0.99)), millis(percentile(sorted, 0.999)),
+                millis(sorted[sorted.length - 1]));
+    }
+
+    /** Power-of-two latency buckets, in microseconds. */
+    private static void printHistogram(Samples samples) {
+        if (samples.size == 0) {
+            return;
+        }
+        long[] counts = new long[64];
+        for (int i = 0; i < samples.size; i++) {
+            long micros = Math.max(1, samples.latencies[i] / 1_000);
+            counts[63 - Long.numberOfLeadingZeros(micros)]++;
+        }
+        System.out.printf("%nLatency histogram (all operations)%n");
+        for (int bucket = 0; bucket < counts.length; bucket++) {
+            if (counts[bucket] == 0) {
+                continue;
+            }
+            double share = 100.0 * counts[bucket] / samples.size;
+            System.out.printf("%8d - %-8d us %10d %6.2f%% %s%n",
+                    1L << bucket, (1L << (bucket + 1)) - 1, counts[bucket], share,
+                    "#".repeat((int) Math.round(share / 2)));
+        }
+    }
+
+    private static long percentile(long[] sorted, double quantile) {
+        int rank = (int) Math.ceil(quantile * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+
+    private static Map<Operation, Integer> parseMix(String spec) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String part : spec.split(",")) {
+            String[] pair = part.split("=");
+            weights.put(Operation.valueOf(pair[0].trim().toUpperCase()), Integer.parseInt(pair[1].trim()));
+        }
+        if (weights.values().stream().mapToInt(Integer::intValue).sum() <= 0) {
+            throw new IllegalArgumentException("Mix needs at least one positive weight: " + spec);
+        }
+        return weights;
+    }
+
+    /** Growable per-worker latency log; merged and sorted once the run is over. */
+    private static final class Samples {
+
+        private long[] latencies = new long[1024];
+        private int size;
+        private long errors;
+
+        void record(long nanos, boolean ok) {
+            if (size == latencies.length) {
+                latencies = Arrays.copyOf(latencies, size * 2);
+            }
+            latencies[size++] = nanos;
+            if (!ok) {
+                errors++;
+            }
+        }
+
+        void addAll(Samples other) {
+            if (size + other.size > latencies.length) {
+                latencies = Arrays.copyOf(latencies, Math.max(size + other.size, latencies.length * 2));
+            }
+            System.arraycopy(other.latencies, 0, latencies, size, other.size);
+            size += other.size;
+            errors += other.errors;
+        }
+
+        long[] sorted() {
+            long[] copy = Arrays.copyOf(latencies, size);
+            Arrays.sort(copy);
+            return copy;
+        }
+    }
+}
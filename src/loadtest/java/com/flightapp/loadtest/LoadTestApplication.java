@@ -0,0 +1,46 @@
+package com.flightapp.loadtest;
+
+import com.flightapp.FlightManagementApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.core.type.classreading.MetadataReader;
+import org.springframework.core.type.classreading.MetadataReaderFactory;
+
+/**
+ * Runs the full application against H2 in Oracle mode with the "loadtest" profile, so
+ * {@link ScheduleGenerator} fills FLIGHTS before {@link LoadDriver} is pointed at it.
+ * Start with {@code mvn -Ploadtest spring-boot:test-run}.
+ */
+public class LoadTestApplication {
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(FlightManagementApplication.class);
+        application.setAdditionalProfiles("loadtest");
+        application.addInitializers(context -> context.getBeanFactory()
+                .registerSingleton("testConfigurationExcludeFilter", new TestConfigurationExcludeFilter()));
+        application.run(args);
+    }
+
+    /**
+     * Component scanning sees the test classpath here; the mock-backed {@link TestConfiguration}
+     * classes must stay out of the running application.
+     */
+    static class TestConfigurationExcludeFilter extends TypeExcludeFilter {
+
+        @Override
+        public boolean match(MetadataReader metadataReader, MetadataReaderFactory metadataReaderFactory) {
+            return metadataReader.getAnnotationMetadata().isAnnotated(TestConfiguration.class.getName());
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            return obj != null && obj.getClass() == getClass();
+        }
+
+        @Override
+        public int hashCode() {
+            return getClass().hashCode();
+        }
+    }
+}
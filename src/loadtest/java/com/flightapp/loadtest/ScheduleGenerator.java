@@ -0,0 +1,118 @@
+package com.flightapp.loadtest;
+
+import com.flightapp.cache.FlightIdFilter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tops FLIGHTS up to {@code loadtest.flights} rows of a seeded, repeatable synthetic
+ * schedule. Runs before ApplicationReadyEvent, so the flight store and route index load
+ * the generated rows like any other data.
+ */
+@Component
+@Profile("loadtest")
+public class ScheduleGenerator implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(ScheduleGenerator.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO FLIGHTS (ID, CARRIER_CODE, FLIGHT_NUMBER, FLIGHT_DATE, ORIGIN, DESTINATION) VALUES (?, ?, ?, ?, ?, ?)";
+
+    // Matches the FLIGHT_SEQ increment: each NEXTVAL reserves this many IDs, as pooled-lo does
+    private static final int ID_BLOCK_SIZE = 50;
+
+    private static final String[] CARRIERS = {
+            "AA", "AC", "AF", "AY", "AZ", "BA", "DL", "EI", "EK", "IB",
+            "KL", "LH", "LX", "OS", "QR", "SK", "SN", "TK", "UA", "VS"
+    };
+
+    private static final String[] AIRPORTS = {
+            "AMS", "ARN", "ATH", "ATL", "BCN", "BOS", "BRU", "CDG", "CPH", "DFW",
+            "DOH", "DUB", "DXB", "EWR", "FCO", "FRA", "GVA", "HEL", "IAD", "IST",
+            "JFK", "LAX", "LHR", "LIS", "MAD", "MAN", "MIA", "MUC", "MXP", "ORD",
+            "OSL", "PRG", "SEA", "SFO", "VIE", "WAW", "YUL", "YYZ", "ZRH", "TXL"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final FlightIdFilter flightIdFilter;
+    private final int flights;
+    private final int days;
+    private final long seed;
+    private final int batchSize;
+
+    public ScheduleGenerator(JdbcTemplate jdbcTemplate,
+                             FlightIdFilter flightIdFilter,
+                             @Value("${loadtest.flights:1000000}") int flights,
+                             @Value("${loadtest.days:365}") int days,
+                             @Value("${loadtest.seed:42}") long seed,
+                             @Value("${loadtest.batch-size:5000}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.flightIdFilter = flightIdFilter;
+        this.flights = flights;
+        this.days = days;
+        this.seed = seed;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long existing = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM FLIGHTS", Long.class);
+        long missing = flights - (existing != null ? existing : 0);
+        if (missing <= 0) {
+            log.info("FLIGHTS already holds {} rows, nothing to generate", existing);
+            return;
+        }
+
+        log.info("Generating {} flights over {} days (seed {})", missing, days, seed);
+        long started = System.nanoTime();
+        Random random = new Random(seed);
+        LocalDate firstDay = LocalDate.now();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        long nextId = 0;
+        long blockEnd = 0;
+
+        for (long written = 0; written < missing; written++) {
+            if (nextId == blockEnd) {
+                nextId = jdbcTemplate.queryForObject("SELECT FLIGHT_SEQ.NEXTVAL FROM DUAL", Long.class);
+                blockEnd = nextId + ID_BLOCK_SIZE;
+            }
+            int origin = random.nextInt(AIRPORTS.length);
+            int destination = (origin + 1 + random.nextInt(AIRPORTS.length - 1)) % AIRPORTS.length;
+            batch.add(new Object[] {
+                    nextId++,
+                    CARRIERS[random.nextInt(CARRIERS.length)],
+                    String.format("%04d", 1 + random.nextInt(9999)),
+                    Date.valueOf(firstDay.plusDays(random.nextInt(days))),
+                    AIRPORTS[origin],
+                    AIRPORTS[destination]
+            });
+            if (batch.size() == batchSize) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+                batch.clear();
+                if ((written + 1) % 100_000 == 0) {
+                    log.info("Generated {} of {} flights", written + 1, missing);
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+        }
+        log.info("Generated {} flights in {} ms", missing, (System.nanoTime() - started) / 1_000_000);
+
+        // The scheduled first rebuild may have run against the empty table; the generated
+        // rows bypass FlightChangeEvent, so rebuild now or they would be answered 404.
+        flightIdFilter.rebuild();
+    }
+}
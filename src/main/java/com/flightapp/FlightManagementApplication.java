@@ -1,11 +1,20 @@
 package com.flightapp;
 
+import com.flightapp.security.TimedPasswordEncoder;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
 
-@SpringBootApplication
+// The R2DBC pool behind /v2/flights is private to ReactiveFlightRepository (see R2dbcConfig)
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
+@EnableScheduling
 public class FlightManagementApplication {
 
 	public static void main(String[] args) {
@@ -13,7 +22,9 @@ public class FlightManagementApplication {
 	}
 
 	@Bean
-	public BCryptPasswordEncoder passwordEncoder() {
-		return new BCryptPasswordEncoder();
+	public PasswordEncoder passwordEncoder(ObjectProvider<MeterRegistry> meterRegistry) {
+		// Test slices have no registry; the empty global one turns the timers into no-ops
+		return new TimedPasswordEncoder(new BCryptPasswordEncoder(),
+				meterRegistry.getIfAvailable(() -> Metrics.globalRegistry));
 	}
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.flightapp.cache;
+
+import com.flightapp.config.CacheConfig;
+import com.flightapp.dto.FlightDto;
+import com.flightapp.event.FlightChangeEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Read-through cache of flights by ID. Entries are invalidated when a write commits;
+ * the TTL only bounds staleness from changes made outside this service.
+ */
+@Component
+public class FlightCache implements MonitoredCache {
+
+    private final CacheConfig cacheConfig;
+    private final Cache<Long, FlightDto> cache;
+
+    public FlightCache(CacheConfig cacheConfig) {
+        this.cacheConfig = cacheConfig;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.getFlightsMaxSize())
+                .expireAfterWrite(Duration.ofMillis(cacheConfig.getFlightsTtl()))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached flight or loads it. Concurrent misses for one ID share a single
+     * load; a loader that throws caches nothing.
+     */
+    public FlightDto get(Long id, Function<Long, FlightDto> loader) {
+        FlightDto flight = cacheConfig.isFlightsEnabled()
+                ? cache.get(id, loader)
+                : loader.apply(id);
+        // Hand out a copy so callers cannot modify the shared entry
+        return copyOf(flight);
+    }
+
+    /**
+     * Returns the cached flight, or null without loading it.
+     */
+    public FlightDto getIfPresent(Long id) {
+        FlightDto flight = cacheConfig.isFlightsEnabled() ? cache.getIfPresent(id) : null;
+        return flight != null ? copyOf(flight) : null;
+    }
+
+    public void evict(Long id) {
+        cache.invalidate(id);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChange(FlightChangeEvent event) {
+        event.getFlights().forEach(flight -> evict(flight.getId()));
+    }
+
+    @Override
+    public String getName() {
+        return "flights";
+    }
+
+    @Override
+    public Cache<?, ?> getNativeCache() {
+        return cache;
+    }
+
+    private static FlightDto copyOf(FlightDto flight) {
+        return new FlightDto(flight.getId(), flight.getCarrierCode(), flight.getFlightNumber(),
+                flight.getFlightDate(), flight.getOrigin(), flight.getDestination(), flight.getChangeVersion());
+    }
+}
@@ -0,0 +1,163 @@
+package com.flightapp.cache;
+
+import com.flightapp.config.FlightConfig;
+import com.flightapp.dto.FlightDto;
+import com.flightapp.event.FlightChangeEvent;
+import com.flightapp.repository.FlightRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.stream.Stream;
+
+/**
+ * Bitmap of existing flight IDs, used to answer "definitely not found" without a query.
+ * <p>
+ * The bitmap covers IDs up to the largest one seen at the last rebuild (the watermark).
+ * IDs above it are always reported as possibly existing, since they may have been issued
+ * since. Deletes made through this service clear their bit once committed. The bitmap is
+ * rebuilt from the table on a schedule, which also picks up changes made elsewhere.
+ * <p>
+ * Off by default: another instance inserting from a pooled ID block below this node's
+ * watermark gets false 404s here until the next rebuild. Enable it on a single writer,
+ * or where such a delay is acceptable.
+ */
+@Component
+public class FlightIdFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightIdFilter.class);
+
+    private final FlightRepository flightRepository;
+    private final FlightConfig flightConfig;
+    private final Object lock = new Object();
+    private final Object rebuildLock = new Object();
+
+    private volatile IdBitmap bitmap;
+    // Changes committed while a rebuild is scanning the table, replayed onto the new bitmap
+    private List<FlightChangeEvent> pending;
+
+    public FlightIdFilter(FlightRepository flightRepository, FlightConfig flightConfig) {
+        this.flightRepository = flightRepository;
+        this.flightConfig = flightConfig;
+    }
+
+    /**
+     * Returns false only when the flight certainly does not exist. Before the first
+     * rebuild, or when the filter is disabled, every ID might exist.
+     */
+    public boolean mightExist(Long id) {
+        IdBitmap current = bitmap;
+        if (current == null || !flightConfig.isIdFilterEnabled()) {
+            return true;
+        }
+        return id > current.watermark || (id > 0 && current.get(id));
+    }
+
+    /**
+     * Read-write on purpose: a read-only transaction may be routed to a replica, and one that
+     * lags would leave out IDs committed on the primary after the changes replayed here.
+     */
+    @Scheduled(fixedDelayString = "${flights.id-filter.rebuild-interval:900000}")
+    @Transactional
+    public void rebuild() {
+        if (!flightConfig.isIdFilterEnabled()) {
+            return;
+        }
+        // One rebuild at a time: each owns the pending list from start to publish
+        synchronized (rebuildLock) {
+            try {
+                rebuildBitmap();
+            } finally {
+                // However the rebuild ended, stop collecting changes for it
+                synchronized (lock) {
+                    pending = null;
+                }
+            }
+        }
+    }
+
+    private void rebuildBitmap() {
+        synchronized (lock) {
+            pending = new ArrayList<>();
+        }
+
+        Long maxId = flightRepository.findMaxId();
+        long watermark = maxId != null ? maxId : 0;
+        if (watermark > flightConfig.getIdFilterMaxId()) {
+            log.warn("Flight ID filter disabled: highest ID {} exceeds flights.id-filter.max-id", watermark);
+            synchronized (lock) {
+                bitmap = null;
+            }
+            return;
+        }
+
+        IdBitmap rebuilt = new IdBitmap(watermark);
+        try (Stream<Long> ids = flightRepository.streamAllIds()) {
+            ids.filter(id -> id > 0 && id <= watermark).forEach(rebuilt::set);
+        }
+        // Replay and publish together, so no change lands only on the bitmap being replaced
+        synchronized (lock) {
+            pending.forEach(rebuilt::apply);
+            bitmap = rebuilt;
+        }
+        log.debug("Flight ID filter rebuilt up to ID {}", watermark);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChange(FlightChangeEvent event) {
+        synchronized (lock) {
+            IdBitmap current = bitmap;
+            if (current != null) {
+                current.apply(event);
+            }
+            if (pending != null) {
+                pending.add(event);
+            }
+        }
+    }
+
+    private static final class IdBitmap {
+
+        private final long watermark;
+        private final AtomicLongArray words;
+
+        IdBitmap(long watermark) {
+            this.watermark = watermark;
+            this.words = new AtomicLongArray((int) (watermark >>> 6) + 1);
+        }
+
+        boolean get(long id) {
+            return (words.get((int) (id >>> 6)) & (1L << id)) != 0;
+        }
+
+        void set(long id) {
+            long mask = 1L << id;
+            words.getAndUpdate((int) (id >>> 6), word -> word | mask);
+        }
+
+        void clear(long id) {
+            long mask = ~(1L << id);
+            words.getAndUpdate((int) (id >>> 6), word -> word & mask);
+        }
+
+        void apply(FlightChangeEvent event) {
+            for (FlightDto flight : event.getFlights()) {
+                Long id = flight.getId();
+                if (id == null || id <= 0 || id > watermark) {
+                    continue;
+                }
+                if (event.getType() == FlightChangeEvent.Type.DELETED) {
+                    clear(id);
+                } else {
+                    set(id);
+                }
+            }
+        }
+    }
+}
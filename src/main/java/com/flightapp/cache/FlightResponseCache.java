@@ -0,0 +1,187 @@
+package com.flightapp.cache;
+
+import com.flightapp.config.CacheConfig;
+import com.flightapp.dto.FlightDto;
+import com.flightapp.event.FlightChangeEvent;
+import com.flightapp.format.FlightFormat;
+import com.flightapp.format.FlightSerializer;
+import com.flightapp.timing.RequestTiming;
+import com.flightapp.util.Versioned;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AccessLevel;
+import lombok.Getter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialized bodies of flight reads, so a read between writes is answered by copying
+ * bytes rather than converting and serializing flights again. The flight list is kept as one
+ * entry per format and single flights in a bounded cache of the most read ones. An entry is
+ * only served for the version it was serialized at; committed writes also drop it to free the memory.
+ */
+@Component
+public class FlightResponseCache implements MonitoredCache {
+
+    private final CacheConfig cacheConfig;
+    private final FlightSerializer serializer;
+    private final Cache<Key, Payload> flights;
+    // Not synchronized: the list is loaded under it, and blocking I/O there would pin a virtual thread
+    private final ReentrantLock collectionLock = new ReentrantLock();
+    private final Map<FlightFormat, Payload> collections = new ConcurrentHashMap<>();
+
+    public FlightResponseCache(CacheConfig cacheConfig, FlightSerializer serializer) {
+        this.cacheConfig = cacheConfig;
+        this.serializer = serializer;
+        this.flights = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.getResponsesFlightsMaxSize())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the flight list serialized at {@code version}, or loads and serializes it.
+     * Concurrent misses share one load. What is returned may be of a later version than
+     * asked for, or of none if the list changed while it was read.
+     */
+    public Payload getAllFlights(long version, FlightFormat format, Supplier<Versioned<List<FlightDto>>> loader) {
+        if (!cacheConfig.isResponsesEnabled()) {
+            Versioned<List<FlightDto>> loaded = loader.get();
+            return serialize(loaded.getValue(), loaded.getVersion(), format);
+        }
+        Payload cached = collections.get(format);
+        if (cached != null && cached.getVersion() == version) {
+            return cached;
+        }
+        collectionLock.lock();
+        try {
+            cached = collections.get(format);
+            if (cached != null && cached.getVersion() == version) {
+                return cached;
+            }
+            Versioned<List<FlightDto>> loaded = loader.get();
+            Payload payload = serialize(loaded.getValue(), loaded.getVersion(), format);
+            if (payload.getVersion() != null && payload.getBytes().length <= cacheConfig.getResponsesCollectionMaxBytes()) {
+                collections.put(format, payload);
+            }
+            return payload;
+        } finally {
+            collectionLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the flight serialized at {@code changeVersion}, or loads and serializes it.
+     */
+    public Payload getFlight(Long id, long changeVersion, FlightFormat format, Function<Long, FlightDto> loader) {
+        if (!cacheConfig.isResponsesEnabled()) {
+            return serializeFlight(loader.apply(id), format);
+        }
+        Key key = new Key(id, format);
+        Payload cached = flights.get(key, k -> serializeFlight(loader.apply(id), format));
+        if (cached.getVersion() == changeVersion) {
+            return cached;
+        }
+        // Cached before a write whose eviction has not run yet
+        Payload fresh = serializeFlight(loader.apply(id), format);
+        flights.asMap().replace(key, cached, fresh);
+        return fresh;
+    }
+
+    public void invalidateAll() {
+        collections.clear();
+        flights.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChange(FlightChangeEvent event) {
+        collections.clear();
+        for (FlightDto flight : event.getFlights()) {
+            for (FlightFormat format : FlightFormat.values()) {
+                flights.invalidate(new Key(flight.getId(), format));
+            }
+        }
+    }
+
+    @Override
+    public String getName() {
+        return "flight-responses";
+    }
+
+    @Override
+    public Cache<?, ?> getNativeCache() {
+        return flights;
+    }
+
+    private Payload serializeFlight(FlightDto flight, FlightFormat format) {
+        return serialize(flight, flight.getChangeVersion(), format);
+    }
+
+    private Payload serialize(Object value, Long version, FlightFormat format) {
+        long started = RequestTiming.start();
+        try {
+            byte[] bytes = serializer.serialize(value, format);
+            boolean compressible = cacheConfig.isResponsesGzip() && bytes.length >= cacheConfig.getResponsesGzipMinBytes();
+            return new Payload(version, bytes, compressible);
+        } finally {
+            RequestTiming.stop(RequestTiming.Phase.SERIALIZE, started);
+        }
+    }
+
+    private record Key(Long id, FlightFormat format) {
+    }
+
+    /**
+     * A serialized body and the version it was read at, null if unknown. Shared between
+     * requests, so the arrays must not be modified.
+     */
+    @Getter
+    public static final class Payload {
+
+        private final Long version;
+        private final byte[] bytes;
+        private final boolean compressible;
+        @Getter(AccessLevel.NONE)
+        private volatile byte[] gzipped;
+
+        Payload(Long version, byte[] bytes, boolean compressible) {
+            this.version = version;
+            this.bytes = bytes;
+            this.compressible = compressible;
+        }
+
+        /**
+         * The body gzipped, compressed on first use; only for compressible payloads.
+         */
+        public byte[] getGzipped() {
+            byte[] compressed = gzipped;
+            if (compressed == null) {
+                // Requests racing here compress the same bytes to the same result
+                compressed = gzip(bytes);
+                gzipped = compressed;
+            }
+            return compressed;
+        }
+
+        private static byte[] gzip(byte[] bytes) {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(Math.max(64, bytes.length / 4));
+            try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+                out.write(bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return buffer.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.flightapp.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+/**
+ * A Hibernate second-level cache region, reported alongside the application caches.
+ * Regions are JCache caches backed by Caffeine, so the native cache underneath carries
+ * the hit, miss and eviction counts.
+ */
+public class HibernateCacheRegion implements MonitoredCache {
+
+    private final String name;
+    private final Cache<?, ?> nativeCache;
+
+    public HibernateCacheRegion(javax.cache.Cache<?, ?> region) {
+        this.name = region.getName();
+        this.nativeCache = region.unwrap(Cache.class);
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Cache<?, ?> getNativeCache() {
+        return nativeCache;
+    }
+}
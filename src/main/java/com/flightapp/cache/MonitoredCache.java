@@ -0,0 +1,13 @@
+package com.flightapp.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+
+/**
+ * An application cache whose statistics are reported through the admin API.
+ */
+public interface MonitoredCache {
+
+    String getName();
+
+    Cache<?, ?> getNativeCache();
+}
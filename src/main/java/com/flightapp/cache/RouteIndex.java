@@ -0,0 +1,405 @@
+package com.flightapp.cache;
+
+import com.flightapp.config.FlightConfig;
+import com.flightapp.dto.FlightDto;
+import com.flightapp.dto.RouteIndexStatsDto;
+import com.flightapp.event.FlightChangeEvent;
+import com.flightapp.model.Flight;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.store.FlightCodec;
+import com.flightapp.util.FlightCursor;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+/**
+ * In-memory secondary index of all flights: origin/destination route, then flight date,
+ * then flight ID. Loaded once the application is ready and kept current from committed
+ * flight changes, so route searches never reach the database.
+ * <p>
+ * Only this instance's changes arrive as events; flights written by other instances or
+ * directly in SQL show up at the next scheduled rebuild, which reads the whole table into
+ * a new index and swaps it in. Off by default for that reason: enable it on a single
+ * writer, or where searches may lag by the rebuild interval.
+ * <p>
+ * Each date holds an immutable {@code long[]} of (ID, {@link FlightCodec} record) pairs in
+ * ID order, and a primitive hash table maps each ID to its record, which says where the
+ * flight is filed. A flight costs 16 bytes in its date plus one table slot, and no objects.
+ * Reads are lock-free; writers replace only the arrays they touch under a single lock.
+ */
+@Component
+public class RouteIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(RouteIndex.class);
+
+    // Approximate retained sizes on a 64-bit JVM with compressed oops, calibrated against a heap
+    // measurement of one million synthetic flights; used only for the memory report
+    private static final long BYTES_PER_FLIGHT = 16;     // ID and packed record; the ID lookup table is counted apart
+    private static final long BYTES_PER_ROUTE_DATE = 72; // skip-list node and index levels, date key, array header
+    private static final long BYTES_PER_ROUTE = 200;     // route key, map node, skip-list head
+
+    private final FlightRepository flightRepository;
+    private final FlightConfig flightConfig;
+    private final FlightCodec codec;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final Object lock = new Object();
+    private final Object rebuildLock = new Object();
+
+    private volatile Index index;
+    // Changes committed while a rebuild is reading the table, replayed onto the new index
+    private List<FlightChangeEvent> pending;
+
+    public RouteIndex(FlightRepository flightRepository,
+                      FlightConfig flightConfig,
+                      FlightCodec codec,
+                      EntityManager entityManager,
+                      PlatformTransactionManager transactionManager) {
+        this.flightRepository = flightRepository;
+        this.flightConfig = flightConfig;
+        this.codec = codec;
+        this.entityManager = entityManager;
+        // Read-write so the scan runs on the primary: a lagging replica would miss recent inserts
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    public boolean isReady() {
+        return index != null;
+    }
+
+    /**
+     * Flights on the route matching the optional carrier and inclusive date range, ordered by
+     * date then ID and starting after the cursor. Returns null while the index is not loaded,
+     * in which case the caller should query the database.
+     */
+    public List<FlightDto> find(String origin, String destination, String carrierCode,
+                                LocalDate dateFrom, LocalDate dateTo, FlightCursor after, int limit) {
+        Index current = index;
+        if (current == null) {
+            return null;
+        }
+        NavigableMap<LocalDate, long[]> dates = current.routes.get(routeKey(origin, destination));
+        List<FlightDto> result = new ArrayList<>(Math.min(limit, 64));
+        if (dates == null) {
+            return result;
+        }
+
+        LocalDate start = dateFrom;
+        if (after != null && (start == null || after.getFlightDate().isAfter(start))) {
+            start = after.getFlightDate();
+        }
+        NavigableMap<LocalDate, long[]> range = start != null ? dates.tailMap(start, true) : dates;
+        if (dateTo != null) {
+            range = range.headMap(dateTo, true);
+        }
+
+        for (Map.Entry<LocalDate, long[]> entry : range.entrySet()) {
+            boolean seek = after != null && entry.getKey().equals(after.getFlightDate());
+            long[] pairs = entry.getValue();
+            for (int i = 0; i < pairs.length; i += 2) {
+                long id = pairs[i];
+                long record = pairs[i + 1];
+                if (seek && id <= after.getId()) {
+                    continue;
+                }
+                if (carrierCode != null && !codec.hasCarrier(record, carrierCode)) {
+                    continue;
+                }
+                result.add(codec.decode(id, record));
+                if (result.size() == limit) {
+                    return result;
+                }
+            }
+        }
+        return result;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${flights.route-index.rebuild-interval:900000}",
+            initialDelayString = "${flights.route-index.rebuild-interval:900000}")
+    public void rebuild() {
+        if (!flightConfig.isRouteIndexEnabled()) {
+            return;
+        }
+        // One rebuild at a time: each owns the pending list from start to publish
+        synchronized (rebuildLock) {
+            rebuildIndex();
+        }
+    }
+
+    private void rebuildIndex() {
+        synchronized (lock) {
+            pending = new ArrayList<>();
+        }
+        try {
+            Index rebuilt = new Index(codec);
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Flight> flights = flightRepository.streamAllByOrderByIdAsc()) {
+                    flights.forEach(flight -> {
+                        rebuilt.add(toDto(flight));
+                        entityManager.detach(flight);
+                    });
+                }
+            });
+            // Replay and publish together, so no change lands only on the index being replaced
+            synchronized (lock) {
+                pending.forEach(rebuilt::apply);
+                index = rebuilt;
+            }
+            log.info("Route index loaded: {} flights on {} routes", rebuilt.flights, rebuilt.routes.size());
+        } catch (RuntimeException e) {
+            // The previous index, or the database if there is none, keeps answering until a later rebuild succeeds
+            log.warn("Route index could not be loaded", e);
+        } finally {
+            synchronized (lock) {
+                pending = null;
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChange(FlightChangeEvent event) {
+        synchronized (lock) {
+            Index current = index;
+            if (current != null) {
+                try {
+                    current.apply(event);
+                } catch (IllegalArgumentException e) {
+                    // A flight the codec cannot represent: stop serving rather than serve stale data
+                    log.warn("Route index disabled, searches fall back to the database", e);
+                    index = null;
+                }
+            }
+            if (pending != null) {
+                pending.add(event);
+            }
+        }
+    }
+
+    public RouteIndexStatsDto stats() {
+        Index current = index;
+        if (current == null) {
+            return new RouteIndexStatsDto(false, 0, 0, 0, 0, 0);
+        }
+        long routes = current.routes.size();
+        long routeDates = current.routes.values().stream().mapToLong(Map::size).sum();
+        long flights = current.flights;
+        long bytes = flights * BYTES_PER_FLIGHT + routeDates * BYTES_PER_ROUTE_DATE + routes * BYTES_PER_ROUTE
+                + current.bytesById();
+        long perMillion = flights == 0 ? 0 : Math.round(bytes * (1_000_000d / flights));
+        return new RouteIndexStatsDto(true, routes, routeDates, flights, bytes, perMillion);
+    }
+
+    private static String routeKey(String origin, String destination) {
+        return origin + '-' + destination;
+    }
+
+    private static FlightDto toDto(Flight flight) {
+        return new FlightDto(flight.getId(), flight.getCarrierCode(), flight.getFlightNumber(),
+                flight.getFlightDate(), flight.getOrigin(), flight.getDestination());
+    }
+
+    /**
+     * One generation of the index. Mutated only while holding the owner's lock.
+     */
+    private static final class Index {
+
+        private final FlightCodec codec;
+        private final Map<String, NavigableMap<LocalDate, long[]>> routes = new ConcurrentHashMap<>();
+        // Where each flight is filed, so an update or delete touches only its own route and date
+        private final RecordsById recordsById = new RecordsById();
+        private volatile long flights;
+
+        Index(FlightCodec codec) {
+            this.codec = codec;
+        }
+
+        void apply(FlightChangeEvent event) {
+            for (FlightDto flight : event.getFlights()) {
+                remove(flight.getId());
+                if (event.getType() != FlightChangeEvent.Type.DELETED) {
+                    add(flight);
+                }
+            }
+        }
+
+        void add(FlightDto flight) {
+            long id = flight.getId();
+            long record = codec.encode(flight);
+            NavigableMap<LocalDate, long[]> dates = routes.computeIfAbsent(
+                    routeKey(flight.getOrigin(), flight.getDestination()), key -> new ConcurrentSkipListMap<>());
+            long[] existing = dates.get(flight.getFlightDate());
+            if (existing == null) {
+                dates.put(flight.getFlightDate(), new long[]{id, record});
+            } else {
+                // Keep each date's flights in ID order so the keyset seek can resume inside a date
+                int insertAt = 0;
+                while (insertAt < existing.length && existing[insertAt] < id) {
+                    insertAt += 2;
+                }
+                long[] updated = new long[existing.length + 2];
+                System.arraycopy(existing, 0, updated, 0, insertAt);
+                updated[insertAt] = id;
+                updated[insertAt + 1] = record;
+                System.arraycopy(existing, insertAt, updated, insertAt + 2, existing.length - insertAt);
+                dates.put(flight.getFlightDate(), updated);
+            }
+            recordsById.put(id, record);
+            flights++;
+        }
+
+        long bytesById() {
+            return recordsById.bytes();
+        }
+
+        private void remove(long id) {
+            long record = recordsById.remove(id);
+            if (record == RecordsById.MISSING) {
+                return;
+            }
+            FlightDto filed = codec.decode(id, record);
+            String key = routeKey(filed.getOrigin(), filed.getDestination());
+            NavigableMap<LocalDate, long[]> dates = routes.get(key);
+            long[] existing = dates != null ? dates.get(filed.getFlightDate()) : null;
+            if (existing == null) {
+                return;
+            }
+            long[] updated = without(existing, id);
+            if (updated.length == existing.length) {
+                return;
+            }
+            if (updated.length > 0) {
+                dates.put(filed.getFlightDate(), updated);
+            } else {
+                dates.remove(filed.getFlightDate());
+                if (dates.isEmpty()) {
+                    routes.remove(key);
+                }
+            }
+            flights--;
+        }
+
+        private static long[] without(long[] pairs, long id) {
+            for (int i = 0; i < pairs.length; i += 2) {
+                if (pairs[i] == id) {
+                    long[] kept = new long[pairs.length - 2];
+                    System.arraycopy(pairs, 0, kept, 0, i);
+                    System.arraycopy(pairs, i + 2, kept, i, pairs.length - i - 2);
+                    return kept;
+                }
+            }
+            return pairs;
+        }
+    }
+
+    /**
+     * Open-addressing hash map from flight ID to its packed record, two {@code long}s per slot
+     * and no objects per entry. Records are never negative, which marks a free slot.
+     */
+    private static final class RecordsById {
+
+        static final long MISSING = -1L;
+
+        private long[] ids = new long[1024];
+        private long[] records = filled(1024);
+        private int size;
+
+        void put(long id, long record) {
+            if (size + 1 > ids.length / 2) {
+                resize(ids.length * 2);
+            }
+            int slot = find(id);
+            if (slot < 0) {
+                slot = -slot - 1;
+                ids[slot] = id;
+                size++;
+            }
+            records[slot] = record;
+        }
+
+        long remove(long id) {
+            int slot = find(id);
+            if (slot < 0) {
+                return MISSING;
+            }
+            long record = records[slot];
+            // Backward-shift deletion keeps every probe sequence unbroken without tombstones
+            int mask = ids.length - 1;
+            int free = slot;
+            for (int next = (free + 1) & mask; records[next] != MISSING; next = (next + 1) & mask) {
+                int home = slotOf(ids[next], mask);
+                if (((next - home) & mask) >= ((next - free) & mask)) {
+                    ids[free] = ids[next];
+                    records[free] = records[next];
+                    free = next;
+                }
+            }
+            records[free] = MISSING;
+            size--;
+            return record;
+        }
+
+        long bytes() {
+            return 2 * (16 + 8L * ids.length);
+        }
+
+        // The slot holding the ID, or -(free slot) - 1 where it would go
+        private int find(long id) {
+            int mask = ids.length - 1;
+            for (int slot = slotOf(id, mask); ; slot = (slot + 1) & mask) {
+                if (records[slot] == MISSING) {
+                    return -slot - 1;
+                }
+                if (ids[slot] == id) {
+                    return slot;
+                }
+            }
+        }
+
+        private void resize(int capacity) {
+            long[] oldIds = ids;
+            long[] oldRecords = records;
+            ids = new long[capacity];
+            records = filled(capacity);
+            int mask = capacity - 1;
+            for (int i = 0; i < oldIds.length; i++) {
+                if (oldRecords[i] != MISSING) {
+                    int slot = slotOf(oldIds[i], mask);
+                    while (records[slot] != MISSING) {
+                        slot = (slot + 1) & mask;
+                    }
+                    ids[slot] = oldIds[i];
+                    records[slot] = oldRecords[i];
+                }
+            }
+        }
+
+        private static int slotOf(long id, int mask) {
+            // Sequence IDs arrive in runs; spread them so runs do not cluster
+            return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        }
+
+        private static long[] filled(int capacity) {
+            long[] values = new long[capacity];
+            Arrays.fill(values, MISSING);
+            return values;
+        }
+    }
+}
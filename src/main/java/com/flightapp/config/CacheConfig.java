@@ -0,0 +1,58 @@
+package com.flightapp.config;
+
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Data
+public class CacheConfig {
+
+    @Value("${cache.users.enabled:true}")
+    private boolean usersEnabled;
+
+    @Value("${cache.users.max-size:10000}")
+    private long usersMaxSize;
+
+    /**
+     * Milliseconds a loaded user is reused before it is read from USERS again.
+     */
+    @Value("${cache.users.ttl:300000}")
+    private long usersTtl;
+
+    @Value("${cache.flights.enabled:true}")
+    private boolean flightsEnabled;
+
+    @Value("${cache.flights.max-size:10000}")
+    private long flightsMaxSize;
+
+    /**
+     * Milliseconds a cached flight may be served; writes through the API evict it immediately.
+     */
+    @Value("${cache.flights.ttl:600000}")
+    private long flightsTtl;
+
+    /**
+     * Keeps the serialized JSON of the flight list and of the most read flights, so reads between writes skip serialization.
+     */
+    @Value("${cache.responses.enabled:true}")
+    private boolean responsesEnabled;
+
+    @Value("${cache.responses.flights-max-size:10000}")
+    private long responsesFlightsMaxSize;
+
+    /**
+     * Largest flight list kept serialized; a longer one is serialized for every request.
+     */
+    @Value("${cache.responses.collection-max-bytes:67108864}")
+    private long responsesCollectionMaxBytes;
+
+    /**
+     * Also keeps a gzipped copy of cached bodies of at least {@code gzip-min-bytes}, for clients that accept it.
+     */
+    @Value("${cache.responses.gzip:true}")
+    private boolean responsesGzip;
+
+    @Value("${cache.responses.gzip-min-bytes:2048}")
+    private int responsesGzipMinBytes;
+}
@@ -0,0 +1,83 @@
+package com.flightapp.config;
+
+import com.flightapp.datasource.ConcurrencyLimitingDataSource;
+import lombok.Data;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import javax.sql.DataSource;
+
+@Configuration
+@Data
+public class DataSourceLimiterConfig {
+
+    /**
+     * Puts a semaphore in front of the connection pool. Meant for virtual-thread mode
+     * ({@code spring.threads.virtual.enabled}), where request concurrency is no longer
+     * capped by Tomcat's thread pool.
+     */
+    @Value("${datasource.limiter.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * Callers allowed into the pool at once; 0 means the pool's maximum size.
+     */
+    @Value("${datasource.limiter.permits:0}")
+    private int permits;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int poolSize;
+
+    /**
+     * Milliseconds a caller may wait for a permit before the request fails with 503.
+     */
+    @Value("${datasource.limiter.acquire-timeout:60000}")
+    private long acquireTimeout;
+
+    /**
+     * Callers allowed to wait at once; any beyond this fail immediately with 503.
+     */
+    @Value("${datasource.limiter.max-waiting:10000}")
+    private int maxWaiting;
+
+    // Declared with its own type: Spring reads a post-processor's order from the factory method's return type
+    @Bean
+    public static LimiterPostProcessor dataSourceLimiterPostProcessor(ObjectProvider<DataSourceLimiterConfig> config) {
+        return new LimiterPostProcessor(config);
+    }
+
+    /**
+     * Ordered ahead of replica routing, so the limiter wraps the primary pool only.
+     */
+    static class LimiterPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<DataSourceLimiterConfig> config;
+
+        LimiterPostProcessor(ObjectProvider<DataSourceLimiterConfig> config) {
+            this.config = config;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource) || bean instanceof ConcurrencyLimitingDataSource) {
+                return bean;
+            }
+            DataSourceLimiterConfig settings = config.getObject();
+            if (!settings.isEnabled()) {
+                return bean;
+            }
+            int permits = settings.getPermits() > 0 ? settings.getPermits() : settings.getPoolSize();
+            return new ConcurrencyLimitingDataSource(dataSource, permits,
+                    settings.getAcquireTimeout(), settings.getMaxWaiting());
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE - 1;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.flightapp.config;
+
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@Data
+public class FlightConfig {
+
+    @Value("${flights.page.max-size:500}")
+    private int maxPageSize;
+
+    @Value("${flights.batch.chunk-size:500}")
+    private int batchChunkSize;
+
+    @Value("${flights.batch.max-size:10000}")
+    private int batchMaxSize;
+
+    /**
+     * Answers 404 for IDs missing from an in-memory bitmap without a query. IDs inserted by other
+     * instances below the watermark look missing until the next rebuild, so it is off by default.
+     */
+    @Value("${flights.id-filter.enabled:false}")
+    private boolean idFilterEnabled;
+
+    /**
+     * Largest flight ID the negative-lookup bitmap will cover (one bit per ID); above it the filter switches off.
+     */
+    @Value("${flights.id-filter.max-id:100000000}")
+    private long idFilterMaxId;
+
+    /**
+     * Keeps every flight in an in-memory route/date index so route searches skip the database. Changes
+     * made by other instances are missed until the next scheduled rebuild, so it is off by default.
+     */
+    @Value("${flights.route-index.enabled:false}")
+    private boolean routeIndexEnabled;
+
+    /**
+     * Keeps a packed copy of every flight in memory so reads by ID and ID-ordered pages skip the database.
+     * Changes made by other instances are missed until the next scheduled reload, so it is off by default.
+     */
+    @Value("${flights.store.enabled:false}")
+    private boolean storeEnabled;
+
+    /**
+     * Flights removed per DELETE statement and transaction by bulk and range deletes; at most 1000.
+     */
+    @Value("${flights.delete.chunk-size:500}")
+    private int deleteChunkSize;
+
+    /**
+     * Periodically deletes flights whose date is more than {@code horizon-days} in the past.
+     */
+    @Value("${flights.retention.enabled:false}")
+    private boolean retentionEnabled;
+
+    @Value("${flights.retention.horizon-days:365}")
+    private int retentionHorizonDays;
+
+    /**
+     * Milliseconds the retention job sleeps between chunks, leaving the database to foreground work.
+     */
+    @Value("${flights.retention.chunk-pause:200}")
+    private long retentionChunkPause;
+
+    /**
+     * Recent changes kept for clients of {@code /flights/changes} that reconnect with {@code Last-Event-ID}.
+     */
+    @Value("${flights.changes.buffer-size:10000}")
+    private int changesBufferSize;
+
+    /**
+     * Events a change-stream client may fall behind by before it is disconnected.
+     */
+    @Value("${flights.changes.subscriber-buffer:1000}")
+    private int changesSubscriberBuffer;
+
+    /**
+     * Days a deleted flight's tombstone is kept for delta sync; clients that last synced longer ago must resync.
+     */
+    @Value("${flights.delta.tombstone-retention-days:30}")
+    private int tombstoneRetentionDays;
+
+    /**
+     * Milliseconds a write may hold a change version before delta sync stops waiting for it to commit.
+     */
+    @Value("${flights.delta.reservation-timeout:600000}")
+    private long reservationTimeout;
+}
@@ -0,0 +1,122 @@
+package com.flightapp.config;
+
+import com.flightapp.cache.HibernateCacheRegion;
+import com.flightapp.cache.MonitoredCache;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import lombok.Data;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import java.util.OptionalLong;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@Data
+public class HibernateCacheConfig {
+
+    public static final String FLIGHTS_REGION = "hibernate.flights";
+    public static final String USERS_REGION = "hibernate.users";
+    public static final String FLIGHT_QUERIES_REGION = "hibernate.flight-queries";
+    public static final String USER_QUERIES_REGION = "hibernate.user-queries";
+
+    // Hibernate's own regions; the timestamps region must never drop entries, or stale query results come back
+    private static final String DEFAULT_QUERY_RESULTS_REGION = "default-query-results-region";
+    private static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    /**
+     * Caches Flight and User rows by ID, and the results of the annotated finder queries,
+     * across transactions. Saves and deletes through JPA keep it consistent; rows changed
+     * outside the application stay stale until their TTL runs out.
+     */
+    @Value("${cache.hibernate.enabled:false}")
+    private boolean enabled;
+
+    @Value("${cache.hibernate.flights.max-size:10000}")
+    private long flightsMaxSize;
+
+    @Value("${cache.hibernate.flights.ttl:600000}")
+    private long flightsTtl;
+
+    @Value("${cache.hibernate.users.max-size:10000}")
+    private long usersMaxSize;
+
+    @Value("${cache.hibernate.users.ttl:300000}")
+    private long usersTtl;
+
+    /**
+     * Entries per query region; an entry is the ID list of one query with one set of parameters.
+     */
+    @Value("${cache.hibernate.queries.max-size:1000}")
+    private long queriesMaxSize;
+
+    @Value("${cache.hibernate.queries.ttl:60000}")
+    private long queriesTtl;
+
+    /**
+     * Regions are created up front with their own size and TTL, whether or not Hibernate
+     * is told to use them, so an unknown region name fails at startup.
+     */
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager() {
+        // A provider of its own rather than the JVM-wide Caching registry, so each context gets fresh regions
+        CacheManager cacheManager = new CaffeineCachingProvider().getCacheManager();
+        cacheManager.createCache(FLIGHTS_REGION, region(flightsMaxSize, flightsTtl));
+        cacheManager.createCache(USERS_REGION, region(usersMaxSize, usersTtl));
+        cacheManager.createCache(FLIGHT_QUERIES_REGION, region(queriesMaxSize, queriesTtl));
+        cacheManager.createCache(USER_QUERIES_REGION, region(queriesMaxSize, queriesTtl));
+        cacheManager.createCache(DEFAULT_QUERY_RESULTS_REGION, region(queriesMaxSize, queriesTtl));
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, new CaffeineConfiguration<>());
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheProperties(CacheManager hibernateCacheManager) {
+        return properties -> {
+            // application.properties turns both caches off, so contexts without this class never use them
+            if (enabled) {
+                properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+                properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+                properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+                properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+                properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+                // Feeds the hibernate.* meters (query and second-level cache hit counts per region)
+                properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+            }
+        };
+    }
+
+    @Bean
+    public MonitoredCache flightsCacheRegion(CacheManager hibernateCacheManager) {
+        return new HibernateCacheRegion(hibernateCacheManager.getCache(FLIGHTS_REGION));
+    }
+
+    @Bean
+    public MonitoredCache usersCacheRegion(CacheManager hibernateCacheManager) {
+        return new HibernateCacheRegion(hibernateCacheManager.getCache(USERS_REGION));
+    }
+
+    @Bean
+    public MonitoredCache flightQueriesCacheRegion(CacheManager hibernateCacheManager) {
+        return new HibernateCacheRegion(hibernateCacheManager.getCache(FLIGHT_QUERIES_REGION));
+    }
+
+    @Bean
+    public MonitoredCache userQueriesCacheRegion(CacheManager hibernateCacheManager) {
+        return new HibernateCacheRegion(hibernateCacheManager.getCache(USER_QUERIES_REGION));
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, long ttlMillis) {
+        CaffeineConfiguration<Object, Object> region = new CaffeineConfiguration<>();
+        region.setMaximumSize(OptionalLong.of(maxSize));
+        region.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(ttlMillis)));
+        region.setNativeStatisticsEnabled(true);
+        return region;
+    }
+}
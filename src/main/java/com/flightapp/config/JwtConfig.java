@@ -19,4 +19,23 @@ public class JwtConfig {
 
     @Value("${jwt.prefix:Bearer }")
     private String prefix;
+
+    /**
+     * When true, requests are authenticated from the token's subject and {@code auth} claim
+     * alone; when false, the user is looked up on every request.
+     */
+    @Value("${jwt.claims-authentication:false}")
+    private boolean claimsAuthentication;
+
+    @Value("${jwt.cache.enabled:true}")
+    private boolean cacheEnabled;
+
+    @Value("${jwt.cache.max-size:10000}")
+    private long cacheMaxSize;
+
+    /**
+     * Upper bound in milliseconds on how long a verified token is reused; entries never outlive the token's own expiry.
+     */
+    @Value("${jwt.cache.max-age:300000}")
+    private long cacheMaxAge;
 }
\ No newline at end of file
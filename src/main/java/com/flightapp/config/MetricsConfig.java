@@ -0,0 +1,66 @@
+package com.flightapp.config;
+
+import com.flightapp.cache.MonitoredCache;
+import com.flightapp.datasource.ConcurrencyLimitingDataSource;
+import com.flightapp.datasource.ReplicaRoutingDataSource;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Application meters beyond the ones Spring Boot binds itself (HTTP server requests,
+ * repository invocations, HikariCP pool and JVM).
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Publishes hit, miss and eviction counts of every {@link MonitoredCache} as
+     * {@code cache.*} meters tagged with the cache name.
+     */
+    @Bean
+    public MeterBinder monitoredCacheMetrics(List<MonitoredCache> caches) {
+        return registry -> caches.forEach(cache ->
+                CaffeineCacheMetrics.monitor(registry, cache.getNativeCache(), cache.getName()));
+    }
+
+    /**
+     * {@code db.limiter.*} meters, when the connection limiter is enabled.
+     */
+    @Bean
+    public MeterBinder dataSourceLimiterMetrics(DataSource dataSource) {
+        return registry -> {
+            ConcurrencyLimitingDataSource limiter = unwrap(dataSource, ConcurrencyLimitingDataSource.class);
+            if (limiter != null) {
+                limiter.bindTo(registry);
+            }
+        };
+    }
+
+    /**
+     * {@code db.replica.*} meters, when read replicas are configured.
+     */
+    @Bean
+    public MeterBinder replicaDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            ReplicaRoutingDataSource routing = unwrap(dataSource, ReplicaRoutingDataSource.class);
+            if (routing != null) {
+                routing.getReplicas().bindTo(registry);
+            }
+        };
+    }
+
+    // The limiter and replica routing wrap each other, so look through the whole chain
+    private static <T> T unwrap(DataSource dataSource, Class<T> type) {
+        try {
+            return dataSource.isWrapperFor(type) ? dataSource.unwrap(type) : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.flightapp.config;
+
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Connection settings for the reactive read API. The pool is owned by
+ * {@link com.flightapp.repository.ReactiveFlightRepository} rather than published as a
+ * {@code ConnectionFactory} bean: Spring Boot backs off its JDBC DataSource as soon as
+ * one exists, and JPA still needs it.
+ */
+@Configuration
+@Data
+public class R2dbcConfig {
+
+    @Value("${flights.r2dbc.url:r2dbc:oracle://localhost:1521/XE}")
+    private String url;
+
+    @Value("${flights.r2dbc.username:${spring.datasource.username:}}")
+    private String username;
+
+    @Value("${flights.r2dbc.password:${spring.datasource.password:}}")
+    private String password;
+
+    /**
+     * Connections held by the reactive pool, on top of the JDBC pool.
+     */
+    @Value("${flights.r2dbc.pool.max-size:10}")
+    private int poolMaxSize;
+
+    /**
+     * Milliseconds a query may wait for a pooled connection before it fails.
+     */
+    @Value("${flights.r2dbc.pool.max-acquire-time:30000}")
+    private long poolMaxAcquireTime;
+}
@@ -0,0 +1,151 @@
+package com.flightapp.config;
+
+import com.flightapp.datasource.LazyConnectionDataSource;
+import com.flightapp.datasource.ReplicaDataSource;
+import com.flightapp.datasource.ReplicaRoutingDataSource;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.Data;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Read replicas are wrapped around the primary DataSource bean rather than published as
+ * DataSource beans of their own: Spring Boot backs off its primary pool as soon as any
+ * DataSource bean exists. Without replicas the primary is still wrapped, so connections
+ * are only borrowed by transactions that run a statement.
+ */
+@Configuration
+@Data
+public class ReplicaDataSourceConfig {
+
+    /**
+     * Routes {@code @Transactional(readOnly = true)} work to the replicas listed in
+     * {@code datasource.replicas.urls}; all other transactions stay on the primary.
+     */
+    @Value("${datasource.replicas.enabled:false}")
+    private boolean enabled;
+
+    /**
+     * Comma-separated JDBC URLs, one pool per replica.
+     */
+    @Value("${datasource.replicas.urls:}")
+    private String urls;
+
+    @Value("${datasource.replicas.username:${spring.datasource.username:}}")
+    private String username;
+
+    @Value("${datasource.replicas.password:${spring.datasource.password:}}")
+    private String password;
+
+    @Value("${datasource.replicas.pool-size:10}")
+    private int poolSize;
+
+    /**
+     * Milliseconds to wait for a replica connection before trying the next replica.
+     */
+    @Value("${datasource.replicas.connection-timeout:5000}")
+    private long connectionTimeout;
+
+    /**
+     * {@code round-robin} or {@code least-busy} (fewest connections currently borrowed).
+     */
+    @Value("${datasource.replicas.strategy:round-robin}")
+    private String strategy;
+
+    /**
+     * Query returning a replica's lag in seconds; blank to only check that it answers.
+     */
+    @Value("${datasource.replicas.lag-query:}")
+    private String lagQuery;
+
+    /**
+     * Seconds of lag past which a replica is taken out of rotation until it catches up.
+     */
+    @Value("${datasource.replicas.max-lag:30}")
+    private double maxLag;
+
+    // Declared with its own type: Spring reads a post-processor's order from the factory method's return type
+    @Bean
+    public static ReplicaRoutingPostProcessor replicaRoutingPostProcessor(ObjectProvider<ReplicaDataSourceConfig> config) {
+        return new ReplicaRoutingPostProcessor(config);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer replicaConnectionHandling() {
+        // Open-in-view would otherwise keep the first connection for the whole request: a pool slot held
+        // through rendering, and with replicas a write after a read in the same request run on a replica
+        return properties -> properties.put(AvailableSettings.CONNECTION_HANDLING,
+                PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+    }
+
+    List<String> replicaUrls() {
+        return Arrays.stream(urls.split(",")).map(String::trim).filter(url -> !url.isEmpty()).toList();
+    }
+
+    ReplicaDataSource.Strategy replicaStrategy() {
+        return ReplicaDataSource.Strategy.valueOf(strategy.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Runs after the connection limiter, which then guards the primary pool only and is
+     * entered at a transaction's first statement rather than at its start.
+     */
+    static class ReplicaRoutingPostProcessor implements BeanPostProcessor, Ordered {
+
+        private final ObjectProvider<ReplicaDataSourceConfig> config;
+
+        ReplicaRoutingPostProcessor(ObjectProvider<ReplicaDataSourceConfig> config) {
+            this.config = config;
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource primary) || bean instanceof LazyConnectionDataSourceProxy) {
+                return bean;
+            }
+            ReplicaDataSourceConfig settings = config.getObject();
+            List<String> urls = settings.replicaUrls();
+            if (!settings.isEnabled() || urls.isEmpty()) {
+                return new LazyConnectionDataSource(primary);
+            }
+            Map<String, DataSource> replicas = new LinkedHashMap<>();
+            for (String url : urls) {
+                String name = "replica-" + (replicas.size() + 1);
+                HikariDataSource pool = new HikariDataSource();
+                pool.setPoolName(name);
+                pool.setJdbcUrl(url);
+                pool.setUsername(settings.getUsername());
+                pool.setPassword(settings.getPassword());
+                pool.setMaximumPoolSize(settings.getPoolSize());
+                pool.setConnectionTimeout(settings.getConnectionTimeout());
+                pool.setReadOnly(true);
+                // Start empty, so a replica that is down does not stop the application from starting
+                pool.setMinimumIdle(0);
+                pool.setInitializationFailTimeout(-1);
+                replicas.put(name, pool);
+            }
+            return new ReplicaRoutingDataSource(primary, new ReplicaDataSource(replicas, primary,
+                    settings.replicaStrategy(), settings.getLagQuery(), settings.getMaxLag()));
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.LOWEST_PRECEDENCE;
+        }
+    }
+}
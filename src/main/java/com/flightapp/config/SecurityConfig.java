@@ -1,6 +1,7 @@
 package com.flightapp.config;
 
 import com.flightapp.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Profile;
@@ -34,6 +35,12 @@ public class SecurityConfig {
                         .disable()
                 )
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches resume a request that was already authorized (streamed responses)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        // Error pages for a request that already went through the chain, e.g. a stream
+                        // whose client has gone away (included rather than forwarded once committed)
+                        .dispatcherTypeMatchers(DispatcherType.ERROR, DispatcherType.INCLUDE).permitAll()
+
                         // Auth endpoints
                         .requestMatchers("/auth/**").permitAll()
 
@@ -47,8 +54,13 @@ public class SecurityConfig {
                         .requestMatchers("/swagger-resources/**").permitAll()
                         .requestMatchers("/webjars/**").permitAll()
 
+                        // Actuator: health and the Prometheus scrape are open, everything else is admin-only
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         // Protected endpoints
                         .requestMatchers("/flights/**").authenticated()
+                        .requestMatchers("/v2/flights/**").authenticated()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -63,6 +75,12 @@ public class SecurityConfig {
         return http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches resume a request that was already authorized (streamed responses)
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                        // Error pages for a request that already went through the chain, e.g. a stream
+                        // whose client has gone away (included rather than forwarded once committed)
+                        .dispatcherTypeMatchers(DispatcherType.ERROR, DispatcherType.INCLUDE).permitAll()
+
                         // Auth endpoints
                         .requestMatchers("/auth/**").permitAll()
 
@@ -76,11 +94,16 @@ public class SecurityConfig {
                         .requestMatchers("/swagger-resources/**").permitAll()
                         .requestMatchers("/webjars/**").permitAll()
 
+                        // Actuator: health and the Prometheus scrape are open, everything else is admin-only
+                        .requestMatchers("/actuator/health", "/actuator/prometheus").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
+
                         // Special test endpoint to check authorization
                         .requestMatchers("/flights/*/admin").hasRole("ADMIN")
 
                         // Protected endpoints
                         .requestMatchers("/flights/**").authenticated()
+                        .requestMatchers("/v2/flights/**").authenticated()
                         .anyRequest().authenticated()
                 )
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -0,0 +1,78 @@
+package com.flightapp.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.flightapp.timing.AuthorizationTimingHandler;
+import com.flightapp.timing.RequestTiming;
+import com.flightapp.timing.ServerTimingFilter;
+import com.flightapp.timing.TimingJackson2HttpMessageConverter;
+import lombok.Data;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@Data
+public class ServerTimingConfig {
+
+    /**
+     * Sends the Server-Timing header on every response. When false, only admins get it,
+     * and only on requests that carry {@link #requestHeader}.
+     */
+    @Value("${server-timing.enabled:false}")
+    private boolean enabled;
+
+    @Value("${server-timing.request-header:X-Server-Timing}")
+    private String requestHeader;
+
+    /**
+     * Fraction of requests, between 0 and 1, whose phase breakdown is logged.
+     */
+    @Value("${server-timing.log-sample-rate:0}")
+    private double logSampleRate;
+
+    // Ahead of Spring Security, so the JWT filter and URL authorization are inside the timed span
+    @Bean
+    public FilterRegistrationBean<ServerTimingFilter> serverTimingFilter() {
+        FilterRegistrationBean<ServerTimingFilter> registration = new FilterRegistrationBean<>(new ServerTimingFilter(this));
+        registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+        return registration;
+    }
+
+    @Bean
+    public MappingJackson2HttpMessageConverter mappingJackson2HttpMessageConverter(ObjectMapper objectMapper) {
+        return new TimingJackson2HttpMessageConverter(objectMapper);
+    }
+
+    @Bean
+    public AuthorizationTimingHandler authorizationTimingHandler() {
+        return new AuthorizationTimingHandler();
+    }
+
+    /**
+     * Adds every repository call made while a request is timed to its {@code db} phase.
+     */
+    @Bean
+    public static BeanPostProcessor repositoryTimingPostProcessor() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessBeforeInitialization(Object bean, String beanName) {
+                if (bean instanceof RepositoryFactoryBeanSupport<?, ?, ?> factoryBean) {
+                    factoryBean.addRepositoryFactoryCustomizer(factory -> factory.addInvocationListener(invocation -> {
+                        RequestTiming timing = RequestTiming.current();
+                        if (timing != null) {
+                            timing.add(RequestTiming.Phase.DB, invocation.getDuration(TimeUnit.NANOSECONDS));
+                        }
+                    }));
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,215 @@
+package com.flightapp.controller;
+
+import com.flightapp.cache.MonitoredCache;
+import com.flightapp.cache.RouteIndex;
+import com.flightapp.config.HibernateCacheConfig;
+import com.flightapp.dto.CacheStatsDto;
+import com.flightapp.dto.FlightStoreStatsDto;
+import com.flightapp.dto.RouteIndexStatsDto;
+import com.flightapp.model.User;
+import com.flightapp.security.UserDetailsServiceImpl;
+import com.flightapp.store.FlightCodec;
+import com.flightapp.store.FlightStore;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+@RestController
+@RequestMapping("/admin")
+@Tag(name = "Administration", description = "Operational insight into the running service")
+@SecurityRequirement(name = "bearerAuth")
+public class AdminController {
+
+    private final List<MonitoredCache> caches;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final RouteIndex routeIndex;
+    private final FlightStore flightStore;
+    private final FlightCodec flightCodec;
+    private final EntityManagerFactory entityManagerFactory;
+
+    public AdminController(List<MonitoredCache> caches,
+                           UserDetailsServiceImpl userDetailsService,
+                           RouteIndex routeIndex,
+                           FlightStore flightStore,
+                           FlightCodec flightCodec,
+                           EntityManagerFactory entityManagerFactory) {
+        this.caches = caches;
+        this.userDetailsService = userDetailsService;
+        this.routeIndex = routeIndex;
+        this.flightStore = flightStore;
+        this.flightCodec = flightCodec;
+        this.entityManagerFactory = entityManagerFactory;
+    }
+
+    @GetMapping("/caches")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Get cache statistics",
+            description = "Reports size, hit rate, load time and evictions for every in-process cache. " +
+                    "This operation requires ADMIN privileges."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Cache statistics retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            array = @ArraySchema(schema = @Schema(implementation = CacheStatsDto.class))
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Authentication required",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - Requires ADMIN role",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ResponseEntity<List<CacheStatsDto>> getCacheStats() {
+        List<CacheStatsDto> stats = caches.stream()
+                .map(this::toDto)
+                .collect(Collectors.toList());
+        return ResponseEntity.ok(stats);
+    }
+
+    @DeleteMapping("/caches/users/{username}")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Evict a cached user",
+            description = "Forgets the cached account and verified tokens of a user, so the next login and the next " +
+                    "token check read the user again. Users held in the Hibernate second-level cache are dropped too. " +
+                    "With jwt.claims-authentication=true (the default) the role comes from the signed token, so a role " +
+                    "change or removal still takes effect only when the user's current tokens expire. " +
+                    "This operation requires ADMIN privileges."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "204",
+                    description = "User evicted from the caches"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Authentication required",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - Requires ADMIN role",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ResponseEntity<Void> evictUser(
+            @Parameter(description = "Username to evict", required = true)
+            @PathVariable String username) {
+        userDetailsService.evictUser(username);
+        // The second-level cache holds users by ID, so drop them all; the table is small
+        org.hibernate.Cache secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        secondLevelCache.evictEntityData(User.class);
+        secondLevelCache.evictQueryRegion(HibernateCacheConfig.USER_QUERIES_REGION);
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/route-index")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Get route index statistics",
+            description = "Reports whether the in-memory route index is loaded, how many routes, dates and flights " +
+                    "it holds, and its estimated heap use. This operation requires ADMIN privileges."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Route index statistics retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = RouteIndexStatsDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Authentication required",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - Requires ADMIN role",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ResponseEntity<RouteIndexStatsDto> getRouteIndexStats() {
+        return ResponseEntity.ok(routeIndex.stats());
+    }
+
+    @GetMapping("/flight-store")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Get flight store statistics",
+            description = "Reports whether the packed in-memory flight store is loaded, how many flights it holds, " +
+                    "its heap use and the size of its code dictionaries. This operation requires ADMIN privileges."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Flight store statistics retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = FlightStoreStatsDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Authentication required",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - Requires ADMIN role",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ResponseEntity<FlightStoreStatsDto> getFlightStoreStats() {
+        return ResponseEntity.ok(new FlightStoreStatsDto(
+                flightStore.isReady(),
+                flightStore.size(),
+                flightStore.estimatedBytes(),
+                flightCodec.carrierCount(),
+                flightCodec.airportCount()));
+    }
+
+    private CacheStatsDto toDto(MonitoredCache cache) {
+        CacheStats stats = cache.getNativeCache().stats();
+        return new CacheStatsDto(
+                cache.getName(),
+                cache.getNativeCache().estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.loadCount(),
+                stats.averageLoadPenalty() / TimeUnit.MILLISECONDS.toNanos(1),
+                stats.evictionCount()
+        );
+    }
+}
@@ -0,0 +1,71 @@
+package com.flightapp.controller;
+
+import com.flightapp.dto.FlightDto;
+import com.flightapp.event.FlightChangeFeed;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/flights")
+@Tag(name = "Flights", description = "Flight management API")
+@SecurityRequirement(name = "bearerAuth")
+public class FlightChangeController {
+
+    private final FlightChangeFeed flightChangeFeed;
+
+    public FlightChangeController(FlightChangeFeed flightChangeFeed) {
+        this.flightChangeFeed = flightChangeFeed;
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @Operation(
+            summary = "Stream flight changes",
+            description = "Server-sent events for every committed flight change: a 'saved' or 'deleted' event per " +
+                    "flight, with the flight as data. A client reconnecting with Last-Event-ID first receives the " +
+                    "events it missed, or a 'reset' event if they are no longer kept, after which it should reload " +
+                    "the flights. Both ADMIN and USER roles can access this endpoint."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Stream opened",
+                    content = @Content(
+                            mediaType = MediaType.TEXT_EVENT_STREAM_VALUE,
+                            examples = @ExampleObject(
+                                    name = "Change stream",
+                                    value = "id:1729152000000000\nevent:saved\ndata:{\"id\":1,\"carrierCode\":\"AA\",\"flightNumber\":\"1234\",\"flightDate\":\"2025-03-15\",\"origin\":\"JFK\",\"destination\":\"LAX\"}\n\n" +
+                                            "id:1729152000000001\nevent:deleted\ndata:{\"id\":2,\"carrierCode\":\"BA\",\"flightNumber\":\"4321\",\"flightDate\":\"2025-03-16\",\"origin\":\"LHR\",\"destination\":\"JFK\"}\n\n",
+                                    description = "Example change stream"
+                            )
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Authentication required",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public Flux<ServerSentEvent<FlightDto>> streamChanges(
+            @Parameter(
+                    description = "ID of the last event received, to resume after it",
+                    example = "1729152000000000"
+            )
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return flightChangeFeed.subscribe(lastEventId);
+    }
+}
@@ -1,7 +1,20 @@
 package com.flightapp.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.flightapp.cache.FlightResponseCache;
+import com.flightapp.dto.FlightBatchResponse;
+import com.flightapp.dto.FlightDeleteResponse;
+import com.flightapp.dto.FlightDeltaDto;
 import com.flightapp.dto.FlightDto;
+import com.flightapp.dto.FlightPageDto;
+import com.flightapp.dto.FlightSearchCriteria;
+import com.flightapp.exception.BadRequestException;
+import com.flightapp.format.FlightFormat;
 import com.flightapp.service.FlightService;
+import com.flightapp.util.FlightCursor;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.media.ArraySchema;
@@ -14,24 +27,41 @@ import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import io.swagger.v3.oas.annotations.Hidden;
 import jakarta.validation.Valid;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.LocalDate;
 import java.util.List;
 
 @RestController
 @RequestMapping("/flights")
-@Tag(name = "Flights", description = "Flight Management API for creating, retrieving, and deleting flight information")
+@Tag(name = "Flights", description = "Flight Management API for creating, retrieving, and deleting flight information. " +
+        "Bodies are JSON by default; send Accept or Content-Type application/cbor, application/x-jackson-smile " +
+        "or application/x-protobuf (flight payloads, see src/main/proto/flight.proto) for a compact binary form.")
 @SecurityRequirement(name = "bearerAuth")
 public class FlightController {
 
+    // Flights are per user; clients may keep them but must revalidate before reuse
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     private final FlightService flightService;
+    private final FlightResponseCache flightResponseCache;
+    private final ObjectMapper objectMapper;
 
-    public FlightController(FlightService flightService) {
+    public FlightController(FlightService flightService, FlightResponseCache flightResponseCache, ObjectMapper objectMapper) {
         this.flightService = flightService;
+        this.flightResponseCache = flightResponseCache;
+        this.objectMapper = objectMapper;
     }
 
     @PostMapping
@@ -100,11 +130,76 @@ public class FlightController {
         }
     }
 
+    @PostMapping("/batch")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Add flights in bulk",
+            description = "Creates many flights in one request. Each flight is validated on its own; invalid flights are " +
+                    "rejected with their field errors while valid ones are inserted in JDBC batches. " +
+                    "The response reports the outcome of every submitted flight by its position in the list. " +
+                    "This operation requires ADMIN privileges."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Batch processed - Returns the result for each submitted flight",
+                    content = {
+                            @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = FlightBatchResponse.class),
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Batch result",
+                                                    value = "{\n  \"created\": 1,\n  \"rejected\": 1,\n  \"results\": [\n    {\n      \"index\": 0,\n      \"status\": \"CREATED\",\n      \"id\": 101,\n      \"errors\": null\n    },\n    {\n      \"index\": 1,\n      \"status\": \"REJECTED\",\n      \"id\": null,\n      \"errors\": {\n        \"origin\": \"Origin must be a valid 3-character IATA airport code\"\n      }\n    }\n  ]\n}",
+                                                    description = "Example of a partially accepted batch"
+                                            )
+                                    }
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid batch - The list is empty or larger than the configured maximum",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Authentication required",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - Requires ADMIN role",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ResponseEntity<FlightBatchResponse> addFlights(
+            @RequestBody
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "Flights to be created",
+                    required = true,
+                    content = @Content(
+                            array = @ArraySchema(schema = @Schema(implementation = FlightDto.class)),
+                            examples = {
+                                    @ExampleObject(
+                                            name = "New flights",
+                                            value = "[\n  {\n    \"carrierCode\": \"AA\",\n    \"flightNumber\": \"1234\",\n    \"flightDate\": \"2025-03-15\",\n    \"origin\": \"JFK\",\n    \"destination\": \"LAX\"\n  },\n  {\n    \"carrierCode\": \"BA\",\n    \"flightNumber\": \"4321\",\n    \"flightDate\": \"2025-03-16\",\n    \"origin\": \"LHR\",\n    \"destination\": \"JFK\"\n  }\n]",
+                                            description = "Example of a bulk flight request"
+                                    )
+                            }
+                    )
+            )
+            List<FlightDto> flightDtos) {
+        FlightBatchResponse response = flightService.addFlights(flightDtos);
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/{id}")
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     @Operation(
             summary = "Get flight by ID",
-            description = "Retrieves a specific flight by its unique identifier. " +
+            description = "Retrieves a specific flight by its unique identifier. The response carries an ETag; " +
+                    "send it back in If-None-Match to get 304 Not Modified while the flight is unchanged. " +
                     "Both ADMIN and USER roles can access this endpoint."
     )
     @ApiResponses(value = {
@@ -125,6 +220,10 @@ public class FlightController {
                             )
                     }
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified - The flight still matches the ETag sent in If-None-Match"
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "Unauthorized - Authentication required",
@@ -136,22 +235,40 @@ public class FlightController {
                     content = @Content(mediaType = "application/json")
             )
     })
-    public ResponseEntity<FlightDto> getFlightById(
+    public ResponseEntity<byte[]> getFlightById(
             @Parameter(
                     description = "ID of the flight to retrieve",
                     required = true,
                     example = "1"
             )
-            @PathVariable Long id) {
-        FlightDto flight = flightService.getFlightById(id);
-        return ResponseEntity.ok(flight);
+            @PathVariable Long id,
+            @Parameter(description = "ETag from an earlier response")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        // Only the version is looked up; the flight is read and serialized when it is not cached at that version
+        long version = flightService.getFlightVersion(id);
+        FlightFormat format = FlightFormat.negotiate(accept);
+        if (format == null) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+        String matched = matchedETag(ifNoneMatch, version, format);
+        if (matched != null) {
+            return notModified(matched);
+        }
+        return serialized(flightResponseCache.getFlight(id, version, format, flightService::getFlightById),
+                format, acceptEncoding);
     }
 
     @GetMapping
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     @Operation(
             summary = "Get all flights",
-            description = "Retrieves a list of all flights in the system. " +
+            description = "Retrieves a list of all flights in the system. The response carries an ETag that " +
+                    "changes with every flight added or deleted; send it back in If-None-Match to get " +
+                    "304 Not Modified while nothing changed. A large list is sent gzipped to clients that accept it. " +
                     "Both ADMIN and USER roles can access this endpoint."
     )
     @ApiResponses(value = {
@@ -172,15 +289,240 @@ public class FlightController {
                             )
                     }
             ),
+            @ApiResponse(
+                    responseCode = "304",
+                    description = "Not modified - No flight was added or deleted since the ETag sent in If-None-Match"
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Authentication required",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ResponseEntity<byte[]> getAllFlights(
+            @Parameter(description = "ETag from an earlier response")
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+            @Parameter(hidden = true)
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        long version = flightService.getFlightsVersion();
+        FlightFormat format = FlightFormat.negotiate(accept);
+        if (format == null) {
+            return ResponseEntity.status(HttpStatus.NOT_ACCEPTABLE).build();
+        }
+        String matched = matchedETag(ifNoneMatch, version, format);
+        if (matched != null) {
+            return notModified(matched);
+        }
+        return serialized(flightResponseCache.getAllFlights(version, format, flightService::getAllFlights),
+                format, acceptEncoding);
+    }
+
+    @GetMapping("/page")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @Operation(
+            summary = "Get a page of flights",
+            description = "Retrieves flights one page at a time using keyset pagination. " +
+                    "Pass the returned 'next' cursor to fetch the following page; it is null on the last page. " +
+                    "Both ADMIN and USER roles can access this endpoint."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Page of flights retrieved successfully",
+                    content = {
+                            @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = FlightPageDto.class),
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Flight page",
+                                                    value = "{\n  \"flights\": [\n    {\n      \"id\": 1,\n      \"carrierCode\": \"AA\",\n      \"flightNumber\": \"1234\",\n      \"flightDate\": \"2025-03-15\",\n      \"origin\": \"JFK\",\n      \"destination\": \"LAX\"\n    }\n  ],\n  \"next\": \"aToy\"\n}",
+                                                    description = "Example page of flights"
+                                            )
+                                    }
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor, page size or sort order",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Authentication required",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ResponseEntity<FlightPageDto> getFlightPage(
+            @Parameter(description = "Cursor returned by the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of flights per page", example = "50")
+            @RequestParam(defaultValue = "50") int size,
+            @Parameter(description = "Sort order: 'id' or 'flightDate'", example = "id")
+            @RequestParam(defaultValue = "id") String sort) {
+        FlightCursor.Order order = switch (sort) {
+            case "id" -> FlightCursor.Order.ID;
+            case "flightDate" -> FlightCursor.Order.FLIGHT_DATE;
+            default -> throw new BadRequestException("Unsupported sort order: " + sort);
+        };
+        FlightPageDto page = flightService.getFlightPage(cursor, size, order);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping("/delta")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @Operation(
+            summary = "Get changes since a version",
+            description = "Returns the flights saved and the IDs of flights deleted after the given version, so a client " +
+                    "keeping a local copy only fetches what changed. Start with since=0 to receive every flight. While " +
+                    "'next' is set, pass it back as the cursor for the rest of the changes; once it is null, keep the " +
+                    "returned 'version' as since for the next sync. If 'resync' is true the changes can no longer be " +
+                    "listed (deletions are remembered for " +
+                    "flights.delta.tombstone-retention-days); discard the local copy and start again from 0. " +
+                    "Both ADMIN and USER roles can access this endpoint."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Changes retrieved successfully",
+                    content = {
+                            @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = FlightDeltaDto.class),
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Flight delta",
+                                                    value = "{\n  \"version\": 42,\n  \"next\": null,\n  \"resync\": false,\n  \"saved\": [\n    {\n      \"id\": 7,\n      \"carrierCode\": \"AA\",\n      \"flightNumber\": \"1234\",\n      \"flightDate\": \"2025-03-15\",\n      \"origin\": \"JFK\",\n      \"destination\": \"LAX\"\n    }\n  ],\n  \"deleted\": [3]\n}",
+                                                    description = "Example delta"
+                                            )
+                                    }
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Missing or negative version, invalid cursor or page size",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Authentication required",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ResponseEntity<FlightDeltaDto> getFlightDelta(
+            @Parameter(description = "Version returned by the previous sync, or 0 for a full sync", example = "0")
+            @RequestParam(required = false) Long since,
+            @Parameter(description = "Cursor returned as 'next' by the previous call; since is then ignored")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of changes per call", example = "500")
+            @RequestParam(defaultValue = "500") int size) {
+        return ResponseEntity.ok(flightService.getFlightDelta(since, cursor, size));
+    }
+
+    @GetMapping("/search")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @Operation(
+            summary = "Search flights",
+            description = "Finds flights matching every supplied filter: origin, destination, carrier and an inclusive " +
+                    "flight date range. Results are ordered by flight date and paginated with the 'next' cursor. " +
+                    "Both ADMIN and USER roles can access this endpoint."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Matching flights retrieved successfully",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = FlightPageDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid cursor, page size or date range",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Authentication required",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ResponseEntity<FlightPageDto> searchFlights(
+            @Parameter(description = "Origin airport IATA code", example = "JFK")
+            @RequestParam(required = false) String origin,
+            @Parameter(description = "Destination airport IATA code", example = "LHR")
+            @RequestParam(required = false) String destination,
+            @Parameter(description = "Carrier IATA code", example = "AA")
+            @RequestParam(required = false) String carrier,
+            @Parameter(description = "Earliest flight date (inclusive)", example = "2025-03-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @Parameter(description = "Latest flight date (inclusive)", example = "2025-03-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo,
+            @Parameter(description = "Cursor returned by the previous page; omit for the first page")
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Maximum number of flights per page", example = "50")
+            @RequestParam(defaultValue = "50") int size) {
+        FlightSearchCriteria criteria = new FlightSearchCriteria(origin, destination, carrier, dateFrom, dateTo);
+        FlightPageDto page = flightService.searchFlights(criteria, cursor, size);
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @Operation(
+            summary = "Export all flights",
+            description = "Streams every flight as newline-delimited JSON, one flight per line. " +
+                    "Rows are written as they are read from the database, so the response can be consumed incrementally. " +
+                    "Both ADMIN and USER roles can access this endpoint."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Flight export stream",
+                    content = {
+                            @Content(
+                                    mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Flight export",
+                                                    value = "{\"id\":1,\"carrierCode\":\"AA\",\"flightNumber\":\"1234\",\"flightDate\":\"2025-03-15\",\"origin\":\"JFK\",\"destination\":\"LAX\"}\n" +
+                                                            "{\"id\":2,\"carrierCode\":\"BA\",\"flightNumber\":\"4321\",\"flightDate\":\"2025-03-16\",\"origin\":\"LHR\",\"destination\":\"JFK\"}\n",
+                                                    description = "Example export stream"
+                                            )
+                                    }
+                            )
+                    }
+            ),
             @ApiResponse(
                     responseCode = "401",
                     description = "Unauthorized - Authentication required",
                     content = @Content(mediaType = "application/json")
             )
     })
-    public ResponseEntity<List<FlightDto>> getAllFlights() {
-        List<FlightDto> flights = flightService.getAllFlights();
-        return ResponseEntity.ok(flights);
+    public ResponseEntity<StreamingResponseBody> exportFlights() {
+        // Each row ends with its own newline, and the generator's buffer is only flushed when full
+        ObjectWriter writer = objectMapper.writerFor(FlightDto.class)
+                .withRootValueSeparator((String) null)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        StreamingResponseBody body = outputStream -> {
+            try (JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                flightService.exportFlights(flight -> {
+                    try {
+                        writer.writeValue(generator, flight);
+                        generator.writeRaw('\n');
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
     }
 
     @DeleteMapping("/{id}")
@@ -227,6 +569,109 @@ public class FlightController {
         }
     }
 
+    @PostMapping("/batch/delete")
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Delete flights in bulk",
+            description = "Permanently removes the flights with the given IDs. Flights are deleted in chunks, each with a " +
+                    "single statement in its own transaction; IDs that do not exist are ignored. " +
+                    "This operation requires ADMIN privileges and cannot be undone."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Flights deleted - Returns how many existed and were removed",
+                    content = {
+                            @Content(
+                                    mediaType = "application/json",
+                                    schema = @Schema(implementation = FlightDeleteResponse.class),
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Delete result",
+                                                    value = "{\n  \"deleted\": 2\n}",
+                                                    description = "Example of a bulk delete result"
+                                            )
+                                    }
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid request - The list is empty or larger than the configured maximum",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Authentication required",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - Requires ADMIN role",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ResponseEntity<FlightDeleteResponse> deleteFlights(
+            @RequestBody
+            @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    description = "IDs of the flights to delete",
+                    required = true,
+                    content = @Content(
+                            array = @ArraySchema(schema = @Schema(implementation = Long.class)),
+                            examples = {
+                                    @ExampleObject(
+                                            name = "Flight IDs",
+                                            value = "[1, 2, 3]",
+                                            description = "Example of a bulk delete request"
+                                    )
+                            }
+                    )
+            )
+            List<Long> ids) {
+        return ResponseEntity.ok(flightService.deleteFlights(ids));
+    }
+
+    @DeleteMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    @Operation(
+            summary = "Delete flights by date range",
+            description = "Permanently removes every flight dated within the range, both ends inclusive. Flights are " +
+                    "deleted in chunks, each with a single statement in its own transaction, so locks are held briefly. " +
+                    "This operation requires ADMIN privileges and cannot be undone."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Flights deleted - Returns how many were removed",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = FlightDeleteResponse.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "400",
+                    description = "Invalid range - A date is missing or dateFrom is after dateTo",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Authentication required",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "403",
+                    description = "Forbidden - Requires ADMIN role",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public ResponseEntity<FlightDeleteResponse> deleteFlightsBetween(
+            @Parameter(description = "Earliest flight date to delete (inclusive)", required = true, example = "2024-01-01")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateFrom,
+            @Parameter(description = "Latest flight date to delete (inclusive)", required = true, example = "2024-12-31")
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dateTo) {
+        return ResponseEntity.ok(flightService.deleteFlightsBetween(dateFrom, dateTo));
+    }
+
     // Special endpoint for admin access testing - Hidden from Swagger
     @Hidden
     @GetMapping("/{id}/admin")
@@ -234,4 +679,74 @@ public class FlightController {
     public ResponseEntity<String> adminOnlyEndpoint(@PathVariable Long id) {
         return ResponseEntity.ok("Admin access successful");
     }
+
+    // Each format, and its gzipped body, is a different representation, so each gets a tag of its own
+    private static String etag(long version, FlightFormat format, boolean gzipped) {
+        return "\"" + version + format.getTagSuffix() + (gzipped ? "-gzip" : "") + "\"";
+    }
+
+    // The tag of the client's copy if it is still current, plain or gzipped, otherwise null
+    private static String matchedETag(String ifNoneMatch, long version, FlightFormat format) {
+        if (ifNoneMatch != null) {
+            for (boolean gzipped : new boolean[] {false, true}) {
+                String etag = etag(version, format, gzipped);
+                if (matchesAny(ifNoneMatch, etag)) {
+                    return etag;
+                }
+            }
+        }
+        return null;
+    }
+
+    // If-None-Match uses the weak comparison (RFC 9110), so a W/ prefix does not matter
+    private static boolean matchesAny(String ifNoneMatch, String etag) {
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals("*") || tag.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static <T> ResponseEntity<T> notModified(String etag) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).eTag(etag).build();
+    }
+
+    // Writes the cached bytes as they are; without a version the body changed while being read and gets no ETag
+    private static ResponseEntity<byte[]> serialized(FlightResponseCache.Payload payload, FlightFormat format,
+                                                     String acceptEncoding) {
+        boolean gzipped = payload.isCompressible() && acceptsGzip(acceptEncoding);
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .cacheControl(REVALIDATE)
+                .contentType(format.getMediaType());
+        if (payload.isCompressible()) {
+            response.varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING);
+        } else {
+            response.varyBy(HttpHeaders.ACCEPT);
+        }
+        if (gzipped) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        if (payload.getVersion() != null) {
+            response.eTag(etag(payload.getVersion(), format, gzipped));
+        }
+        return response.body(gzipped ? payload.getGzipped() : payload.getBytes());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,113 @@
+package com.flightapp.controller;
+
+import com.flightapp.dto.FlightDto;
+import com.flightapp.service.ReactiveFlightService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.media.ArraySchema;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.media.Schema;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@RequestMapping("/v2/flights")
+@Tag(name = "Flights v2", description = "Non-blocking read API over R2DBC; responses are written as the database returns rows")
+@SecurityRequirement(name = "bearerAuth")
+public class ReactiveFlightController {
+
+    private final ReactiveFlightService reactiveFlightService;
+
+    public ReactiveFlightController(ReactiveFlightService reactiveFlightService) {
+        this.reactiveFlightService = reactiveFlightService;
+    }
+
+    @GetMapping("/{id}")
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @Operation(
+            summary = "Get flight by ID",
+            description = "Retrieves a specific flight by its unique identifier without holding a request thread " +
+                    "while the database answers. Both ADMIN and USER roles can access this endpoint."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Flight found - Returns the flight details",
+                    content = @Content(
+                            mediaType = "application/json",
+                            schema = @Schema(implementation = FlightDto.class)
+                    )
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Authentication required",
+                    content = @Content(mediaType = "application/json")
+            ),
+            @ApiResponse(
+                    responseCode = "404",
+                    description = "Flight not found - No flight exists with the provided ID",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public Mono<FlightDto> getFlightById(
+            @Parameter(
+                    description = "ID of the flight to retrieve",
+                    required = true,
+                    example = "1"
+            )
+            @PathVariable Long id) {
+        return reactiveFlightService.getFlightById(id);
+    }
+
+    @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.APPLICATION_JSON_VALUE})
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    @Operation(
+            summary = "Get all flights",
+            description = "Retrieves every flight in ID order. With 'Accept: application/x-ndjson' flights are streamed " +
+                    "one per line and the next row is only fetched once the previous one has been written, so the " +
+                    "client's read rate drives the query. With 'application/json' the flights are collected into an array. " +
+                    "Both ADMIN and USER roles can access this endpoint."
+    )
+    @ApiResponses(value = {
+            @ApiResponse(
+                    responseCode = "200",
+                    description = "Flights retrieved successfully",
+                    content = {
+                            @Content(
+                                    mediaType = MediaType.APPLICATION_NDJSON_VALUE,
+                                    examples = {
+                                            @ExampleObject(
+                                                    name = "Flight stream",
+                                                    value = "{\"id\":1,\"carrierCode\":\"AA\",\"flightNumber\":\"1234\",\"flightDate\":\"2025-03-15\",\"origin\":\"JFK\",\"destination\":\"LAX\"}\n" +
+                                                            "{\"id\":2,\"carrierCode\":\"BA\",\"flightNumber\":\"4321\",\"flightDate\":\"2025-03-16\",\"origin\":\"LHR\",\"destination\":\"JFK\"}\n",
+                                                    description = "Example flight stream"
+                                            )
+                                    }
+                            ),
+                            @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    array = @ArraySchema(schema = @Schema(implementation = FlightDto.class))
+                            )
+                    }
+            ),
+            @ApiResponse(
+                    responseCode = "401",
+                    description = "Unauthorized - Authentication required",
+                    content = @Content(mediaType = "application/json")
+            )
+    })
+    public Flux<FlightDto> getAllFlights() {
+        return reactiveFlightService.getAllFlights();
+    }
+}
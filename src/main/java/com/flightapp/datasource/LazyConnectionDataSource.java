@@ -0,0 +1,40 @@
+package com.flightapp.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.SQLException;
+
+/**
+ * Hands out connection proxies that borrow from the pool only at the first statement.
+ * A transaction that is answered from memory, such as a cache hit inside a
+ * {@code @Transactional} service method, then never takes a pooled connection or a
+ * connection limiter permit, and never pays for {@code setAutoCommit(false)}.
+ */
+public class LazyConnectionDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(LazyConnectionDataSource.class);
+
+    public LazyConnectionDataSource(DataSource target) {
+        super(target);
+    }
+
+    /**
+     * Stands in for the pool's own close, which Spring no longer sees once wrapped.
+     */
+    @Override
+    public void close() throws IOException {
+        DataSource target = obtainTargetDataSource();
+        try {
+            if (target.isWrapperFor(Closeable.class)) {
+                target.unwrap(Closeable.class).close();
+            }
+        } catch (SQLException ex) {
+            log.warn("Could not close data source", ex);
+        }
+    }
+}
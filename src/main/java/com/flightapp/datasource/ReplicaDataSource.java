@@ -0,0 +1,206 @@
+package com.flightapp.datasource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands out connections to read replicas, one pool per replica, chosen round-robin or by
+ * fewest open connections. A replica that fails to connect, fails its check or lags more
+ * than {@code maxLagSeconds} behind (as reported by {@code lagQuery}) is skipped until a
+ * later {@link #checkReplicas()} finds it healthy; with none left, reads go to the primary.
+ */
+public class ReplicaDataSource extends AbstractDataSource implements Closeable {
+
+    public enum Strategy {
+        ROUND_ROBIN, LEAST_BUSY
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaDataSource.class);
+
+    private final List<Replica> replicas = new ArrayList<>();
+    private final DataSource primary;
+    private final Strategy strategy;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+    private final AtomicLong primaryFallbacks = new AtomicLong();
+
+    /**
+     * @param replicas  replica pools by name, in round-robin order
+     * @param primary   used when no replica is available
+     * @param lagQuery  query returning a replica's lag in seconds as its only value; blank to check connectivity only
+     */
+    public ReplicaDataSource(Map<String, DataSource> replicas, DataSource primary, Strategy strategy,
+                             String lagQuery, double maxLagSeconds) {
+        replicas.forEach((name, dataSource) -> this.replicas.add(new Replica(name, dataSource)));
+        this.primary = primary;
+        this.strategy = strategy;
+        this.lagQuery = lagQuery == null ? "" : lagQuery.trim();
+        this.maxLagSeconds = maxLagSeconds;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        for (Replica replica : candidates()) {
+            try {
+                return replica.borrow();
+            } catch (SQLException ex) {
+                log.warn("Replica {} unavailable, taking it out of rotation: {}", replica.name, ex.getMessage());
+                replica.available = false;
+            }
+        }
+        primaryFallbacks.incrementAndGet();
+        return primary.getConnection();
+    }
+
+    /**
+     * Connections for explicit credentials always come from the primary.
+     */
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password);
+    }
+
+    /**
+     * Probes every replica and puts it in or out of rotation. Called on a schedule.
+     */
+    public void checkReplicas() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                if (lagQuery.isEmpty()) {
+                    healthy = connection.isValid(5);
+                } else {
+                    replica.lagSeconds = queryLag(connection);
+                    healthy = replica.lagSeconds <= maxLagSeconds;
+                }
+            } catch (SQLException ex) {
+                log.warn("Replica {} check failed: {}", replica.name, ex.getMessage());
+                healthy = false;
+            }
+            if (healthy != replica.available) {
+                log.info("Replica {} {} rotation (lag {} s)", replica.name, healthy ? "back in" : "out of",
+                        replica.lagSeconds);
+            }
+            replica.available = healthy;
+        }
+    }
+
+    public long getPrimaryFallbacks() {
+        return primaryFallbacks.get();
+    }
+
+    public void bindTo(MeterRegistry registry) {
+        for (Replica replica : replicas) {
+            Gauge.builder("db.replica.available", replica, r -> r.available ? 1 : 0)
+                    .tag("replica", replica.name)
+                    .description("Whether the replica is in read rotation")
+                    .register(registry);
+            Gauge.builder("db.replica.active", replica, r -> r.active.get())
+                    .tag("replica", replica.name)
+                    .description("Connections currently borrowed from the replica")
+                    .register(registry);
+            Gauge.builder("db.replica.lag", replica, r -> r.lagSeconds)
+                    .tag("replica", replica.name)
+                    .baseUnit("seconds")
+                    .description("Replica lag reported by the last check")
+                    .register(registry);
+        }
+        FunctionCounter.builder("db.replica.primary.fallbacks", primaryFallbacks, AtomicLong::get)
+                .description("Read-only connections served by the primary because no replica was available")
+                .register(registry);
+    }
+
+    @Override
+    public void close() {
+        for (Replica replica : replicas) {
+            if (replica.dataSource instanceof AutoCloseable closeable) {
+                try {
+                    closeable.close();
+                } catch (Exception ex) {
+                    log.warn("Could not close replica {}", replica.name, ex);
+                }
+            }
+        }
+    }
+
+    private List<Replica> candidates() {
+        List<Replica> available = new ArrayList<>(replicas.size());
+        if (strategy == Strategy.ROUND_ROBIN) {
+            int start = Math.floorMod(next.getAndIncrement(), Math.max(1, replicas.size()));
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (replica.available) {
+                    available.add(replica);
+                }
+            }
+        } else {
+            for (Replica replica : replicas) {
+                if (replica.available) {
+                    available.add(replica);
+                }
+            }
+            available.sort(Comparator.comparingInt(replica -> replica.active.get()));
+        }
+        return available;
+    }
+
+    private double queryLag(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery(lagQuery)) {
+            // No row means the replica has nothing to report, e.g. apply lag is not tracked: treat as current
+            return resultSet.next() ? resultSet.getDouble(1) : 0.0;
+        }
+    }
+
+    private static final class Replica {
+
+        private final String name;
+        private final DataSource dataSource;
+        private final AtomicInteger active = new AtomicInteger();
+        private volatile boolean available = true;
+        private volatile double lagSeconds;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+
+        Connection borrow() throws SQLException {
+            Connection connection = dataSource.getConnection();
+            active.incrementAndGet();
+            AtomicBoolean returned = new AtomicBoolean();
+            return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                    new Class<?>[] {Connection.class}, (proxy, method, args) -> {
+                        if ("close".equals(method.getName()) && returned.compareAndSet(false, true)) {
+                            active.decrementAndGet();
+                        }
+                        try {
+                            return method.invoke(connection, args);
+                        } catch (InvocationTargetException ex) {
+                            throw ex.getTargetException();
+                        }
+                    });
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.flightapp.datasource;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+
+/**
+ * Re-checks replica health and lag on a schedule, taking lagging replicas out of read
+ * rotation and returning them once they catch up. Does nothing without replicas.
+ */
+@Component
+public class ReplicaHealthCheck {
+
+    private final DataSource dataSource;
+
+    public ReplicaHealthCheck(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.check-interval:5000}")
+    public void check() throws SQLException {
+        if (dataSource.isWrapperFor(ReplicaRoutingDataSource.class)) {
+            dataSource.unwrap(ReplicaRoutingDataSource.class).getReplicas().checkReplicas();
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.flightapp.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Sends read-only transactions to the replicas and everything else to the primary.
+ * The physical connection is only fetched at the first statement, by which point the
+ * transaction is known to be read-only or not (from the connection's read-only flag or
+ * the current transaction), so the choice follows {@code @Transactional(readOnly = true)}
+ * without any routing keys in the services.
+ */
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    private final ReplicaDataSource replicas;
+
+    public ReplicaRoutingDataSource(DataSource primary, ReplicaDataSource replicas) {
+        super(new TransactionRouter(primary, replicas));
+        setReadOnlyDataSource(replicas);
+        this.replicas = replicas;
+    }
+
+    public ReplicaDataSource getReplicas() {
+        return replicas;
+    }
+
+    /**
+     * Stands in for the primary pool's own close, which Spring no longer sees once wrapped.
+     */
+    @Override
+    public void close() throws IOException {
+        replicas.close();
+        DataSource primary = ((TransactionRouter) obtainTargetDataSource()).primary;
+        try {
+            if (primary.isWrapperFor(Closeable.class)) {
+                primary.unwrap(Closeable.class).close();
+            }
+        } catch (SQLException ex) {
+            log.warn("Could not close primary data source", ex);
+        }
+    }
+
+    /**
+     * Hibernate only sets the read-only flag on connections it holds until the session
+     * closes; with connections released after each transaction, the transaction itself
+     * says whether it is read-only.
+     */
+    private static final class TransactionRouter extends AbstractDataSource {
+
+        private final DataSource primary;
+        private final DataSource replicas;
+
+        TransactionRouter(DataSource primary, DataSource replicas) {
+            this.primary = primary;
+            this.replicas = replicas;
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                    ? replicas.getConnection() : primary.getConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return primary.getConnection(username, password);
+        }
+
+        @Override
+        public <T> T unwrap(Class<T> iface) throws SQLException {
+            return iface.isInstance(this) ? iface.cast(this) : primary.unwrap(iface);
+        }
+
+        @Override
+        public boolean isWrapperFor(Class<?> iface) throws SQLException {
+            return iface.isInstance(this) || primary.isWrapperFor(iface);
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package com.flightapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightBatchItemResult {
+
+    public enum Status {
+        CREATED, REJECTED
+    }
+
+    /**
+     * Position of the flight in the submitted list.
+     */
+    private int index;
+    private Status status;
+    private Long id;
+    private Map<String, String> errors;
+}
@@ -0,0 +1,17 @@
+package com.flightapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightBatchResponse {
+
+    private int created;
+    private int rejected;
+    private List<FlightBatchItemResult> results;
+}
@@ -0,0 +1,39 @@
+package com.flightapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightDeltaDto {
+
+    /**
+     * Every change up to this version has now been returned; pass it as {@code since} on the next sync.
+     */
+    private long version;
+
+    /**
+     * Opaque cursor for the rest of this sync, or null when it is complete.
+     */
+    private String next;
+
+    /**
+     * True when the changes since the given version can no longer be listed; discard the
+     * local copy and sync again from version 0.
+     */
+    private boolean resync;
+
+    /**
+     * Flights created or changed, in version order.
+     */
+    private List<FlightDto> saved;
+
+    /**
+     * IDs of flights deleted, in version order.
+     */
+    private List<Long> deleted;
+}
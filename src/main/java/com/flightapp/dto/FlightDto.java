@@ -1,10 +1,12 @@
 package com.flightapp.dto;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDate;
@@ -34,4 +36,22 @@ public class FlightDto {
     @NotBlank(message = "Destination is required")
     @Pattern(regexp = "^[A-Z]{3}$", message = "Destination must be a valid 3-character IATA airport code")
     private String destination;
+
+    /**
+     * Change version of the flight's row, used for its ETag; 0 where it was not read.
+     * Not part of the JSON and not part of equality.
+     */
+    @JsonIgnore
+    @EqualsAndHashCode.Exclude
+    private long changeVersion;
+
+    public FlightDto(Long id, String carrierCode, String flightNumber, LocalDate flightDate,
+                     String origin, String destination) {
+        this.id = id;
+        this.carrierCode = carrierCode;
+        this.flightNumber = flightNumber;
+        this.flightDate = flightDate;
+        this.origin = origin;
+        this.destination = destination;
+    }
 }
\ No newline at end of file
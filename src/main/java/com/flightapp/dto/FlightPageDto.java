@@ -0,0 +1,20 @@
+package com.flightapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightPageDto {
+
+    private List<FlightDto> flights;
+
+    /**
+     * Opaque cursor for the following page, or null when this is the last page.
+     */
+    private String next;
+}
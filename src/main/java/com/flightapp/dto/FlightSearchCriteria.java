@@ -0,0 +1,19 @@
+package com.flightapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightSearchCriteria {
+
+    private String origin;
+    private String destination;
+    private String carrierCode;
+    private LocalDate dateFrom;
+    private LocalDate dateTo;
+}
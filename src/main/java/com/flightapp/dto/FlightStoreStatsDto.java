@@ -0,0 +1,17 @@
+package com.flightapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightStoreStatsDto {
+
+    private boolean ready;
+    private long flights;
+    private long estimatedBytes;
+    private int carrierCodes;
+    private int airportCodes;
+}
@@ -0,0 +1,18 @@
+package com.flightapp.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RouteIndexStatsDto {
+
+    private boolean ready;
+    private long routes;
+    private long routeDates;
+    private long flights;
+    private long estimatedBytes;
+    private long estimatedBytesPerMillionFlights;
+}
@@ -0,0 +1,34 @@
+package com.flightapp.event;
+
+import com.flightapp.dto.FlightDto;
+import lombok.Value;
+
+import java.util.List;
+
+/**
+ * Published by the flight service whenever flights are written. Listeners that keep
+ * derived state should use {@code @TransactionalEventListener} so they only react once
+ * the change is committed.
+ */
+@Value
+public class FlightChangeEvent {
+
+    public enum Type {
+        SAVED, DELETED
+    }
+
+    Type type;
+    List<FlightDto> flights;
+
+    public static FlightChangeEvent saved(List<FlightDto> flights) {
+        return new FlightChangeEvent(Type.SAVED, flights);
+    }
+
+    public static FlightChangeEvent deleted(FlightDto flight) {
+        return new FlightChangeEvent(Type.DELETED, List.of(flight));
+    }
+
+    public static FlightChangeEvent deleted(List<FlightDto> flights) {
+        return new FlightChangeEvent(Type.DELETED, flights);
+    }
+}
@@ -0,0 +1,150 @@
+package com.flightapp.event;
+
+import com.flightapp.config.FlightConfig;
+import com.flightapp.dto.FlightDto;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxSink;
+import reactor.core.publisher.Sinks;
+
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Committed flight changes as a server-sent event stream, one event per flight named
+ * after the change type ({@code saved} or {@code deleted}). The last
+ * {@code flights.changes.buffer-size} events are kept in a ring so a client that
+ * reconnects with {@code Last-Event-ID} gets what it missed; one whose ID has already
+ * left the ring gets a {@code reset} event and has to reload.
+ * <p>
+ * Publishing only hands the event to each subscriber's bounded buffer; Spring MVC writes
+ * the buffers out on its task executor, so an idle subscriber holds no thread and a slow
+ * one cannot hold up the committing request. A subscriber whose buffer fills is
+ * disconnected and catches up from the ring when it reconnects.
+ */
+@Component
+public class FlightChangeFeed implements MeterBinder {
+
+    public static final String RESET = "reset";
+
+    private final Object lock = new Object();
+    // Guarded by lock like the rest; atomic only because a generic array cannot be created
+    private final AtomicReferenceArray<ServerSentEvent<FlightDto>> ring;
+    private final int subscriberBuffer;
+    // Seeded from the clock so IDs handed out before a restart are not mistaken for new ones
+    private final long firstId = System.currentTimeMillis() * 1000;
+    // Concurrent so a subscriber can drop out while an event is being handed round
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private long nextId = firstId;
+
+    public FlightChangeFeed(FlightConfig flightConfig) {
+        this.ring = new AtomicReferenceArray<>(Math.max(1, flightConfig.getChangesBufferSize()));
+        this.subscriberBuffer = Math.max(1, flightConfig.getChangesSubscriberBuffer());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onFlightChange(FlightChangeEvent event) {
+        String name = event.getType().name().toLowerCase(Locale.ROOT);
+        synchronized (lock) {
+            for (FlightDto flight : event.getFlights()) {
+                long id = nextId++;
+                ServerSentEvent<FlightDto> sse = ServerSentEvent.builder(flight)
+                        .id(Long.toString(id))
+                        .event(name)
+                        .build();
+                ring.set(slot(id), sse);
+                subscribers.forEach(subscriber -> subscriber.send(sse));
+            }
+        }
+    }
+
+    /**
+     * Live changes, preceded by the ones after {@code lastEventId} when given.
+     */
+    public Flux<ServerSentEvent<FlightDto>> subscribe(Long lastEventId) {
+        return Flux.defer(() -> {
+            Subscriber subscriber = new Subscriber();
+            Flux<ServerSentEvent<FlightDto>> changes = Flux.create(sink -> {
+                subscriber.sink = sink;
+                // Replay and registration under the publishing lock, so nothing falls in between
+                synchronized (lock) {
+                    if (lastEventId != null) {
+                        replay(sink, lastEventId);
+                    }
+                    subscribers.add(subscriber);
+                }
+                sink.onDispose(() -> subscribers.remove(subscriber));
+            });
+            return changes
+                    .doOnNext(event -> subscriber.pending.decrementAndGet())
+                    // Ends the stream at once rather than after the backlog has been written
+                    .takeUntilOther(subscriber.overflow.asMono());
+        });
+    }
+
+    /**
+     * Keeps idle connections from being closed by proxies, and finds the dead ones.
+     */
+    @Scheduled(fixedDelayString = "${flights.changes.heartbeat-interval:15000}")
+    public void heartbeat() {
+        ServerSentEvent<FlightDto> heartbeat = ServerSentEvent.<FlightDto>builder().comment("heartbeat").build();
+        synchronized (lock) {
+            subscribers.forEach(subscriber -> subscriber.send(heartbeat));
+        }
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("flights.changes.subscribers", this, FlightChangeFeed::getSubscriberCount)
+                .description("Clients connected to the flight change stream")
+                .register(registry);
+    }
+
+    private void replay(FluxSink<ServerSentEvent<FlightDto>> subscriber, long lastEventId) {
+        long oldest = Math.max(firstId, nextId - ring.length());
+        if (lastEventId < oldest - 1 || lastEventId >= nextId) {
+            // Carries the current position, so the reloaded client resumes from here
+            subscriber.next(ServerSentEvent.<FlightDto>builder()
+                    .id(Long.toString(nextId - 1))
+                    .event(RESET)
+                    .build());
+            return;
+        }
+        for (long id = lastEventId + 1; id < nextId; id++) {
+            subscriber.next(ring.get(slot(id)));
+        }
+    }
+
+    private int slot(long id) {
+        return (int) (id % ring.length());
+    }
+
+    private final class Subscriber {
+
+        // Replayed events are not counted, so a client catching up may briefly hold more
+        private final AtomicInteger pending = new AtomicInteger();
+        private final Sinks.Empty<Void> overflow = Sinks.empty();
+        private FluxSink<ServerSentEvent<FlightDto>> sink;
+
+        void send(ServerSentEvent<FlightDto> event) {
+            if (pending.incrementAndGet() > subscriberBuffer) {
+                overflow.tryEmitEmpty();
+            } else {
+                sink.next(event);
+            }
+        }
+    }
+}
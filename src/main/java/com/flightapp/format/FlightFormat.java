@@ -0,0 +1,78 @@
+package com.flightapp.format;
+
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Representations flight payloads are offered in, in order of preference when the client
+ * has none. JSON stays the default; the others carry the same fields in fewer bytes.
+ */
+public enum FlightFormat {
+
+    JSON(MediaType.APPLICATION_JSON, ""),
+    CBOR(MediaType.APPLICATION_CBOR, "-cbor"),
+    SMILE(new MediaType("application", "x-jackson-smile"), "-smile"),
+    PROTOBUF(new MediaType("application", "x-protobuf"), "-protobuf");
+
+    private static final Comparator<MediaType> PREFERENCE = Comparator
+            .comparingDouble(MediaType::getQualityValue).reversed()
+            .thenComparing(MediaType::isWildcardType)
+            .thenComparing(MediaType::isWildcardSubtype);
+
+    private final MediaType mediaType;
+    private final String tagSuffix;
+
+    FlightFormat(MediaType mediaType, String tagSuffix) {
+        this.mediaType = mediaType;
+        this.tagSuffix = tagSuffix;
+    }
+
+    public MediaType getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * Appended to a version to make the ETag of this representation.
+     */
+    public String getTagSuffix() {
+        return tagSuffix;
+    }
+
+    /**
+     * The format that best matches an Accept header: highest quality first, then concrete
+     * types before wildcards, then this enum's order. JSON when there is no header, null
+     * when no format is acceptable or the header cannot be parsed.
+     */
+    public static FlightFormat negotiate(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return JSON;
+        }
+        List<MediaType> accepted;
+        try {
+            accepted = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        accepted.sort(PREFERENCE);
+        for (MediaType type : accepted) {
+            if (type.getQualityValue() == 0) {
+                break;
+            }
+            for (FlightFormat format : values()) {
+                if (type.includes(format.mediaType) && !refused(accepted, format)) {
+                    return format;
+                }
+            }
+        }
+        return null;
+    }
+
+    // Named with q=0; wildcards with q=0 sort last and end the search instead
+    private static boolean refused(List<MediaType> accepted, FlightFormat format) {
+        return accepted.stream().anyMatch(type -> type.getQualityValue() == 0 && type.equalsTypeAndSubtype(format.mediaType));
+    }
+}
@@ -0,0 +1,272 @@
+package com.flightapp.format;
+
+import com.flightapp.dto.FlightBatchItemResult;
+import com.flightapp.dto.FlightBatchResponse;
+import com.flightapp.dto.FlightDeltaDto;
+import com.flightapp.dto.FlightDto;
+import com.flightapp.dto.FlightPageDto;
+import com.google.protobuf.CodedInputStream;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.WireFormat;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Encodes and decodes flight payloads in the protobuf wire format of
+ * {@code src/main/proto/flight.proto}, straight from and to the DTOs, so no classes are
+ * generated and nothing is copied through intermediate messages. Absent fields decode
+ * as null, unknown ones are skipped.
+ */
+public final class FlightProtobuf {
+
+    private static final int FLIGHT_ID = 1;
+    private static final int FLIGHT_CARRIER_CODE = 2;
+    private static final int FLIGHT_NUMBER = 3;
+    private static final int FLIGHT_DATE = 4;
+    private static final int FLIGHT_ORIGIN = 5;
+    private static final int FLIGHT_DESTINATION = 6;
+
+    private static final int LIST_FLIGHTS = 1;
+
+    private static final int PAGE_FLIGHTS = 1;
+    private static final int PAGE_NEXT = 2;
+
+    private static final int DELTA_VERSION = 1;
+    private static final int DELTA_NEXT = 2;
+    private static final int DELTA_RESYNC = 3;
+    private static final int DELTA_SAVED = 4;
+    private static final int DELTA_DELETED = 5;
+
+    private static final int BATCH_CREATED = 1;
+    private static final int BATCH_REJECTED = 2;
+    private static final int BATCH_RESULTS = 3;
+    private static final int ITEM_INDEX = 1;
+    private static final int ITEM_STATUS = 2;
+    private static final int ITEM_ID = 3;
+    private static final int ITEM_ERRORS = 4;
+    private static final int ENTRY_KEY = 1;
+    private static final int ENTRY_VALUE = 2;
+
+    // Tags are the field number and wire type; a field arriving with another wire type is skipped as unknown
+    private static final int VARINT = WireFormat.WIRETYPE_VARINT;
+    private static final int DELIMITED = WireFormat.WIRETYPE_LENGTH_DELIMITED;
+    private static final int TAG_FLIGHT_ID = FLIGHT_ID << 3 | VARINT;
+    private static final int TAG_FLIGHT_CARRIER_CODE = FLIGHT_CARRIER_CODE << 3 | DELIMITED;
+    private static final int TAG_FLIGHT_NUMBER = FLIGHT_NUMBER << 3 | DELIMITED;
+    private static final int TAG_FLIGHT_DATE = FLIGHT_DATE << 3 | VARINT;
+    private static final int TAG_FLIGHT_ORIGIN = FLIGHT_ORIGIN << 3 | DELIMITED;
+    private static final int TAG_FLIGHT_DESTINATION = FLIGHT_DESTINATION << 3 | DELIMITED;
+    private static final int TAG_LIST_FLIGHTS = LIST_FLIGHTS << 3 | DELIMITED;
+
+    private FlightProtobuf() {
+    }
+
+    /**
+     * Whether values of this class can be written; lists must hold {@link FlightDto}s.
+     */
+    public static boolean canWrite(Class<?> type) {
+        return FlightDto.class.isAssignableFrom(type)
+                || List.class.isAssignableFrom(type)
+                || FlightPageDto.class.isAssignableFrom(type)
+                || FlightDeltaDto.class.isAssignableFrom(type)
+                || FlightBatchResponse.class.isAssignableFrom(type);
+    }
+
+    /**
+     * Writes a flight as a Flight message, a list of flights as a FlightList, or a page,
+     * delta or batch response as its message.
+     */
+    @SuppressWarnings("unchecked")
+    public static void write(Object value, OutputStream outputStream) throws IOException {
+        CodedOutputStream out = CodedOutputStream.newInstance(outputStream);
+        if (value instanceof FlightDto flight) {
+            writeFlightFields(out, flight);
+        } else if (value instanceof List<?> flights) {
+            writeFlights(out, LIST_FLIGHTS, (List<FlightDto>) flights);
+        } else if (value instanceof FlightPageDto page) {
+            writeFlights(out, PAGE_FLIGHTS, page.getFlights());
+            writeString(out, PAGE_NEXT, page.getNext());
+        } else if (value instanceof FlightDeltaDto delta) {
+            writeDelta(out, delta);
+        } else if (value instanceof FlightBatchResponse batch) {
+            writeBatch(out, batch);
+        } else {
+            throw new IllegalArgumentException("No protobuf message for " + value.getClass().getName());
+        }
+        out.flush();
+    }
+
+    public static FlightDto readFlight(InputStream inputStream) throws IOException {
+        return readFlightFields(CodedInputStream.newInstance(inputStream));
+    }
+
+    public static List<FlightDto> readFlightList(InputStream inputStream) throws IOException {
+        CodedInputStream in = CodedInputStream.newInstance(inputStream);
+        List<FlightDto> flights = new ArrayList<>();
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            if (tag == TAG_LIST_FLIGHTS) {
+                int limit = in.pushLimit(in.readRawVarint32());
+                flights.add(readFlightFields(in));
+                in.popLimit(limit);
+            } else {
+                in.skipField(tag);
+            }
+        }
+        return flights;
+    }
+
+    private static FlightDto readFlightFields(CodedInputStream in) throws IOException {
+        FlightDto flight = new FlightDto();
+        int tag;
+        while ((tag = in.readTag()) != 0) {
+            switch (tag) {
+                case TAG_FLIGHT_ID -> flight.setId(in.readInt64());
+                case TAG_FLIGHT_CARRIER_CODE -> flight.setCarrierCode(in.readStringRequireUtf8());
+                case TAG_FLIGHT_NUMBER -> flight.setFlightNumber(in.readStringRequireUtf8());
+                case TAG_FLIGHT_DATE -> flight.setFlightDate(LocalDate.ofEpochDay(in.readInt32()));
+                case TAG_FLIGHT_ORIGIN -> flight.setOrigin(in.readStringRequireUtf8());
+                case TAG_FLIGHT_DESTINATION -> flight.setDestination(in.readStringRequireUtf8());
+                default -> in.skipField(tag);
+            }
+        }
+        return flight;
+    }
+
+    private static void writeFlights(CodedOutputStream out, int field, List<FlightDto> flights) throws IOException {
+        if (flights == null) {
+            return;
+        }
+        for (FlightDto flight : flights) {
+            out.writeTag(field, DELIMITED);
+            out.writeUInt32NoTag(flightSize(flight));
+            writeFlightFields(out, flight);
+        }
+    }
+
+    private static void writeFlightFields(CodedOutputStream out, FlightDto flight) throws IOException {
+        if (flight.getId() != null) {
+            out.writeInt64(FLIGHT_ID, flight.getId());
+        }
+        writeString(out, FLIGHT_CARRIER_CODE, flight.getCarrierCode());
+        writeString(out, FLIGHT_NUMBER, flight.getFlightNumber());
+        if (flight.getFlightDate() != null) {
+            out.writeInt32(FLIGHT_DATE, Math.toIntExact(flight.getFlightDate().toEpochDay()));
+        }
+        writeString(out, FLIGHT_ORIGIN, flight.getOrigin());
+        writeString(out, FLIGHT_DESTINATION, flight.getDestination());
+    }
+
+    private static int flightSize(FlightDto flight) {
+        int size = 0;
+        if (flight.getId() != null) {
+            size += CodedOutputStream.computeInt64Size(FLIGHT_ID, flight.getId());
+        }
+        size += stringSize(FLIGHT_CARRIER_CODE, flight.getCarrierCode());
+        size += stringSize(FLIGHT_NUMBER, flight.getFlightNumber());
+        if (flight.getFlightDate() != null) {
+            size += CodedOutputStream.computeInt32Size(FLIGHT_DATE, Math.toIntExact(flight.getFlightDate().toEpochDay()));
+        }
+        size += stringSize(FLIGHT_ORIGIN, flight.getOrigin());
+        size += stringSize(FLIGHT_DESTINATION, flight.getDestination());
+        return size;
+    }
+
+    private static void writeDelta(CodedOutputStream out, FlightDeltaDto delta) throws IOException {
+        if (delta.getVersion() != 0) {
+            out.writeInt64(DELTA_VERSION, delta.getVersion());
+        }
+        writeString(out, DELTA_NEXT, delta.getNext());
+        if (delta.isResync()) {
+            out.writeBool(DELTA_RESYNC, true);
+        }
+        writeFlights(out, DELTA_SAVED, delta.getSaved());
+        List<Long> deleted = delta.getDeleted();
+        if (deleted != null && !deleted.isEmpty()) {
+            // Repeated scalars are packed in proto3
+            int size = 0;
+            for (long id : deleted) {
+                size += CodedOutputStream.computeInt64SizeNoTag(id);
+            }
+            out.writeTag(DELTA_DELETED, DELIMITED);
+            out.writeUInt32NoTag(size);
+            for (long id : deleted) {
+                out.writeInt64NoTag(id);
+            }
+        }
+    }
+
+    private static void writeBatch(CodedOutputStream out, FlightBatchResponse batch) throws IOException {
+        if (batch.getCreated() != 0) {
+            out.writeInt32(BATCH_CREATED, batch.getCreated());
+        }
+        if (batch.getRejected() != 0) {
+            out.writeInt32(BATCH_REJECTED, batch.getRejected());
+        }
+        if (batch.getResults() == null) {
+            return;
+        }
+        for (FlightBatchItemResult item : batch.getResults()) {
+            out.writeTag(BATCH_RESULTS, DELIMITED);
+            out.writeUInt32NoTag(itemSize(item));
+            if (item.getIndex() != 0) {
+                out.writeInt32(ITEM_INDEX, item.getIndex());
+            }
+            if (item.getStatus() != null && item.getStatus().ordinal() != 0) {
+                out.writeEnum(ITEM_STATUS, item.getStatus().ordinal());
+            }
+            if (item.getId() != null) {
+                out.writeInt64(ITEM_ID, item.getId());
+            }
+            if (item.getErrors() != null) {
+                for (Map.Entry<String, String> error : item.getErrors().entrySet()) {
+                    out.writeTag(ITEM_ERRORS, DELIMITED);
+                    out.writeUInt32NoTag(entrySize(error));
+                    writeString(out, ENTRY_KEY, error.getKey());
+                    writeString(out, ENTRY_VALUE, error.getValue());
+                }
+            }
+        }
+    }
+
+    private static int itemSize(FlightBatchItemResult item) {
+        int size = 0;
+        if (item.getIndex() != 0) {
+            size += CodedOutputStream.computeInt32Size(ITEM_INDEX, item.getIndex());
+        }
+        if (item.getStatus() != null && item.getStatus().ordinal() != 0) {
+            size += CodedOutputStream.computeEnumSize(ITEM_STATUS, item.getStatus().ordinal());
+        }
+        if (item.getId() != null) {
+            size += CodedOutputStream.computeInt64Size(ITEM_ID, item.getId());
+        }
+        if (item.getErrors() != null) {
+            for (Map.Entry<String, String> error : item.getErrors().entrySet()) {
+                int entrySize = entrySize(error);
+                size += CodedOutputStream.computeTagSize(ITEM_ERRORS)
+                        + CodedOutputStream.computeUInt32SizeNoTag(entrySize) + entrySize;
+            }
+        }
+        return size;
+    }
+
+    private static int entrySize(Map.Entry<String, String> entry) {
+        return stringSize(ENTRY_KEY, entry.getKey()) + stringSize(ENTRY_VALUE, entry.getValue());
+    }
+
+    private static void writeString(CodedOutputStream out, int field, String value) throws IOException {
+        if (value != null) {
+            out.writeString(field, value);
+        }
+    }
+
+    private static int stringSize(int field, String value) {
+        return value != null ? CodedOutputStream.computeStringSize(field, value) : 0;
+    }
+}
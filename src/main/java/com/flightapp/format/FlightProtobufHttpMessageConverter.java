@@ -0,0 +1,81 @@
+package com.flightapp.format;
+
+import com.flightapp.dto.FlightDto;
+import com.flightapp.timing.RequestTiming;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractGenericHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.List;
+
+/**
+ * Reads and writes {@code application/x-protobuf} flight payloads with {@link FlightProtobuf}:
+ * a flight or a list of flights in request bodies, and flights, lists, pages, deltas and
+ * batch results in responses. Other types are left to the JSON, CBOR and Smile converters.
+ */
+public class FlightProtobufHttpMessageConverter extends AbstractGenericHttpMessageConverter<Object> {
+
+    public FlightProtobufHttpMessageConverter() {
+        super(FlightFormat.PROTOBUF.getMediaType());
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return FlightProtobuf.canWrite(clazz);
+    }
+
+    @Override
+    public boolean canRead(Type type, Class<?> contextClass, MediaType mediaType) {
+        return (isFlight(type) || isFlightList(type)) && canRead(mediaType);
+    }
+
+    @Override
+    public boolean canWrite(Type type, Class<?> clazz, MediaType mediaType) {
+        // A list is only written when its element type is known to be FlightDto
+        boolean supported = List.class.isAssignableFrom(clazz)
+                ? type != null && isFlightList(type)
+                : supports(clazz);
+        return supported && canWrite(mediaType);
+    }
+
+    @Override
+    public Object read(Type type, Class<?> contextClass, HttpInputMessage inputMessage) throws IOException {
+        try {
+            return isFlightList(type)
+                    ? FlightProtobuf.readFlightList(inputMessage.getBody())
+                    : FlightProtobuf.readFlight(inputMessage.getBody());
+        } catch (IOException | RuntimeException e) {
+            throw new HttpMessageNotReadableException("Invalid protobuf flight payload: " + e.getMessage(), e, inputMessage);
+        }
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) throws IOException {
+        return read(clazz, null, inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object value, Type type, HttpOutputMessage outputMessage) throws IOException {
+        long started = RequestTiming.start();
+        try {
+            FlightProtobuf.write(value, outputMessage.getBody());
+        } finally {
+            RequestTiming.stop(RequestTiming.Phase.SERIALIZE, started);
+        }
+    }
+
+    private static boolean isFlight(Type type) {
+        return type == FlightDto.class;
+    }
+
+    private static boolean isFlightList(Type type) {
+        ResolvableType resolved = ResolvableType.forType(type);
+        Class<?> element = resolved.asCollection().resolveGeneric(0);
+        return List.class.isAssignableFrom(resolved.toClass()) && element != null && FlightDto.class.isAssignableFrom(element);
+    }
+}
@@ -0,0 +1,44 @@
+package com.flightapp.format;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Serializes response bodies to bytes in any {@link FlightFormat}, with the same mappers
+ * the message converters use, so cached bytes match what the converters would write.
+ */
+@Component
+public class FlightSerializer {
+
+    private final Map<FlightFormat, ObjectWriter> writers = new EnumMap<>(FlightFormat.class);
+
+    public FlightSerializer(ObjectMapper objectMapper,
+                            MappingJackson2CborHttpMessageConverter cborConverter,
+                            MappingJackson2SmileHttpMessageConverter smileConverter) {
+        writers.put(FlightFormat.JSON, objectMapper.writer());
+        writers.put(FlightFormat.CBOR, cborConverter.getObjectMapper().writer());
+        writers.put(FlightFormat.SMILE, smileConverter.getObjectMapper().writer());
+    }
+
+    public byte[] serialize(Object value, FlightFormat format) {
+        try {
+            if (format == FlightFormat.PROTOBUF) {
+                ByteArrayOutputStream buffer = new ByteArrayOutputStream(256);
+                FlightProtobuf.write(value, buffer);
+                return buffer.toByteArray();
+            }
+            return writers.get(format).writeValueAsBytes(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -1,15 +1,28 @@
 package com.flightapp.model;
 
+import com.flightapp.config.HibernateCacheConfig;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Pattern;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.time.LocalDate;
 
 @Entity
-@Table(name = "FLIGHTS")
+@Table(name = "FLIGHTS", indexes = {
+        @Index(name = "IDX_FLIGHTS_DATE_ID", columnList = "FLIGHT_DATE, ID"),
+        @Index(name = "IDX_FLIGHTS_ROUTE_DATE", columnList = "ORIGIN, DESTINATION, FLIGHT_DATE, ID"),
+        @Index(name = "IDX_FLIGHTS_ORIGIN_DATE", columnList = "ORIGIN, FLIGHT_DATE, ID"),
+        @Index(name = "IDX_FLIGHTS_DEST_DATE", columnList = "DESTINATION, FLIGHT_DATE, ID"),
+        @Index(name = "IDX_FLIGHTS_CARRIER_DATE", columnList = "CARRIER_CODE, FLIGHT_DATE, ID"),
+        @Index(name = "IDX_FLIGHTS_CHANGE_VERSION", columnList = "CHANGE_VERSION, ID")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = HibernateCacheConfig.FLIGHTS_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -17,7 +30,7 @@ public class Flight {
 
     @Id
     @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "flight_seq")
-    @SequenceGenerator(name = "flight_seq", sequenceName = "FLIGHT_SEQ", allocationSize = 1)
+    @SequenceGenerator(name = "flight_seq", sequenceName = "FLIGHT_SEQ", allocationSize = 50)
     private Long id;
 
     @Column(nullable = false, length = 2)
@@ -38,4 +51,21 @@ public class Flight {
     @Column(nullable = false, length = 3)
     @Pattern(regexp = "^[A-Z]{3}$", message = "Destination must be a valid 3-character IATA airport code")
     private String destination;
+
+    /**
+     * Change counter value of the transaction that last wrote this flight. Rows that
+     * predate the counter carry {@link FlightChangeCounter#INITIAL_VERSION}.
+     */
+    @Column(nullable = false)
+    @ColumnDefault("1")
+    private long changeVersion = FlightChangeCounter.INITIAL_VERSION;
+
+    public Flight(Long id, String carrierCode, String flightNumber, LocalDate flightDate, String origin, String destination) {
+        this.id = id;
+        this.carrierCode = carrierCode;
+        this.flightNumber = flightNumber;
+        this.flightDate = flightDate;
+        this.origin = origin;
+        this.destination = destination;
+    }
 }
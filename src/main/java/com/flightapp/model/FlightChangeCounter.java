@@ -0,0 +1,39 @@
+package com.flightapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single-row table counting writes to FLIGHTS. Each writing transaction takes the next
+ * value in a short transaction of its own, alongside a {@link FlightChangeReservation},
+ * and stamps its rows with it; the row lock is released before the write itself runs.
+ */
+@Entity
+@Table(name = "FLIGHT_CHANGE_COUNTER")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightChangeCounter {
+
+    public static final long ID = 1;
+
+    // Version of flights written before the counter existed
+    public static final long INITIAL_VERSION = 1;
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private long changeVersion;
+
+    /**
+     * Highest version whose tombstones have been purged; clients that synced before it must start over.
+     */
+    @Column(nullable = false)
+    private long purgedVersion;
+}
@@ -0,0 +1,31 @@
+package com.flightapp.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A change version handed out to a write that has not committed yet. Inserted and
+ * committed when the version is taken; the writing transaction deletes it, so it
+ * disappears exactly when the write becomes visible (or is removed after a rollback).
+ * Readers of changes stop below the oldest one.
+ */
+@Entity
+@Table(name = "FLIGHT_CHANGE_RESERVATIONS")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightChangeReservation {
+
+    @Id
+    private Long changeVersion;
+
+    @Column(nullable = false)
+    private LocalDateTime reservedAt;
+}
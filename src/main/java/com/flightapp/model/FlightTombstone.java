@@ -0,0 +1,31 @@
+package com.flightapp.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * Left behind by a deleted flight so delta sync can tell clients to drop it.
+ * Keyed by the flight ID, which the sequence never hands out again.
+ */
+@Entity
+@Table(name = "FLIGHT_TOMBSTONES", indexes = {
+        @Index(name = "IDX_TOMBSTONES_CHANGE_VERSION", columnList = "CHANGE_VERSION, ID")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlightTombstone {
+
+    @Id
+    private Long id;
+
+    @Column(nullable = false)
+    private long changeVersion;
+
+    @Column(nullable = false)
+    private LocalDateTime deletedAt;
+}
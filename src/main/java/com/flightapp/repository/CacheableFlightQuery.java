@@ -0,0 +1,26 @@
+package com.flightapp.repository;
+
+import com.flightapp.config.HibernateCacheConfig;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Puts a flight finder's results in the flight query cache region. Only takes effect when
+ * cache.hibernate.enabled is set; any write to FLIGHTS invalidates the region.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.FLIGHT_QUERIES_REGION)
+})
+public @interface CacheableFlightQuery {
+}
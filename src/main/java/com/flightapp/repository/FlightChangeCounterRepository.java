@@ -0,0 +1,41 @@
+package com.flightapp.repository;
+
+import com.flightapp.model.FlightChangeCounter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+@Repository
+public interface FlightChangeCounterRepository extends JpaRepository<FlightChangeCounter, Long> {
+
+    // SELECT ... FOR UPDATE: taken only by the short transactions that hand out versions or raise the purged version
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM FlightChangeCounter c WHERE c.id = :id")
+    Optional<FlightChangeCounter> findForUpdate(@Param("id") Long id);
+
+    // Scalar reads, so each call sees the latest commit rather than the persistence context's copy.
+    // One statement reads the counter and the open reservations, so both come from the same snapshot.
+    @Query("SELECT c.changeVersion AS handedOut, " +
+            "(SELECT MIN(r.changeVersion) FROM FlightChangeReservation r WHERE r.reservedAt >= :openSince) AS oldestOpen " +
+            "FROM FlightChangeCounter c WHERE c.id = :id")
+    Optional<ChangeVersions> findChangeVersions(@Param("id") Long id, @Param("openSince") LocalDateTime openSince);
+
+    @Query("SELECT c.purgedVersion FROM FlightChangeCounter c WHERE c.id = :id")
+    Optional<Long> findPurgedVersion(@Param("id") Long id);
+
+    interface ChangeVersions {
+
+        long getHandedOut();
+
+        /**
+         * Oldest version still reserved by an uncommitted write, or null if there is none.
+         */
+        Long getOldestOpen();
+    }
+}
@@ -0,0 +1,23 @@
+package com.flightapp.repository;
+
+import com.flightapp.model.FlightChangeReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface FlightChangeReservationRepository extends JpaRepository<FlightChangeReservation, Long> {
+
+    // A bulk delete, so it runs at once and does not depend on the entity being in the persistence context
+    @Modifying
+    @Query("DELETE FROM FlightChangeReservation r WHERE r.changeVersion = :changeVersion")
+    int deleteByChangeVersion(@Param("changeVersion") long changeVersion);
+
+    @Modifying
+    @Query("DELETE FROM FlightChangeReservation r WHERE r.reservedAt < :before")
+    int deleteReservedBefore(@Param("before") LocalDateTime before);
+}
@@ -1,15 +1,104 @@
 package com.flightapp.repository;
 
+import com.flightapp.dto.FlightDto;
 import com.flightapp.model.Flight;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface FlightRepository extends JpaRepository<Flight, Long> {
+public interface FlightRepository extends JpaRepository<Flight, Long>, FlightRepositoryCustom {
+
+    @CacheableFlightQuery
     List<Flight> findByFlightDate(LocalDate flightDate);
+
+    @CacheableFlightQuery
     List<Flight> findByOriginAndDestination(String origin, String destination);
+
+    @CacheableFlightQuery
     List<Flight> findByCarrierCode(String carrierCode);
-}
\ No newline at end of file
+
+    // Keyset pagination: each page seeks past the last key of the previous one, so no OFFSET and no COUNT(*)
+    @CacheableFlightQuery
+    List<Flight> findAllByOrderByIdAsc(Limit limit);
+
+    @CacheableFlightQuery
+    List<Flight> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+    @CacheableFlightQuery
+    List<Flight> findAllByOrderByFlightDateAscIdAsc(Limit limit);
+
+    @CacheableFlightQuery
+    @Query("SELECT f FROM Flight f " +
+            "WHERE f.flightDate >= :flightDate AND (f.flightDate > :flightDate OR f.id > :id) " +
+            "ORDER BY f.flightDate ASC, f.id ASC")
+    List<Flight> findAfterFlightDateAndId(@Param("flightDate") LocalDate flightDate,
+                                          @Param("id") Long id,
+                                          Limit limit);
+
+    // Cursor over the whole table for exports; must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT f FROM Flight f ORDER BY f.id ASC")
+    Stream<Flight> streamAllByOrderByIdAsc();
+
+    // Feeds the negative-lookup filter; must be consumed inside a transaction and closed
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "5000"))
+    @Query("SELECT f.id FROM Flight f")
+    Stream<Long> streamAllIds();
+
+    @Query("SELECT MAX(f.id) FROM Flight f")
+    Long findMaxId();
+
+    // ETag revalidation: the version alone, without loading the flight
+    @Query("SELECT f.changeVersion FROM Flight f WHERE f.id = :id")
+    Optional<Long> findChangeVersionById(@Param("id") Long id);
+
+    // Delta sync: seeks IDX_FLIGHTS_CHANGE_VERSION past the last (version, ID) returned, so the cost follows the page
+    @Query("SELECT f FROM Flight f " +
+            "WHERE f.changeVersion >= :changeVersion AND (f.changeVersion > :changeVersion OR f.id > :id) " +
+            "AND f.changeVersion <= :upTo " +
+            "ORDER BY f.changeVersion ASC, f.id ASC")
+    List<Flight> findChangedAfter(@Param("changeVersion") long changeVersion,
+                                  @Param("id") long id,
+                                  @Param("upTo") long upTo,
+                                  Limit limit);
+
+    // Bulk deletion reads each chunk as DTOs, not entities, then removes it with one set-based DELETE.
+    // Oracle caps IN lists at 1000 entries, so callers pass at most that many IDs.
+    // SELECT ... FOR UPDATE: a concurrent delete of the same rows waits, then finds them gone
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT new com.flightapp.dto.FlightDto(f.id, f.carrierCode, f.flightNumber, f.flightDate, f.origin, f.destination) " +
+            "FROM Flight f WHERE f.id IN :ids")
+    List<FlightDto> findDtosByIdIn(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.flightapp.dto.FlightDto(f.id, f.carrierCode, f.flightNumber, f.flightDate, f.origin, f.destination) " +
+            "FROM Flight f WHERE f.flightDate >= :dateFrom AND f.flightDate <= :dateTo ORDER BY f.flightDate ASC, f.id ASC")
+    List<FlightDto> findDtosByFlightDateBetween(@Param("dateFrom") LocalDate dateFrom,
+                                                @Param("dateTo") LocalDate dateTo,
+                                                Limit limit);
+
+    @Query("SELECT new com.flightapp.dto.FlightDto(f.id, f.carrierCode, f.flightNumber, f.flightDate, f.origin, f.destination) " +
+            "FROM Flight f WHERE f.flightDate < :before ORDER BY f.flightDate ASC, f.id ASC")
+    List<FlightDto> findDtosByFlightDateBefore(@Param("before") LocalDate before, Limit limit);
+
+    @Modifying
+    @Query("DELETE FROM Flight f WHERE f.id IN :ids")
+    int deleteAllByIdIn(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,16 @@
+package com.flightapp.repository;
+
+import com.flightapp.dto.FlightSearchCriteria;
+import com.flightapp.model.Flight;
+import com.flightapp.util.FlightCursor;
+
+import java.util.List;
+
+public interface FlightRepositoryCustom {
+
+    /**
+     * Flights matching every non-null criterion, ordered by flight date then ID and
+     * starting after the given cursor (null for the first page).
+     */
+    List<Flight> search(FlightSearchCriteria criteria, FlightCursor after, int limit);
+}
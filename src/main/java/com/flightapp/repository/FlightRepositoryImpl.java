@@ -0,0 +1,83 @@
+package com.flightapp.repository;
+
+import com.flightapp.config.HibernateCacheConfig;
+import com.flightapp.dto.FlightSearchCriteria;
+import com.flightapp.model.Flight;
+import com.flightapp.util.FlightCursor;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.TypedQuery;
+import org.hibernate.jpa.HibernateHints;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Builds the search query in a fixed shape that matches the composite indexes on FLIGHTS:
+ * equality predicates in index column order (route, then carrier), then the date range,
+ * then the keyset seek, always ordered by (FLIGHT_DATE, ID). The index can then satisfy
+ * the ORDER BY and stop after one page. Each combination of filters also yields a single
+ * stable statement text, so the database reuses its plan instead of hard parsing.
+ * <p>
+ * Origin, destination, route, carrier and date-only searches each have an index whose
+ * leading columns are exactly their equality filters. When the carrier is combined with an
+ * origin or destination, the origin or destination index is used and the carrier is checked
+ * row by row: the page still comes back in index order without a sort, but more rows may be
+ * read to fill it.
+ */
+public class FlightRepositoryImpl implements FlightRepositoryCustom {
+
+    private final EntityManager entityManager;
+
+    public FlightRepositoryImpl(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    public List<Flight> search(FlightSearchCriteria criteria, FlightCursor after, int limit) {
+        List<String> predicates = new ArrayList<>();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+
+        // IDX_FLIGHTS_ROUTE_DATE (ORIGIN, DESTINATION, FLIGHT_DATE, ID),
+        // IDX_FLIGHTS_ORIGIN_DATE (ORIGIN, FLIGHT_DATE, ID) or IDX_FLIGHTS_DEST_DATE (DESTINATION, FLIGHT_DATE, ID)
+        addEquals(predicates, parameters, "origin", criteria.getOrigin());
+        addEquals(predicates, parameters, "destination", criteria.getDestination());
+        // IDX_FLIGHTS_CARRIER_DATE (CARRIER_CODE, FLIGHT_DATE, ID)
+        addEquals(predicates, parameters, "carrierCode", criteria.getCarrierCode());
+
+        if (criteria.getDateFrom() != null) {
+            predicates.add("f.flightDate >= :dateFrom");
+            parameters.put("dateFrom", criteria.getDateFrom());
+        }
+        if (criteria.getDateTo() != null) {
+            predicates.add("f.flightDate <= :dateTo");
+            parameters.put("dateTo", criteria.getDateTo());
+        }
+        if (after != null) {
+            predicates.add("f.flightDate >= :afterDate AND (f.flightDate > :afterDate OR f.id > :afterId)");
+            parameters.put("afterDate", after.getFlightDate());
+            parameters.put("afterId", after.getId());
+        }
+
+        StringBuilder jpql = new StringBuilder("SELECT f FROM Flight f");
+        if (!predicates.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", predicates));
+        }
+        jpql.append(" ORDER BY f.flightDate ASC, f.id ASC");
+
+        TypedQuery<Flight> query = entityManager.createQuery(jpql.toString(), Flight.class);
+        parameters.forEach(query::setParameter);
+        query.setHint(HibernateHints.HINT_CACHEABLE, true);
+        query.setHint(HibernateHints.HINT_CACHE_REGION, HibernateCacheConfig.FLIGHT_QUERIES_REGION);
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    private static void addEquals(List<String> predicates, Map<String, Object> parameters,
+                                  String attribute, String value) {
+        if (value != null) {
+            predicates.add("f." + attribute + " = :" + attribute);
+            parameters.put(attribute, value);
+        }
+    }
+}
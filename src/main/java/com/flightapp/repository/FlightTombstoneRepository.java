@@ -0,0 +1,42 @@
+package com.flightapp.repository;
+
+import com.flightapp.model.FlightTombstone;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface FlightTombstoneRepository extends JpaRepository<FlightTombstone, Long> {
+
+    // One INSERT ... SELECT per delete chunk; run before the flights themselves are deleted
+    @Modifying
+    @Query("INSERT INTO FlightTombstone (id, changeVersion, deletedAt) " +
+            "SELECT f.id, :changeVersion, :deletedAt FROM Flight f WHERE f.id IN :ids")
+    int insertForFlights(@Param("ids") Collection<Long> ids,
+                         @Param("changeVersion") long changeVersion,
+                         @Param("deletedAt") LocalDateTime deletedAt);
+
+    // Seeks IDX_TOMBSTONES_CHANGE_VERSION, so the cost follows the number of deletions returned
+    @Query("SELECT t FROM FlightTombstone t " +
+            "WHERE t.changeVersion >= :changeVersion AND (t.changeVersion > :changeVersion OR t.id > :id) " +
+            "AND t.changeVersion <= :upTo " +
+            "ORDER BY t.changeVersion ASC, t.id ASC")
+    List<FlightTombstone> findChangedAfter(@Param("changeVersion") long changeVersion,
+                                           @Param("id") long id,
+                                           @Param("upTo") long upTo,
+                                           Limit limit);
+
+    @Query("SELECT MAX(t.changeVersion) FROM FlightTombstone t WHERE t.deletedAt < :before")
+    Long findMaxChangeVersionDeletedBefore(@Param("before") LocalDateTime before);
+
+    @Modifying
+    @Query("DELETE FROM FlightTombstone t WHERE t.changeVersion <= :changeVersion")
+    int deleteUpToChangeVersion(@Param("changeVersion") long changeVersion);
+}
@@ -0,0 +1,82 @@
+package com.flightapp.repository;
+
+import com.flightapp.config.R2dbcConfig;
+import com.flightapp.model.Flight;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Non-blocking reads of FLIGHTS over R2DBC. Rows are emitted as the subscriber requests
+ * them, so a slow client slows the fetch down instead of buffering the table in memory.
+ * Connections are opened lazily; nothing touches the database until the first query.
+ */
+@Repository
+public class ReactiveFlightRepository implements DisposableBean {
+
+    private static final String SELECT_FLIGHTS =
+            "SELECT ID, CARRIER_CODE, FLIGHT_NUMBER, FLIGHT_DATE, ORIGIN, DESTINATION FROM FLIGHTS";
+
+    private final ConnectionPool connectionPool;
+    private final DatabaseClient databaseClient;
+
+    public ReactiveFlightRepository(R2dbcConfig r2dbcConfig) {
+        ConnectionFactoryOptions.Builder options = ConnectionFactoryOptions.parse(r2dbcConfig.getUrl()).mutate();
+        if (!r2dbcConfig.getUsername().isEmpty()) {
+            options.option(ConnectionFactoryOptions.USER, r2dbcConfig.getUsername());
+        }
+        if (!r2dbcConfig.getPassword().isEmpty()) {
+            options.option(ConnectionFactoryOptions.PASSWORD, r2dbcConfig.getPassword());
+        }
+        this.connectionPool = new ConnectionPool(ConnectionPoolConfiguration
+                .builder(ConnectionFactories.get(options.build()))
+                .name("flights-r2dbc")
+                .initialSize(0)
+                .maxSize(r2dbcConfig.getPoolMaxSize())
+                .maxAcquireTime(Duration.ofMillis(r2dbcConfig.getPoolMaxAcquireTime()))
+                .build());
+        this.databaseClient = DatabaseClient.create(connectionPool);
+    }
+
+    public Flux<Flight> findAllByOrderByIdAsc() {
+        return databaseClient.sql(SELECT_FLIGHTS + " ORDER BY ID")
+                .map(ReactiveFlightRepository::toFlight)
+                .all();
+    }
+
+    public Mono<Flight> findById(long id) {
+        return databaseClient.sql(SELECT_FLIGHTS + " WHERE ID = :id")
+                .bind("id", id)
+                .map(ReactiveFlightRepository::toFlight)
+                .one();
+    }
+
+    @Override
+    public void destroy() {
+        connectionPool.dispose();
+    }
+
+    private static Flight toFlight(Readable row) {
+        // Oracle NUMBER and DATE arrive as BigDecimal and LocalDateTime, so convert from the native types
+        Number id = (Number) row.get("ID");
+        Object flightDate = row.get("FLIGHT_DATE");
+        return new Flight(
+                id == null ? null : id.longValue(),
+                row.get("CARRIER_CODE", String.class),
+                row.get("FLIGHT_NUMBER", String.class),
+                flightDate instanceof LocalDateTime dateTime ? dateTime.toLocalDate() : (LocalDate) flightDate,
+                row.get("ORIGIN", String.class),
+                row.get("DESTINATION", String.class));
+    }
+}
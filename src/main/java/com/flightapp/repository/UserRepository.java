@@ -1,13 +1,21 @@
 package com.flightapp.repository;
 
+import com.flightapp.config.HibernateCacheConfig;
 import com.flightapp.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = HibernateCacheConfig.USER_QUERIES_REGION)
+    })
     Optional<User> findByUsername(String username);
     Boolean existsByUsername(String username);
 }
\ No newline at end of file
@@ -0,0 +1,120 @@
+package com.flightapp.security;
+
+import com.flightapp.cache.MonitoredCache;
+import com.flightapp.config.JwtConfig;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import lombok.Value;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Remembers tokens that have already been verified so repeat requests with the same
+ * bearer token skip signature verification and claims parsing. Entries are keyed by a
+ * SHA-256 digest of the token, so raw tokens are never held in memory.
+ */
+@Component
+public class JwtAuthenticationCache implements MonitoredCache {
+
+    private final JwtConfig jwtConfig;
+    private final Cache<String, CachedAuthentication> cache;
+
+    public JwtAuthenticationCache(JwtConfig jwtConfig) {
+        this.jwtConfig = jwtConfig;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(jwtConfig.getCacheMaxSize())
+                .expireAfter(new TokenExpiry())
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns a fresh authentication for a previously verified token, or null on a miss.
+     */
+    public UsernamePasswordAuthenticationToken get(String token) {
+        if (!jwtConfig.isCacheEnabled()) {
+            return null;
+        }
+        CachedAuthentication cached = cache.getIfPresent(digest(token));
+        if (cached == null) {
+            return null;
+        }
+        return new UsernamePasswordAuthenticationToken(cached.getPrincipal(), null, cached.getAuthorities());
+    }
+
+    public void put(String token, UsernamePasswordAuthenticationToken authentication, Date tokenExpiration) {
+        if (!jwtConfig.isCacheEnabled() || tokenExpiration == null) {
+            return;
+        }
+        long expiresAt = Math.min(tokenExpiration.getTime(), System.currentTimeMillis() + jwtConfig.getCacheMaxAge());
+        cache.put(digest(token), new CachedAuthentication(authentication.getName(),
+                authentication.getPrincipal(), authentication.getAuthorities(), expiresAt));
+    }
+
+    /**
+     * Forgets every cached token issued to the user, so the next request is verified from scratch.
+     */
+    public void evictUser(String username) {
+        cache.asMap().values().removeIf(cached -> cached.getUsername().equals(username));
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+
+    @Override
+    public String getName() {
+        return "jwt-authentications";
+    }
+
+    @Override
+    public Cache<?, ?> getNativeCache() {
+        return cache;
+    }
+
+    private static String digest(String token) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getEncoder().encodeToString(hash);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    @Value
+    private static class CachedAuthentication {
+        String username;
+        Object principal;
+        Collection<? extends GrantedAuthority> authorities;
+        long expiresAtMillis;
+    }
+
+    private static final class TokenExpiry implements Expiry<String, CachedAuthentication> {
+
+        @Override
+        public long expireAfterCreate(String key, CachedAuthentication value, long currentTime) {
+            long remaining = value.getExpiresAtMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remaining));
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, CachedAuthentication value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
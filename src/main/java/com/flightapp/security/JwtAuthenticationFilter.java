@@ -1,6 +1,10 @@
 package com.flightapp.security;
 
 import com.flightapp.config.JwtConfig;
+import com.flightapp.timing.RequestTiming;
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -21,28 +25,41 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
     private final JwtTokenProvider tokenProvider;
     private final UserDetailsServiceImpl userDetailsService;
     private final JwtConfig jwtConfig;
+    private final JwtAuthenticationCache authenticationCache;
+    private final Timer validTokenTimer;
+    private final Timer invalidTokenTimer;
 
     public JwtAuthenticationFilter(JwtTokenProvider tokenProvider,
                                    UserDetailsServiceImpl userDetailsService,
-                                   JwtConfig jwtConfig) {
+                                   JwtConfig jwtConfig,
+                                   JwtAuthenticationCache authenticationCache,
+                                   MeterRegistry meterRegistry) {
         this.tokenProvider = tokenProvider;
         this.userDetailsService = userDetailsService;
         this.jwtConfig = jwtConfig;
+        this.authenticationCache = authenticationCache;
+        this.validTokenTimer = verificationTimer(meterRegistry, "valid");
+        this.invalidTokenTimer = verificationTimer(meterRegistry, "invalid");
+    }
+
+    private static Timer verificationTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("jwt.verification")
+                .description("Signature and claims verification of bearer tokens missing from the authentication cache")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request,
                                     HttpServletResponse response,
                                     FilterChain filterChain) throws ServletException, IOException {
+        long started = RequestTiming.start();
         try {
             String jwt = getJwtFromRequest(request);
+            UsernamePasswordAuthenticationToken authentication =
+                    StringUtils.hasText(jwt) ? resolveAuthentication(jwt) : null;
 
-            if (StringUtils.hasText(jwt) && tokenProvider.validateToken(jwt)) {
-                String username = tokenProvider.getUsernameFromToken(jwt);
-
-                UserDetails userDetails = userDetailsService.loadUserByUsername(username);
-                UsernamePasswordAuthenticationToken authentication =
-                        new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+            if (authentication != null) {
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
 
                 SecurityContextHolder.getContext().setAuthentication(authentication);
@@ -50,10 +67,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         } catch (Exception ex) {
             logger.error("Could not set user authentication in security context", ex);
         }
+        RequestTiming.stop(RequestTiming.Phase.JWT, started);
 
         filterChain.doFilter(request, response);
     }
 
+    private UsernamePasswordAuthenticationToken resolveAuthentication(String jwt) {
+        UsernamePasswordAuthenticationToken cached = authenticationCache.get(jwt);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Parsed and verified once; the claims carry everything needed below
+        Timer.Sample verification = Timer.start();
+        Claims claims = tokenProvider.parseClaims(jwt);
+        verification.stop(claims != null ? validTokenTimer : invalidTokenTimer);
+        if (claims == null) {
+            return null;
+        }
+        UsernamePasswordAuthenticationToken authentication = jwtConfig.isClaimsAuthentication()
+                ? tokenProvider.getAuthentication(claims)
+                : loadAuthentication(claims.getSubject());
+        authenticationCache.put(jwt, authentication, claims.getExpiration());
+        return authentication;
+    }
+
+    private UsernamePasswordAuthenticationToken loadAuthentication(String username) {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+        return new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities());
+    }
+
     private String getJwtFromRequest(HttpServletRequest request) {
         String bearerToken = request.getHeader(jwtConfig.getHeader());
 
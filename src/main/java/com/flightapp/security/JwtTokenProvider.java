@@ -2,25 +2,37 @@ package com.flightapp.security;
 
 import com.flightapp.config.JwtConfig;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import jakarta.annotation.PostConstruct;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
 
 import java.security.Key;
+import java.util.Arrays;
 import java.util.Base64;
+import java.util.Collections;
 import java.util.Date;
+import java.util.List;
 import java.util.stream.Collectors;
 
 @Component
 public class JwtTokenProvider {
 
+    private static final String AUTHORITIES_CLAIM = "auth";
+
     private final JwtConfig jwtConfig;
     private Key key;
+    private JwtParser parser;
 
     public JwtTokenProvider(JwtConfig jwtConfig) {
         this.jwtConfig = jwtConfig;
@@ -30,6 +42,8 @@ public class JwtTokenProvider {
     protected void init() {
         byte[] keyBytes = Base64.getDecoder().decode(jwtConfig.getSecret());
         this.key = Keys.hmacShaKeyFor(keyBytes);
+        // The parser is immutable and thread-safe, so one instance serves every request
+        this.parser = Jwts.parserBuilder().setSigningKey(key).build();
     }
 
     public String createToken(Authentication authentication) {
@@ -43,7 +57,7 @@ public class JwtTokenProvider {
 
         return Jwts.builder()
                 .setSubject(userDetails.getUsername())
-                .claim("auth", authorities)
+                .claim(AUTHORITIES_CLAIM, authorities)
                 .setIssuedAt(now)
                 .setExpiration(validity)
                 .signWith(key, SignatureAlgorithm.HS256)
@@ -51,21 +65,38 @@ public class JwtTokenProvider {
     }
 
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        return claims.getSubject();
+        return parser.parseClaimsJws(token).getBody().getSubject();
     }
 
     public boolean validateToken(String token) {
+        return parseClaims(token) != null;
+    }
+
+    /**
+     * Verifies the signature and expiry once and returns the claims, or null when the
+     * token is malformed, tampered with or expired.
+     */
+    public Claims parseClaims(String token) {
         try {
-            Jwts.parserBuilder().setSigningKey(key).build().parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            return parser.parseClaimsJws(token).getBody();
+        } catch (JwtException | IllegalArgumentException e) {
+            return null;
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Builds the authentication from already verified claims: the subject becomes the
+     * principal and the signed {@code auth} claim supplies the authorities.
+     */
+    public UsernamePasswordAuthenticationToken getAuthentication(Claims claims) {
+        String authorities = claims.get(AUTHORITIES_CLAIM, String.class);
+        List<GrantedAuthority> grantedAuthorities = StringUtils.hasText(authorities)
+                ? Arrays.stream(authorities.split(","))
+                        .map(SimpleGrantedAuthority::new)
+                        .collect(Collectors.toList())
+                : Collections.emptyList();
+
+        UserDetails principal = new User(claims.getSubject(), "", grantedAuthorities);
+        return new UsernamePasswordAuthenticationToken(principal, null, grantedAuthorities);
+    }
+}
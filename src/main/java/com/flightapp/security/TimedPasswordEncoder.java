@@ -0,0 +1,47 @@
+package com.flightapp.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * Times password checks separately from the rest of the login request. BCrypt is
+ * deliberately slow, so this is usually where {@code /auth/login} spends its time.
+ */
+public class TimedPasswordEncoder implements PasswordEncoder {
+
+    private final PasswordEncoder delegate;
+    private final Timer matchTimer;
+    private final Timer mismatchTimer;
+
+    public TimedPasswordEncoder(PasswordEncoder delegate, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.matchTimer = checkTimer(meterRegistry, "match");
+        this.mismatchTimer = checkTimer(meterRegistry, "mismatch");
+    }
+
+    private static Timer checkTimer(MeterRegistry meterRegistry, String outcome) {
+        return Timer.builder("auth.password.check")
+                .description("Password hash comparisons at login")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        Timer.Sample check = Timer.start();
+        boolean matches = delegate.matches(rawPassword, encodedPassword);
+        check.stop(matches ? matchTimer : mismatchTimer);
+        return matches;
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        return delegate.upgradeEncoding(encodedPassword);
+    }
+}
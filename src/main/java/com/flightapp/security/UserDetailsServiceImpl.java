@@ -1,7 +1,11 @@
 package com.flightapp.security;
 
+import com.flightapp.cache.MonitoredCache;
+import com.flightapp.config.CacheConfig;
 import com.flightapp.model.User;
 import com.flightapp.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -9,20 +13,66 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.util.Collections;
 
 @Service
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, MonitoredCache {
 
     private final UserRepository userRepository;
+    private final CacheConfig cacheConfig;
+    private final JwtAuthenticationCache authenticationCache;
+    private final Cache<String, UserDetails> cache;
 
-    public UserDetailsServiceImpl(UserRepository userRepository) {
+    public UserDetailsServiceImpl(UserRepository userRepository,
+                                  CacheConfig cacheConfig,
+                                  JwtAuthenticationCache authenticationCache) {
         this.userRepository = userRepository;
+        this.cacheConfig = cacheConfig;
+        this.authenticationCache = authenticationCache;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheConfig.getUsersMaxSize())
+                .expireAfterWrite(Duration.ofMillis(cacheConfig.getUsersTtl()))
+                .recordStats()
+                .build();
     }
 
     @Override
     @Transactional(readOnly = true)
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
+        if (!cacheConfig.isUsersEnabled()) {
+            return findUser(username);
+        }
+        // Concurrent misses for one username wait on a single lookup; unknown users are not cached
+        UserDetails cached = cache.get(username, this::findUser);
+        // Callers get their own copy because authentication erases the password on the returned instance
+        return org.springframework.security.core.userdetails.User.withUserDetails(cached).build();
+    }
+
+    /**
+     * Drops everything cached for the user. Call after changing the user's password or role.
+     */
+    public void evictUser(String username) {
+        cache.invalidate(username);
+        authenticationCache.evictUser(username);
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+        authenticationCache.evictAll();
+    }
+
+    @Override
+    public String getName() {
+        return "users";
+    }
+
+    @Override
+    public Cache<?, ?> getNativeCache() {
+        return cache;
+    }
+
+    private UserDetails findUser(String username) {
         User user = userRepository.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
 
@@ -32,4 +82,4 @@ public class UserDetailsServiceImpl implements UserDetailsService {
                 .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name())))
                 .build();
     }
-}
\ No newline at end of file
+}
@@ -1,12 +1,31 @@
 package com.flightapp.service;
 
+import com.flightapp.dto.FlightBatchResponse;
+import com.flightapp.dto.FlightDeleteResponse;
+import com.flightapp.dto.FlightDeltaDto;
 import com.flightapp.dto.FlightDto;
+import com.flightapp.dto.FlightPageDto;
+import com.flightapp.dto.FlightSearchCriteria;
 
+import com.flightapp.util.FlightCursor;
+import com.flightapp.util.Versioned;
+
+import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface FlightService {
     FlightDto addFlight(FlightDto flightDto);
+    FlightBatchResponse addFlights(List<FlightDto> flightDtos);
     FlightDto getFlightById(Long id);
-    List<FlightDto> getAllFlights();
+    long getFlightVersion(Long id);
+    Versioned<List<FlightDto>> getAllFlights();
+    long getFlightsVersion();
+    FlightPageDto getFlightPage(String cursor, int size, FlightCursor.Order order);
+    FlightPageDto searchFlights(FlightSearchCriteria criteria, String cursor, int size);
+    void exportFlights(Consumer<FlightDto> sink);
+    FlightDeltaDto getFlightDelta(Long since, String cursor, int size);
     void deleteFlight(Long id);
+    FlightDeleteResponse deleteFlights(List<Long> ids);
+    FlightDeleteResponse deleteFlightsBetween(LocalDate dateFrom, LocalDate dateTo);
 }
\ No newline at end of file
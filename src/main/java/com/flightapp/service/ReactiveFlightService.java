@@ -0,0 +1,10 @@
+package com.flightapp.service;
+
+import com.flightapp.dto.FlightDto;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveFlightService {
+    Mono<FlightDto> getFlightById(Long id);
+    Flux<FlightDto> getAllFlights();
+}
@@ -0,0 +1,171 @@
+package com.flightapp.service.impl;
+
+import com.flightapp.config.FlightConfig;
+import com.flightapp.model.FlightChangeCounter;
+import com.flightapp.model.FlightChangeReservation;
+import com.flightapp.repository.FlightChangeCounterRepository;
+import com.flightapp.repository.FlightChangeReservationRepository;
+import com.flightapp.repository.FlightTombstoneRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Hands out change versions for writes to FLIGHTS and keeps the tombstones of deleted
+ * flights. A writing transaction takes its version in a short transaction of its own,
+ * which bumps the counter and records a reservation, so the counter row is locked only
+ * for that moment and writers do not queue behind each other. The writing transaction
+ * deletes its reservation, which therefore disappears exactly when its rows become
+ * visible; readers take the version just below the oldest reservation still open as the
+ * commit watermark, so a reader that sees version N has every change up to N.
+ */
+@Component
+public class FlightChangeTracker {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightChangeTracker.class);
+
+    private final FlightChangeCounterRepository counterRepository;
+    private final FlightChangeReservationRepository reservationRepository;
+    private final FlightTombstoneRepository tombstoneRepository;
+    private final FlightConfig flightConfig;
+    private final TransactionTemplate separateTransaction;
+
+    public FlightChangeTracker(FlightChangeCounterRepository counterRepository,
+                               FlightChangeReservationRepository reservationRepository,
+                               FlightTombstoneRepository tombstoneRepository,
+                               FlightConfig flightConfig,
+                               PlatformTransactionManager transactionManager) {
+        this.counterRepository = counterRepository;
+        this.reservationRepository = reservationRepository;
+        this.tombstoneRepository = tombstoneRepository;
+        this.flightConfig = flightConfig;
+        this.separateTransaction = new TransactionTemplate(transactionManager);
+        this.separateTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Version for everything the current transaction writes. Call it before the transaction's
+     * first statement: the version is reserved on a connection of its own, and one the caller
+     * already holds would be kept for the length of that round trip.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public long nextVersion() {
+        long version = separateTransaction.execute(status -> reserve());
+        // Committed along with the write, which is what closes the reservation
+        reservationRepository.deleteByChangeVersion(version);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    release(version);
+                }
+            }
+        });
+        return version;
+    }
+
+    /**
+     * Highest version below which every write has committed; changes read up to it are complete.
+     */
+    public long currentVersion() {
+        FlightChangeCounterRepository.ChangeVersions versions = changeVersions();
+        if (versions == null) {
+            return FlightChangeCounter.INITIAL_VERSION;
+        }
+        return versions.getOldestOpen() != null ? versions.getOldestOpen() - 1 : versions.getHandedOut();
+    }
+
+    /**
+     * Latest version handed out, or -1 while a write holding one has not committed yet.
+     * Two equal results mean no write committed in between.
+     */
+    public long settledVersion() {
+        FlightChangeCounterRepository.ChangeVersions versions = changeVersions();
+        if (versions == null) {
+            return FlightChangeCounter.INITIAL_VERSION;
+        }
+        return versions.getOldestOpen() != null ? -1 : versions.getHandedOut();
+    }
+
+    /**
+     * Versions up to this one may have lost their tombstones.
+     */
+    public long purgedVersion() {
+        return counterRepository.findPurgedVersion(FlightChangeCounter.ID).orElse(0L);
+    }
+
+    /**
+     * Records the deletion of whichever of the given flights still exist; call before deleting them.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordDeleted(Collection<Long> ids, long version) {
+        tombstoneRepository.insertForFlights(ids, version, LocalDateTime.now());
+    }
+
+    /**
+     * Drops tombstones of flights deleted before the given time and returns how many went.
+     */
+    @Transactional
+    public int purgeTombstones(LocalDateTime deletedBefore) {
+        Long upTo = tombstoneRepository.findMaxChangeVersionDeletedBefore(deletedBefore);
+        if (upTo == null) {
+            return 0;
+        }
+        int purged = tombstoneRepository.deleteUpToChangeVersion(upTo);
+        // Locked last, so writers waiting for a version wait only for the commit
+        FlightChangeCounter counter = lockCounter();
+        counter.setPurgedVersion(Math.max(counter.getPurgedVersion(), upTo));
+        return purged;
+    }
+
+    /**
+     * Deletes reservations left open past the reservation timeout, e.g. by an instance that
+     * died mid-write, and returns how many went. The watermark already ignores them.
+     */
+    @Transactional
+    public int releaseAbandonedVersions() {
+        return reservationRepository.deleteReservedBefore(openSince());
+    }
+
+    private long reserve() {
+        FlightChangeCounter counter = lockCounter();
+        counter.setChangeVersion(counter.getChangeVersion() + 1);
+        reservationRepository.save(new FlightChangeReservation(counter.getChangeVersion(), LocalDateTime.now()));
+        return counter.getChangeVersion();
+    }
+
+    // The write rolled back, or its outcome is unknown; nothing stamped with the version is visible
+    private void release(long version) {
+        try {
+            separateTransaction.executeWithoutResult(status -> reservationRepository.deleteByChangeVersion(version));
+        } catch (RuntimeException e) {
+            log.warn("Could not release change version {}; it is ignored once the reservation times out", version, e);
+        }
+    }
+
+    private FlightChangeCounterRepository.ChangeVersions changeVersions() {
+        return counterRepository.findChangeVersions(FlightChangeCounter.ID, openSince()).orElse(null);
+    }
+
+    // A write still open after this long is taken to have died; waiting for it would stall delta sync
+    private LocalDateTime openSince() {
+        return LocalDateTime.now().minusNanos(flightConfig.getReservationTimeout() * 1_000_000);
+    }
+
+    // data.sql creates the row; schemas built by Hibernate (tests) get it on the first write
+    private FlightChangeCounter lockCounter() {
+        return counterRepository.findForUpdate(FlightChangeCounter.ID)
+                .orElseGet(() -> counterRepository.save(
+                        new FlightChangeCounter(FlightChangeCounter.ID, FlightChangeCounter.INITIAL_VERSION, 0)));
+    }
+}
@@ -0,0 +1,88 @@
+package com.flightapp.service.impl;
+
+import com.flightapp.dto.FlightDto;
+import com.flightapp.event.FlightChangeEvent;
+import com.flightapp.repository.FlightRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Deletes one chunk of flights per call, each in its own short transaction so row locks
+ * are released between chunks. A chunk is read as DTOs (for the change event that keeps
+ * the in-memory indexes in step) and removed with a single {@code DELETE ... WHERE ID IN},
+ * after one {@code INSERT ... SELECT} has left tombstones for delta sync. The change version
+ * is taken before the chunk is read, as the tracker asks, so a chunk that turns out empty
+ * still uses one up. The chunk's rows are locked as they are read, so two deletes of the
+ * same flight cannot both leave a tombstone: the second waits and finds it gone.
+ * Callers loop over chunks; this bean does no security checks of its own.
+ */
+@Component
+public class FlightDeleter {
+
+    // Oracle rejects IN lists longer than this
+    public static final int MAX_CHUNK_SIZE = 1000;
+
+    private final FlightRepository flightRepository;
+    private final FlightChangeTracker flightChangeTracker;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public FlightDeleter(FlightRepository flightRepository,
+                         FlightChangeTracker flightChangeTracker,
+                         ApplicationEventPublisher eventPublisher) {
+        this.flightRepository = flightRepository;
+        this.flightChangeTracker = flightChangeTracker;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * Deletes whichever of the given flights exist and returns them.
+     */
+    @Transactional
+    public List<FlightDto> deleteByIds(Collection<Long> ids) {
+        long version = flightChangeTracker.nextVersion();
+        return delete(flightRepository.findDtosByIdIn(ids), version);
+    }
+
+    /**
+     * Deletes up to {@code limit} flights dated within the range, inclusive, and returns them.
+     */
+    @Transactional
+    public List<FlightDto> deleteFlightDateBetween(LocalDate dateFrom, LocalDate dateTo, int limit) {
+        long version = flightChangeTracker.nextVersion();
+        return delete(lock(flightRepository.findDtosByFlightDateBetween(dateFrom, dateTo, Limit.of(limit))), version);
+    }
+
+    /**
+     * Deletes up to {@code limit} flights dated before the given day and returns them.
+     */
+    @Transactional
+    public List<FlightDto> deleteFlightDateBefore(LocalDate before, int limit) {
+        long version = flightChangeTracker.nextVersion();
+        return delete(lock(flightRepository.findDtosByFlightDateBefore(before, Limit.of(limit))), version);
+    }
+
+    // Oracle will not lock rows in a query with FETCH FIRST, so a range chunk is locked by ID once chosen
+    private List<FlightDto> lock(List<FlightDto> flights) {
+        if (flights.isEmpty()) {
+            return flights;
+        }
+        return flightRepository.findDtosByIdIn(flights.stream().map(FlightDto::getId).toList());
+    }
+
+    private List<FlightDto> delete(List<FlightDto> flights, long version) {
+        if (flights.isEmpty()) {
+            return flights;
+        }
+        List<Long> ids = flights.stream().map(FlightDto::getId).toList();
+        flightChangeTracker.recordDeleted(ids, version);
+        flightRepository.deleteAllByIdIn(ids);
+        eventPublisher.publishEvent(FlightChangeEvent.deleted(flights));
+        return flights;
+    }
+}
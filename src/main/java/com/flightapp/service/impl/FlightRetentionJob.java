@@ -0,0 +1,82 @@
+package com.flightapp.service.impl;
+
+import com.flightapp.config.FlightConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Deletes flights dated more than {@code flights.retention.horizon-days} in the past.
+ * Works through them in chunks, each its own transaction, and sleeps between chunks so
+ * a large backlog is drained gradually instead of competing with foreground requests.
+ * Also drops delta-sync tombstones older than {@code flights.delta.tombstone-retention-days}.
+ */
+@Component
+public class FlightRetentionJob {
+
+    private static final Logger log = LoggerFactory.getLogger(FlightRetentionJob.class);
+
+    private final FlightDeleter flightDeleter;
+    private final FlightChangeTracker flightChangeTracker;
+    private final FlightConfig flightConfig;
+
+    public FlightRetentionJob(FlightDeleter flightDeleter, FlightChangeTracker flightChangeTracker, FlightConfig flightConfig) {
+        this.flightDeleter = flightDeleter;
+        this.flightChangeTracker = flightChangeTracker;
+        this.flightConfig = flightConfig;
+    }
+
+    @Scheduled(fixedDelayString = "${flights.retention.interval:3600000}",
+            initialDelayString = "${flights.retention.interval:3600000}")
+    public void purge() {
+        if (!flightConfig.isRetentionEnabled()) {
+            return;
+        }
+        LocalDate before = LocalDate.now().minusDays(flightConfig.getRetentionHorizonDays());
+        int chunkSize = Math.max(1, Math.min(flightConfig.getDeleteChunkSize(), FlightDeleter.MAX_CHUNK_SIZE));
+        long started = System.nanoTime();
+        int deleted = 0;
+        int removed;
+        do {
+            removed = flightDeleter.deleteFlightDateBefore(before, chunkSize).size();
+            deleted += removed;
+        } while (removed == chunkSize && pause());
+        if (deleted > 0) {
+            log.info("Retention deleted {} flights dated before {} in {} ms",
+                    deleted, before, (System.nanoTime() - started) / 1_000_000);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${flights.retention.interval:3600000}",
+            initialDelayString = "${flights.retention.interval:3600000}")
+    public void purgeTombstones() {
+        LocalDateTime before = LocalDateTime.now().minusDays(flightConfig.getTombstoneRetentionDays());
+        int purged = flightChangeTracker.purgeTombstones(before);
+        if (purged > 0) {
+            log.info("Retention purged {} tombstones of flights deleted before {}", purged, before);
+        }
+        int released = flightChangeTracker.releaseAbandonedVersions();
+        if (released > 0) {
+            log.warn("Released {} change versions held by writes that never finished", released);
+        }
+    }
+
+    // False when interrupted, e.g. at shutdown; the rest is left for the next run
+    private boolean pause() {
+        long pause = flightConfig.getRetentionChunkPause();
+        if (pause <= 0) {
+            return true;
+        }
+        try {
+            Thread.sleep(pause);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
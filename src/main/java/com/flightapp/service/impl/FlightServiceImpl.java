@@ -1,59 +1,539 @@
 package com.flightapp.service.impl;
 
+import com.flightapp.cache.FlightCache;
+import com.flightapp.cache.FlightIdFilter;
+import com.flightapp.cache.RouteIndex;
+import com.flightapp.config.FlightConfig;
+import com.flightapp.dto.FlightBatchItemResult;
+import com.flightapp.dto.FlightBatchResponse;
+import com.flightapp.dto.FlightDeleteResponse;
+import com.flightapp.dto.FlightDeltaDto;
 import com.flightapp.dto.FlightDto;
+import com.flightapp.dto.FlightPageDto;
+import com.flightapp.dto.FlightSearchCriteria;
+import com.flightapp.event.FlightChangeEvent;
+import com.flightapp.exception.BadRequestException;
 import com.flightapp.exception.ResourceNotFoundException;
 import com.flightapp.model.Flight;
+import com.flightapp.model.FlightTombstone;
+import com.flightapp.repository.FlightTombstoneRepository;
 import com.flightapp.repository.FlightRepository;
 import com.flightapp.service.FlightService;
+import com.flightapp.store.FlightStore;
+import com.flightapp.timing.RequestTiming;
+import com.flightapp.util.FlightCursor;
+import com.flightapp.util.FlightDeltaCursor;
+import com.flightapp.util.Versioned;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class FlightServiceImpl implements FlightService {
 
     private final FlightRepository flightRepository;
+    private final FlightConfig flightConfig;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final FlightCache flightCache;
+    private final FlightIdFilter flightIdFilter;
+    private final RouteIndex routeIndex;
+    private final FlightStore flightStore;
+    private final ApplicationEventPublisher eventPublisher;
+    private final FlightDeleter flightDeleter;
+    private final FlightChangeTracker flightChangeTracker;
+    private final FlightTombstoneRepository flightTombstoneRepository;
 
-    public FlightServiceImpl(FlightRepository flightRepository) {
+    public FlightServiceImpl(FlightRepository flightRepository,
+                             FlightConfig flightConfig,
+                             EntityManager entityManager,
+                             Validator validator,
+                             FlightCache flightCache,
+                             FlightIdFilter flightIdFilter,
+                             RouteIndex routeIndex,
+                             FlightStore flightStore,
+                             ApplicationEventPublisher eventPublisher,
+                             FlightDeleter flightDeleter,
+                             FlightChangeTracker flightChangeTracker,
+                             FlightTombstoneRepository flightTombstoneRepository) {
         this.flightRepository = flightRepository;
+        this.flightConfig = flightConfig;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.flightCache = flightCache;
+        this.flightIdFilter = flightIdFilter;
+        this.routeIndex = routeIndex;
+        this.flightStore = flightStore;
+        this.eventPublisher = eventPublisher;
+        this.flightDeleter = flightDeleter;
+        this.flightChangeTracker = flightChangeTracker;
+        this.flightTombstoneRepository = flightTombstoneRepository;
     }
 
     @Override
+    @Transactional
     @PreAuthorize("hasRole('ADMIN')")
     public FlightDto addFlight(FlightDto flightDto) {
         Flight flight = convertToEntity(flightDto);
+        flight.setChangeVersion(flightChangeTracker.nextVersion());
         Flight savedFlight = flightRepository.save(flight);
-        return convertToDto(savedFlight);
+        FlightDto savedDto = convertToDto(savedFlight);
+        eventPublisher.publishEvent(FlightChangeEvent.saved(List.of(savedDto)));
+        return savedDto;
     }
 
     @Override
+    @Transactional
+    @PreAuthorize("hasRole('ADMIN')")
+    public FlightBatchResponse addFlights(List<FlightDto> flightDtos) {
+        if (flightDtos == null || flightDtos.isEmpty()) {
+            throw new BadRequestException("At least one flight is required");
+        }
+        if (flightDtos.size() > flightConfig.getBatchMaxSize()) {
+            throw new BadRequestException("A batch may contain at most " + flightConfig.getBatchMaxSize() + " flights");
+        }
+
+        int chunkSize = flightConfig.getBatchChunkSize();
+        List<FlightBatchItemResult> results = new ArrayList<>(flightDtos.size());
+        List<Flight> pendingFlights = new ArrayList<>(chunkSize);
+        List<FlightBatchItemResult> pendingResults = new ArrayList<>(chunkSize);
+        List<FlightDto> savedDtos = new ArrayList<>();
+        int created = 0;
+        long changeVersion = 0;
+
+        for (int i = 0; i < flightDtos.size(); i++) {
+            FlightDto flightDto = flightDtos.get(i);
+            Map<String, String> errors = validate(flightDto);
+            if (!errors.isEmpty()) {
+                results.add(new FlightBatchItemResult(i, FlightBatchItemResult.Status.REJECTED, null, errors));
+                continue;
+            }
+
+            if (changeVersion == 0) {
+                // Taken once the batch is known to write something; the whole batch shares it
+                changeVersion = flightChangeTracker.nextVersion();
+            }
+            Flight flight = convertToEntity(flightDto);
+            flight.setId(null); // batch ingest only inserts, it never overwrites an existing flight
+            flight.setChangeVersion(changeVersion);
+            FlightBatchItemResult result = new FlightBatchItemResult(i, FlightBatchItemResult.Status.CREATED, null, null);
+            results.add(result);
+            pendingFlights.add(flight);
+            pendingResults.add(result);
+
+            if (pendingFlights.size() >= chunkSize) {
+                created += insertChunk(pendingFlights, pendingResults, savedDtos);
+            }
+        }
+        created += insertChunk(pendingFlights, pendingResults, savedDtos);
+        if (!savedDtos.isEmpty()) {
+            eventPublisher.publishEvent(FlightChangeEvent.saved(savedDtos));
+        }
+
+        return new FlightBatchResponse(created, flightDtos.size() - created, results);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
     public FlightDto getFlightById(Long id) {
-        Flight flight = flightRepository.findById(id)
+        if (!flightIdFilter.mightExist(id)) {
+            throw new ResourceNotFoundException("Flight", "id", id);
+        }
+        if (flightStore.isReady()) {
+            long started = RequestTiming.start();
+            FlightDto flight = flightStore.get(id);
+            RequestTiming.stop(RequestTiming.Phase.STORE, started);
+            if (flight != null) {
+                return flight;
+            }
+            // Possibly written by another instance since the store last loaded
+        }
+        return flightCache.get(id, this::loadFlight);
+    }
+
+    /**
+     * The flight's change version, for revalidating its ETag without reading the flight itself.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public long getFlightVersion(Long id) {
+        if (!flightIdFilter.mightExist(id)) {
+            throw new ResourceNotFoundException("Flight", "id", id);
+        }
+        if (flightStore.isReady()) {
+            long version = flightStore.getChangeVersion(id);
+            if (version >= 0) {
+                return version;
+            }
+        }
+        FlightDto cached = flightCache.getIfPresent(id);
+        if (cached != null) {
+            return cached.getChangeVersion();
+        }
+        return flightRepository.findChangeVersionById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Flight", "id", id));
-        return convertToDto(flight);
     }
 
+    /**
+     * All flights with the version of the collection they reflect, read before and after the
+     * flights so that a write landing in between leaves the version out rather than wrong.
+     */
     @Override
+    @Transactional(readOnly = true)
     @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
-    public List<FlightDto> getAllFlights() {
-        List<Flight> flights = flightRepository.findAll();
-        return flights.stream()
-                .map(this::convertToDto)
-                .collect(Collectors.toList());
+    public Versioned<List<FlightDto>> getAllFlights() {
+        if (flightStore.isReady()) {
+            long started = RequestTiming.start();
+            long version = flightStore.version();
+            List<FlightDto> flights = flightStore.findAll();
+            boolean unchanged = version == flightStore.version();
+            RequestTiming.stop(RequestTiming.Phase.STORE, started);
+            return new Versioned<>(flights, unchanged ? version : null);
+        }
+        long version = flightChangeTracker.settledVersion();
+        List<FlightDto> flights = toDtos(flightRepository.findAll());
+        boolean unchanged = version >= 0 && version == flightChangeTracker.settledVersion();
+        return new Versioned<>(flights, unchanged ? version : null);
+    }
+
+    /**
+     * Version of the whole collection: the store's own while it serves reads, otherwise the
+     * change version of FLIGHTS, or -1 (matching no ETag) while a write is committing.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public long getFlightsVersion() {
+        return flightStore.isReady() ? flightStore.version() : flightChangeTracker.settledVersion();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public FlightPageDto getFlightPage(String cursor, int size, FlightCursor.Order order) {
+        int pageSize = pageSize(size);
+        FlightCursor after = decodeCursor(cursor, order);
+
+        if (order == FlightCursor.Order.ID && flightStore.isReady()) {
+            long started = RequestTiming.start();
+            List<FlightDto> flights = flightStore.findAfterId(after != null ? after.getId() : Long.MIN_VALUE, pageSize + 1);
+            RequestTiming.stop(RequestTiming.Phase.STORE, started);
+            return toPage(flights, pageSize, order);
+        }
+
+        // Fetch one extra row to learn whether another page exists without counting
+        Limit limit = Limit.of(pageSize + 1);
+        List<Flight> flights;
+        if (order == FlightCursor.Order.FLIGHT_DATE) {
+            flights = after == null
+                    ? flightRepository.findAllByOrderByFlightDateAscIdAsc(limit)
+                    : flightRepository.findAfterFlightDateAndId(after.getFlightDate(), after.getId(), limit);
+        } else {
+            flights = after == null
+                    ? flightRepository.findAllByOrderByIdAsc(limit)
+                    : flightRepository.findByIdGreaterThanOrderByIdAsc(after.getId(), limit);
+        }
+
+        return toPage(toDtos(flights), pageSize, order);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public FlightPageDto searchFlights(FlightSearchCriteria criteria, String cursor, int size) {
+        if (criteria.getDateFrom() != null && criteria.getDateTo() != null
+                && criteria.getDateFrom().isAfter(criteria.getDateTo())) {
+            throw new BadRequestException("dateFrom must not be after dateTo");
+        }
+        int pageSize = pageSize(size);
+        FlightCursor after = decodeCursor(cursor, FlightCursor.Order.FLIGHT_DATE);
+
+        FlightSearchCriteria search = normalize(criteria);
+        if (search.getOrigin() != null && search.getDestination() != null) {
+            long started = RequestTiming.start();
+            List<FlightDto> indexed = routeIndex.find(search.getOrigin(), search.getDestination(),
+                    search.getCarrierCode(), search.getDateFrom(), search.getDateTo(), after, pageSize + 1);
+            RequestTiming.stop(RequestTiming.Phase.STORE, started);
+            if (indexed != null) {
+                return toPage(indexed, pageSize, FlightCursor.Order.FLIGHT_DATE);
+            }
+        }
+
+        List<Flight> flights = flightRepository.search(search, after, pageSize + 1);
+        return toPage(toDtos(flights), pageSize, FlightCursor.Order.FLIGHT_DATE);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public void exportFlights(Consumer<FlightDto> sink) {
+        try (Stream<Flight> flights = flightRepository.streamAllByOrderByIdAsc()) {
+            flights.forEach(flight -> {
+                sink.accept(convertToDto(flight));
+                // Keep the persistence context empty so memory does not grow with the table
+                entityManager.detach(flight);
+            });
+        }
+    }
+
+    /**
+     * Changes after {@code since}, read up to the commit watermark so a transaction still in
+     * flight cannot be skipped. Larger deltas are paged in (version, ID) order; the
+     * cursor keeps both ends of the range so its pages add up to one consistent delta.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public FlightDeltaDto getFlightDelta(Long since, String cursor, int size) {
+        int pageSize = pageSize(size);
+        FlightDeltaCursor after;
+        if (cursor != null) {
+            after = FlightDeltaCursor.decode(cursor);
+            if (after.getUpTo() > flightChangeTracker.currentVersion()) {
+                throw new BadRequestException("Invalid delta cursor");
+            }
+        } else {
+            if (since == null || since < 0) {
+                throw new BadRequestException("since must be 0 or the version returned by an earlier delta");
+            }
+            long current = flightChangeTracker.currentVersion();
+            if (since > current) {
+                return resync();
+            }
+            after = new FlightDeltaCursor(since, current, since, Long.MAX_VALUE);
+        }
+        if (tombstonesPurged(after)) {
+            return resync();
+        }
+
+        // Fetch one extra row from each table to learn whether another page exists without counting
+        Limit limit = Limit.of(pageSize + 1);
+        List<Flight> saved = flightRepository.findChangedAfter(
+                after.getChangeVersion(), after.getId(), after.getUpTo(), limit);
+        // A client starting from nothing has nothing to delete
+        List<FlightTombstone> deleted = after.getSince() == 0 ? List.of()
+                : flightTombstoneRepository.findChangedAfter(after.getChangeVersion(), after.getId(), after.getUpTo(), limit);
+
+        List<Flight> pageSaved = new ArrayList<>();
+        List<Long> pageDeleted = new ArrayList<>();
+        long lastVersion = after.getChangeVersion();
+        long lastId = after.getId();
+        int i = 0;
+        int j = 0;
+        while (i + j < pageSize && (i < saved.size() || j < deleted.size())) {
+            if (j == deleted.size() || (i < saved.size() && precedes(saved.get(i), deleted.get(j)))) {
+                Flight flight = saved.get(i++);
+                pageSaved.add(flight);
+                lastVersion = flight.getChangeVersion();
+                lastId = flight.getId();
+            } else {
+                FlightTombstone tombstone = deleted.get(j++);
+                pageDeleted.add(tombstone.getId());
+                lastVersion = tombstone.getChangeVersion();
+                lastId = tombstone.getId();
+            }
+        }
+
+        // Purged while this ran: what was read may be missing deletions
+        if (tombstonesPurged(after)) {
+            return resync();
+        }
+        if (i == saved.size() && j == deleted.size()) {
+            return new FlightDeltaDto(after.getUpTo(), null, false, toDtos(pageSaved), pageDeleted);
+        }
+        FlightDeltaCursor next = new FlightDeltaCursor(after.getSince(), after.getUpTo(), lastVersion, lastId);
+        return new FlightDeltaDto(completeVersion(next), next.encode(), false, toDtos(pageSaved), pageDeleted);
     }
 
     @Override
     @PreAuthorize("hasRole('ADMIN')")
     public void deleteFlight(Long id) {
+        if (!flightIdFilter.mightExist(id)) {
+            throw new ResourceNotFoundException("Flight", "id", id);
+        }
+        if (flightDeleter.deleteByIds(List.of(id)).isEmpty()) {
+            throw new ResourceNotFoundException("Flight", "id", id);
+        }
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public FlightDeleteResponse deleteFlights(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new BadRequestException("At least one flight ID is required");
+        }
+        if (ids.size() > flightConfig.getBatchMaxSize()) {
+            throw new BadRequestException("A batch may contain at most " + flightConfig.getBatchMaxSize() + " flights");
+        }
+
+        List<Long> candidates = ids.stream()
+                .filter(id -> id != null && flightIdFilter.mightExist(id))
+                .distinct()
+                .toList();
+        int chunkSize = deleteChunkSize();
+        int deleted = 0;
+        // Each chunk commits on its own, so a failure part-way keeps the chunks already deleted
+        for (int from = 0; from < candidates.size(); from += chunkSize) {
+            List<Long> chunk = candidates.subList(from, Math.min(from + chunkSize, candidates.size()));
+            deleted += flightDeleter.deleteByIds(chunk).size();
+        }
+        return new FlightDeleteResponse(deleted);
+    }
+
+    @Override
+    @PreAuthorize("hasRole('ADMIN')")
+    public FlightDeleteResponse deleteFlightsBetween(LocalDate dateFrom, LocalDate dateTo) {
+        if (dateFrom == null || dateTo == null) {
+            throw new BadRequestException("dateFrom and dateTo are required");
+        }
+        if (dateFrom.isAfter(dateTo)) {
+            throw new BadRequestException("dateFrom must not be after dateTo");
+        }
+
+        int chunkSize = deleteChunkSize();
+        int deleted = 0;
+        int removed;
+        do {
+            removed = flightDeleter.deleteFlightDateBetween(dateFrom, dateTo, chunkSize).size();
+            deleted += removed;
+        } while (removed == chunkSize);
+        return new FlightDeleteResponse(deleted);
+    }
+
+    private FlightDto loadFlight(Long id) {
         Flight flight = flightRepository.findById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("Flight", "id", id));
-        flightRepository.delete(flight);
+        return convertToDto(flight);
+    }
+
+    private boolean tombstonesPurged(FlightDeltaCursor after) {
+        return after.getSince() > 0 && completeVersion(after) < flightChangeTracker.purgedVersion();
+    }
+
+    // Last version the client holds in full; a cursor part-way through a version has only some of it
+    private static long completeVersion(FlightDeltaCursor after) {
+        return after.getId() == Long.MAX_VALUE ? after.getChangeVersion() : after.getChangeVersion() - 1;
+    }
+
+    private static boolean precedes(Flight flight, FlightTombstone tombstone) {
+        return flight.getChangeVersion() < tombstone.getChangeVersion()
+                || (flight.getChangeVersion() == tombstone.getChangeVersion() && flight.getId() < tombstone.getId());
+    }
+
+    private static FlightDeltaDto resync() {
+        return new FlightDeltaDto(0, null, true, List.of(), List.of());
+    }
+
+    private int deleteChunkSize() {
+        return Math.max(1, Math.min(flightConfig.getDeleteChunkSize(), FlightDeleter.MAX_CHUNK_SIZE));
+    }
+
+    private int pageSize(int size) {
+        if (size < 1) {
+            throw new BadRequestException("Page size must be positive");
+        }
+        return Math.min(size, flightConfig.getMaxPageSize());
+    }
+
+    private FlightCursor decodeCursor(String cursor, FlightCursor.Order order) {
+        FlightCursor after = cursor != null ? FlightCursor.decode(cursor) : null;
+        if (after != null && after.getOrder() != order) {
+            throw new BadRequestException("Page cursor does not match the requested sort order");
+        }
+        return after;
+    }
+
+    /**
+     * Trims a result fetched with one extra row down to the page and derives the next cursor.
+     */
+    private FlightPageDto toPage(List<FlightDto> flights, int pageSize, FlightCursor.Order order) {
+        String next = null;
+        if (flights.size() > pageSize) {
+            flights = flights.subList(0, pageSize);
+            FlightDto last = flights.get(pageSize - 1);
+            next = (order == FlightCursor.Order.FLIGHT_DATE
+                    ? FlightCursor.afterDateAndId(last.getFlightDate(), last.getId())
+                    : FlightCursor.afterId(last.getId())).encode();
+        }
+        return new FlightPageDto(flights, next);
+    }
+
+    private List<FlightDto> toDtos(List<Flight> flights) {
+        long started = RequestTiming.start();
+        List<FlightDto> dtos = flights.stream()
+                .map(this::convertToDto)
+                .collect(Collectors.toList());
+        RequestTiming.stop(RequestTiming.Phase.CONVERT, started);
+        return dtos;
+    }
+
+    // Codes are stored upper case; blank parameters mean "any"
+    private FlightSearchCriteria normalize(FlightSearchCriteria criteria) {
+        return new FlightSearchCriteria(
+                normalizeCode(criteria.getOrigin()),
+                normalizeCode(criteria.getDestination()),
+                normalizeCode(criteria.getCarrierCode()),
+                criteria.getDateFrom(),
+                criteria.getDateTo());
+    }
+
+    private static String normalizeCode(String code) {
+        return code == null || code.isBlank() ? null : code.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private Map<String, String> validate(FlightDto flightDto) {
+        Map<String, String> errors = new LinkedHashMap<>();
+        if (flightDto == null) {
+            errors.put("flight", "Flight is required");
+            return errors;
+        }
+        for (ConstraintViolation<FlightDto> violation : validator.validate(flightDto)) {
+            errors.putIfAbsent(violation.getPropertyPath().toString(), violation.getMessage());
+        }
+        return errors;
+    }
+
+    /**
+     * Persists one chunk as JDBC batches, then clears the persistence context so a
+     * large ingest does not keep every inserted entity in memory.
+     */
+    private int insertChunk(List<Flight> flights, List<FlightBatchItemResult> results, List<FlightDto> saved) {
+        if (flights.isEmpty()) {
+            return 0;
+        }
+        flightRepository.saveAll(flights);
+        entityManager.flush();
+        entityManager.clear();
+
+        for (int i = 0; i < flights.size(); i++) {
+            results.get(i).setId(flights.get(i).getId());
+            saved.add(convertToDto(flights.get(i)));
+        }
+        int inserted = flights.size();
+        flights.clear();
+        results.clear();
+        return inserted;
     }
 
-    private Flight convertToEntity(FlightDto flightDto) {
+    // Package-private for the conversion benchmarks
+    Flight convertToEntity(FlightDto flightDto) {
         Flight flight = new Flight();
         flight.setId(flightDto.getId());
         flight.setCarrierCode(flightDto.getCarrierCode());
@@ -64,7 +544,7 @@ public class FlightServiceImpl implements FlightService {
         return flight;
     }
 
-    private FlightDto convertToDto(Flight flight) {
+    FlightDto convertToDto(Flight flight) {
         FlightDto flightDto = new FlightDto();
         flightDto.setId(flight.getId());
         flightDto.setCarrierCode(flight.getCarrierCode());
@@ -72,6 +552,7 @@ public class FlightServiceImpl implements FlightService {
         flightDto.setFlightDate(flight.getFlightDate());
         flightDto.setOrigin(flight.getOrigin());
         flightDto.setDestination(flight.getDestination());
+        flightDto.setChangeVersion(flight.getChangeVersion());
         return flightDto;
     }
 }
\ No newline at end of file
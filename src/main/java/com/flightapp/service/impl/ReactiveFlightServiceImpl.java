@@ -0,0 +1,52 @@
+package com.flightapp.service.impl;
+
+import com.flightapp.cache.FlightIdFilter;
+import com.flightapp.dto.FlightDto;
+import com.flightapp.exception.ResourceNotFoundException;
+import com.flightapp.model.Flight;
+import com.flightapp.repository.ReactiveFlightRepository;
+import com.flightapp.service.ReactiveFlightService;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read path for {@code /v2/flights}. Authorization runs when the method is called, on the
+ * request thread; the returned publisher then completes on the R2DBC driver's threads.
+ */
+@Service
+public class ReactiveFlightServiceImpl implements ReactiveFlightService {
+
+    private final ReactiveFlightRepository reactiveFlightRepository;
+    private final FlightIdFilter flightIdFilter;
+
+    public ReactiveFlightServiceImpl(ReactiveFlightRepository reactiveFlightRepository,
+                                     FlightIdFilter flightIdFilter) {
+        this.reactiveFlightRepository = reactiveFlightRepository;
+        this.flightIdFilter = flightIdFilter;
+    }
+
+    @Override
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public Mono<FlightDto> getFlightById(Long id) {
+        if (!flightIdFilter.mightExist(id)) {
+            return Mono.error(new ResourceNotFoundException("Flight", "id", id));
+        }
+        return reactiveFlightRepository.findById(id)
+                .map(this::convertToDto)
+                .switchIfEmpty(Mono.error(() -> new ResourceNotFoundException("Flight", "id", id)));
+    }
+
+    @Override
+    @PreAuthorize("hasAnyRole('ADMIN', 'USER')")
+    public Flux<FlightDto> getAllFlights() {
+        return reactiveFlightRepository.findAllByOrderByIdAsc()
+                .map(this::convertToDto);
+    }
+
+    private FlightDto convertToDto(Flight flight) {
+        return new FlightDto(flight.getId(), flight.getCarrierCode(), flight.getFlightNumber(),
+                flight.getFlightDate(), flight.getOrigin(), flight.getDestination());
+    }
+}
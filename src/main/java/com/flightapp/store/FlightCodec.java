@@ -0,0 +1,164 @@
+package com.flightapp.store;
+
+import com.flightapp.dto.FlightDto;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Packs everything about a flight except its ID into a single {@code long}.
+ * <pre>
+ *  bit 63     62..53    52..41   40..29        28..15         14..0
+ *  [ 0 ][ carrier ][ origin ][ destination ][ flight number ][ date ]
+ * </pre>
+ * Carrier and airport codes are dictionary-encoded (up to 1024 carriers and 4096 airports),
+ * the flight number is stored as its numeric value and the date as days since 2000-01-01
+ * (valid until 2089). Bit 63 is never set by {@link #encode}, so stores may use negative
+ * values as markers.
+ */
+@Component
+public class FlightCodec {
+
+    private static final LocalDate EPOCH = LocalDate.of(2000, 1, 1);
+    private static final long EPOCH_DAY = EPOCH.toEpochDay();
+
+    private static final int DATE_BITS = 15;
+    private static final int NUMBER_BITS = 14;
+    private static final int AIRPORT_BITS = 12;
+    private static final int CARRIER_BITS = 10;
+
+    private static final int NUMBER_SHIFT = DATE_BITS;
+    private static final int DESTINATION_SHIFT = NUMBER_SHIFT + NUMBER_BITS;
+    private static final int ORIGIN_SHIFT = DESTINATION_SHIFT + AIRPORT_BITS;
+    private static final int CARRIER_SHIFT = ORIGIN_SHIFT + AIRPORT_BITS;
+
+    private static final String[] FLIGHT_NUMBERS = new String[10_000];
+
+    private final Dictionary carriers = new Dictionary(1 << CARRIER_BITS);
+    private final Dictionary airports = new Dictionary(1 << AIRPORT_BITS);
+
+    /**
+     * @throws IllegalArgumentException if the flight cannot be represented, e.g. a date
+     *                                  outside the supported range or a full dictionary
+     */
+    public long encode(FlightDto flight) {
+        long days = flight.getFlightDate().toEpochDay() - EPOCH_DAY;
+        if (days < 0 || days >= (1L << DATE_BITS)) {
+            throw new IllegalArgumentException("Flight date out of range: " + flight.getFlightDate());
+        }
+        long number = parseFlightNumber(flight.getFlightNumber());
+        return ((long) carriers.codeOf(flight.getCarrierCode()) << CARRIER_SHIFT)
+                | ((long) airports.codeOf(flight.getOrigin()) << ORIGIN_SHIFT)
+                | ((long) airports.codeOf(flight.getDestination()) << DESTINATION_SHIFT)
+                | (number << NUMBER_SHIFT)
+                | days;
+    }
+
+    public FlightDto decode(long id, long record) {
+        return new FlightDto(id,
+                carriers.valueOf(field(record, CARRIER_SHIFT, CARRIER_BITS)),
+                flightNumber(field(record, NUMBER_SHIFT, NUMBER_BITS)),
+                dateOf(record),
+                airports.valueOf(field(record, ORIGIN_SHIFT, AIRPORT_BITS)),
+                airports.valueOf(field(record, DESTINATION_SHIFT, AIRPORT_BITS)));
+    }
+
+    public LocalDate dateOf(long record) {
+        return LocalDate.ofEpochDay(EPOCH_DAY + field(record, 0, DATE_BITS));
+    }
+
+    /**
+     * Returns true if the record's carrier is {@code carrierCode}, without decoding it.
+     */
+    public boolean hasCarrier(long record, String carrierCode) {
+        int code = carriers.existingCodeOf(carrierCode);
+        return code >= 0 && field(record, CARRIER_SHIFT, CARRIER_BITS) == code;
+    }
+
+    public int carrierCount() {
+        return carriers.size();
+    }
+
+    public int airportCount() {
+        return airports.size();
+    }
+
+    private static int field(long record, int shift, int bits) {
+        return (int) ((record >>> shift) & ((1L << bits) - 1));
+    }
+
+    private static long parseFlightNumber(String flightNumber) {
+        if (flightNumber == null || flightNumber.length() != 4) {
+            throw new IllegalArgumentException("Flight number must have 4 digits: " + flightNumber);
+        }
+        int number = 0;
+        for (int i = 0; i < 4; i++) {
+            char c = flightNumber.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Flight number must have 4 digits: " + flightNumber);
+            }
+            number = number * 10 + (c - '0');
+        }
+        return number;
+    }
+
+    private static String flightNumber(int number) {
+        String value = FLIGHT_NUMBERS[number];
+        if (value == null) {
+            // Strings are immutable, so a racing duplicate is harmless
+            value = String.format("%04d", number);
+            FLIGHT_NUMBERS[number] = value;
+        }
+        return value;
+    }
+
+    /**
+     * Append-only mapping between codes and small integers. Lookups are lock-free;
+     * new codes are assigned under the dictionary's lock.
+     */
+    private static final class Dictionary {
+
+        private final Map<String, Integer> codes = new ConcurrentHashMap<>();
+        private final AtomicReferenceArray<String> values;
+
+        Dictionary(int capacity) {
+            this.values = new AtomicReferenceArray<>(capacity);
+        }
+
+        int codeOf(String value) {
+            Integer code = codes.get(value);
+            if (code != null) {
+                return code;
+            }
+            synchronized (this) {
+                code = codes.get(value);
+                if (code == null) {
+                    int next = codes.size();
+                    if (next >= values.length()) {
+                        throw new IllegalArgumentException("Too many distinct codes to encode " + value);
+                    }
+                    values.set(next, value);
+                    code = next;
+                    codes.put(value, code);
+                }
+                return code;
+            }
+        }
+
+        int existingCodeOf(String value) {
+            Integer code = codes.get(value);
+            return code != null ? code : -1;
+        }
+
+        String valueOf(int code) {
+            return values.get(code);
+        }
+
+        int size() {
+            return codes.size();
+        }
+    }
+}
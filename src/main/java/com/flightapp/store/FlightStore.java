@@ -0,0 +1,41 @@
+package com.flightapp.store;
+
+import com.flightapp.dto.FlightDto;
+
+import java.util.List;
+
+/**
+ * Read-side copy of the flights table held in memory. Callers must check {@link #isReady()}
+ * and read from the database while it returns false. The copy may lag behind writes made
+ * elsewhere, so a flight it does not hold must still be looked up in the database.
+ */
+public interface FlightStore {
+
+    boolean isReady();
+
+    /**
+     * Returns the flight, or null if the store does not hold it.
+     */
+    FlightDto get(long id);
+
+    /**
+     * Returns the flight's change version, or -1 if the store does not hold it.
+     */
+    long getChangeVersion(long id);
+
+    /**
+     * Changes with every flight written to or removed from the store; equal values mean equal contents.
+     */
+    long version();
+
+    /**
+     * Up to {@code limit} flights with an ID greater than {@code afterId}, in ID order.
+     */
+    List<FlightDto> findAfterId(long afterId, int limit);
+
+    List<FlightDto> findAll();
+
+    long size();
+
+    long estimatedBytes();
+}
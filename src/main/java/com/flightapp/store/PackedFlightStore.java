@@ -0,0 +1,434 @@
+package com.flightapp.store;
+
+import com.flightapp.config.FlightConfig;
+import com.flightapp.dto.FlightDto;
+import com.flightapp.event.FlightChangeEvent;
+import com.flightapp.model.Flight;
+import com.flightapp.repository.FlightRepository;
+import jakarta.persistence.EntityManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.StampedLock;
+import java.util.stream.Stream;
+
+/**
+ * {@link FlightStore} holding each flight as two primitive longs: its ID in a sorted
+ * {@code long[]}, and its {@link FlightCodec}-packed record and change version at the same
+ * position in two parallel {@code long[]}s. That is 24 bytes per flight, in three objects for
+ * the whole table, so the store adds nothing for the garbage collector to trace.
+ * <p>
+ * New IDs come from a sequence and are appended. Deletes leave a tombstone that is
+ * compacted away once tombstones make up a quarter of the store. Point reads use
+ * optimistic locking and do not block.
+ * <p>
+ * Only this instance's changes arrive as events. Flights written by other instances or
+ * directly in SQL appear at the next scheduled reload, which reads the table into new
+ * arrays (briefly holding two copies) and swaps them in. Off by default for that reason:
+ * enable it on a single writer, or where reads may lag by the reload interval.
+ */
+@Component
+public class PackedFlightStore implements FlightStore {
+
+    private static final Logger log = LoggerFactory.getLogger(PackedFlightStore.class);
+
+    private static final long TOMBSTONE = -1L;
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final FlightRepository flightRepository;
+    private final FlightConfig flightConfig;
+    private final FlightCodec codec;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final StampedLock lock = new StampedLock();
+    private final Object loadLock = new Object();
+
+    private long[] ids = new long[INITIAL_CAPACITY];
+    private long[] records = new long[INITIAL_CAPACITY];
+    private long[] changeVersions = new long[INITIAL_CAPACITY];
+    private int size;
+    private int tombstones;
+    // Written under the write lock with every change; starts at random so no two loads share values
+    private volatile long version = randomVersion();
+    private volatile boolean ready;
+    // Changes committed while the table is being read, replayed onto the new copy
+    private List<FlightChangeEvent> pending;
+
+    public PackedFlightStore(FlightRepository flightRepository,
+                             FlightConfig flightConfig,
+                             FlightCodec codec,
+                             EntityManager entityManager,
+                             PlatformTransactionManager transactionManager) {
+        this.flightRepository = flightRepository;
+        this.flightConfig = flightConfig;
+        this.codec = codec;
+        this.entityManager = entityManager;
+        // Read-write so the scan runs on the primary: a lagging replica would miss recent inserts
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public boolean isReady() {
+        return ready;
+    }
+
+    @Override
+    public FlightDto get(long id) {
+        long stamp = lock.tryOptimisticRead();
+        int position = lookup(id);
+        long record = valueAt(records, position, TOMBSTONE);
+        long changeVersion = valueAt(changeVersions, position, 0);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                position = lookup(id);
+                record = valueAt(records, position, TOMBSTONE);
+                changeVersion = valueAt(changeVersions, position, 0);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return record == TOMBSTONE ? null : decode(id, record, changeVersion);
+    }
+
+    @Override
+    public long getChangeVersion(long id) {
+        long stamp = lock.tryOptimisticRead();
+        int position = lookup(id);
+        long record = valueAt(records, position, TOMBSTONE);
+        long changeVersion = valueAt(changeVersions, position, 0);
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                position = lookup(id);
+                record = valueAt(records, position, TOMBSTONE);
+                changeVersion = valueAt(changeVersions, position, 0);
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return record == TOMBSTONE ? -1 : changeVersion;
+    }
+
+    @Override
+    public long version() {
+        return version;
+    }
+
+    @Override
+    public List<FlightDto> findAfterId(long afterId, int limit) {
+        long[] foundIds = new long[limit];
+        long[] foundRecords = new long[limit];
+        long[] foundVersions = new long[limit];
+        int found = 0;
+        long stamp = lock.readLock();
+        try {
+            int position = Arrays.binarySearch(ids, 0, size, afterId);
+            position = position >= 0 ? position + 1 : -position - 1;
+            for (; position < size && found < limit; position++) {
+                if (records[position] != TOMBSTONE) {
+                    foundIds[found] = ids[position];
+                    foundRecords[found] = records[position];
+                    foundVersions[found] = changeVersions[position];
+                    found++;
+                }
+            }
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        return decodeAll(foundIds, foundRecords, foundVersions, found);
+    }
+
+    @Override
+    public List<FlightDto> findAll() {
+        long[] snapshotIds;
+        long[] snapshotRecords;
+        long[] snapshotVersions;
+        long stamp = lock.readLock();
+        try {
+            snapshotIds = Arrays.copyOf(ids, size);
+            snapshotRecords = Arrays.copyOf(records, size);
+            snapshotVersions = Arrays.copyOf(changeVersions, size);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+        List<FlightDto> flights = new ArrayList<>(snapshotIds.length);
+        for (int i = 0; i < snapshotIds.length; i++) {
+            if (snapshotRecords[i] != TOMBSTONE) {
+                flights.add(decode(snapshotIds[i], snapshotRecords[i], snapshotVersions[i]));
+            }
+        }
+        return flights;
+    }
+
+    @Override
+    public long size() {
+        long stamp = lock.readLock();
+        try {
+            return size - tombstones;
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public long estimatedBytes() {
+        long stamp = lock.readLock();
+        try {
+            return 3L * (16 + 8L * ids.length);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${flights.store.reload-interval:900000}",
+            initialDelayString = "${flights.store.reload-interval:900000}")
+    public void load() {
+        if (!flightConfig.isStoreEnabled()) {
+            return;
+        }
+        // One load at a time: each owns the pending list from start to publish
+        synchronized (loadLock) {
+            reload();
+        }
+    }
+
+    private void reload() {
+        synchronized (this) {
+            pending = new ArrayList<>();
+        }
+        try {
+            Table table = new Table();
+            transactionTemplate.executeWithoutResult(status -> {
+                try (Stream<Flight> flights = flightRepository.streamAllByOrderByIdAsc()) {
+                    flights.forEach(flight -> {
+                        table.append(flight.getId(), codec.encode(toDto(flight)), flight.getChangeVersion());
+                        entityManager.detach(flight);
+                    });
+                }
+            });
+            publish(table);
+        } catch (IllegalArgumentException e) {
+            // A flight the codec cannot represent: stop serving rather than serve stale data
+            log.warn("Flight store could not be loaded, reads fall back to the database", e);
+            disable();
+        } catch (RuntimeException e) {
+            // Reads keep going to the previous copy, or to the database if there is none
+            log.warn("Flight store could not be loaded", e);
+        } finally {
+            synchronized (this) {
+                pending = null;
+            }
+        }
+    }
+
+    // Swap and replay under one write lock, so no reader sees the new copy without the changes made meanwhile
+    private synchronized void publish(Table table) {
+        long stamp = lock.writeLock();
+        try {
+            ids = table.ids;
+            records = table.records;
+            changeVersions = table.changeVersions;
+            size = table.size;
+            tombstones = 0;
+            version++;
+            pending.forEach(this::applyLocked);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        ready = true;
+        log.info("Flight store loaded: {} flights in {} bytes", size(), estimatedBytes());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public synchronized void onFlightChange(FlightChangeEvent event) {
+        if (ready) {
+            long stamp = lock.writeLock();
+            try {
+                applyLocked(event);
+            } catch (IllegalArgumentException e) {
+                // A flight the codec cannot represent: stop serving rather than serve stale data
+                log.warn("Flight store disabled, reads fall back to the database", e);
+                ready = false;
+                clearLocked();
+            } finally {
+                lock.unlockWrite(stamp);
+            }
+        }
+        if (pending != null) {
+            pending.add(event);
+        }
+    }
+
+    // Caller holds the write lock
+    private void applyLocked(FlightChangeEvent event) {
+        for (FlightDto flight : event.getFlights()) {
+            if (event.getType() == FlightChangeEvent.Type.DELETED) {
+                remove(flight.getId());
+            } else {
+                put(flight.getId(), codec.encode(flight), flight.getChangeVersion());
+            }
+        }
+    }
+
+    // Must tolerate a torn view of the fields: the caller validates the stamp before using the result
+    private int lookup(long id) {
+        long[] currentIds = ids;
+        int limit = Math.min(size, currentIds.length);
+        int position = Arrays.binarySearch(currentIds, 0, limit, id);
+        return Math.max(position, -1);
+    }
+
+    private static long valueAt(long[] values, int position, long missing) {
+        return position >= 0 && position < values.length ? values[position] : missing;
+    }
+
+    // Caller holds the write lock
+    private void put(long id, long record, long changeVersion) {
+        version++;
+        if (size == 0 || id > ids[size - 1]) {
+            ensureCapacity(size + 1);
+            ids[size] = id;
+            records[size] = record;
+            changeVersions[size] = changeVersion;
+            size++;
+            return;
+        }
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position >= 0) {
+            if (records[position] == TOMBSTONE) {
+                tombstones--;
+            }
+            records[position] = record;
+            changeVersions[position] = changeVersion;
+            return;
+        }
+        // An ID below the highest one, e.g. from another instance's sequence block
+        int insertAt = -position - 1;
+        ensureCapacity(size + 1);
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        System.arraycopy(records, insertAt, records, insertAt + 1, size - insertAt);
+        System.arraycopy(changeVersions, insertAt, changeVersions, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        records[insertAt] = record;
+        changeVersions[insertAt] = changeVersion;
+        size++;
+    }
+
+    // Caller holds the write lock
+    private void remove(long id) {
+        int position = Arrays.binarySearch(ids, 0, size, id);
+        if (position < 0 || records[position] == TOMBSTONE) {
+            return;
+        }
+        version++;
+        records[position] = TOMBSTONE;
+        tombstones++;
+        if (tombstones > size / 4) {
+            compact();
+        }
+    }
+
+    private void compact() {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (records[i] != TOMBSTONE) {
+                ids[kept] = ids[i];
+                records[kept] = records[i];
+                changeVersions[kept] = changeVersions[i];
+                kept++;
+            }
+        }
+        size = kept;
+        tombstones = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > ids.length) {
+            int grown = Math.max(capacity, ids.length + (ids.length >> 1));
+            ids = Arrays.copyOf(ids, grown);
+            records = Arrays.copyOf(records, grown);
+            changeVersions = Arrays.copyOf(changeVersions, grown);
+        }
+    }
+
+    private synchronized void disable() {
+        ready = false;
+        long stamp = lock.writeLock();
+        try {
+            clearLocked();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    // Caller holds the write lock
+    private void clearLocked() {
+        ids = new long[INITIAL_CAPACITY];
+        records = new long[INITIAL_CAPACITY];
+        changeVersions = new long[INITIAL_CAPACITY];
+        size = 0;
+        tombstones = 0;
+        version = randomVersion();
+    }
+
+    private List<FlightDto> decodeAll(long[] foundIds, long[] foundRecords, long[] foundVersions, int count) {
+        List<FlightDto> flights = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            flights.add(decode(foundIds[i], foundRecords[i], foundVersions[i]));
+        }
+        return flights;
+    }
+
+    private FlightDto decode(long id, long record, long changeVersion) {
+        FlightDto flight = codec.decode(id, record);
+        flight.setChangeVersion(changeVersion);
+        return flight;
+    }
+
+    // High enough never to meet a FLIGHT_CHANGE_COUNTER value, with room to count up
+    private static long randomVersion() {
+        return ThreadLocalRandom.current().nextLong(1L << 32, 1L << 62);
+    }
+
+    private static FlightDto toDto(Flight flight) {
+        return new FlightDto(flight.getId(), flight.getCarrierCode(), flight.getFlightNumber(),
+                flight.getFlightDate(), flight.getOrigin(), flight.getDestination());
+    }
+
+    /**
+     * Arrays filled by a load before they replace the live ones; rows arrive in ID order.
+     */
+    private static final class Table {
+
+        private long[] ids = new long[INITIAL_CAPACITY];
+        private long[] records = new long[INITIAL_CAPACITY];
+        private long[] changeVersions = new long[INITIAL_CAPACITY];
+        private int size;
+
+        void append(long id, long record, long changeVersion) {
+            if (size == ids.length) {
+                int grown = ids.length + (ids.length >> 1);
+                ids = Arrays.copyOf(ids, grown);
+                records = Arrays.copyOf(records, grown);
+                changeVersions = Arrays.copyOf(changeVersions, grown);
+            }
+            ids[size] = id;
+            records[size] = record;
+            changeVersions[size] = changeVersion;
+            size++;
+        }
+    }
+}
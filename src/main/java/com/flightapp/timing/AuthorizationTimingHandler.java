@@ -0,0 +1,37 @@
+package com.flightapp.timing;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationHandler;
+import org.springframework.security.authorization.AuthorizationObservationContext;
+
+/**
+ * Adds Spring Security's authorization checks, both the URL rules and
+ * {@code @PreAuthorize}, to the request's {@code authz} phase.
+ */
+public class AuthorizationTimingHandler implements ObservationHandler<AuthorizationObservationContext<?>> {
+
+    private static final String STARTED = AuthorizationTimingHandler.class.getName() + ".started";
+
+    @Override
+    public void onStart(AuthorizationObservationContext<?> context) {
+        long started = RequestTiming.start();
+        if (started != 0L) {
+            context.put(STARTED, started);
+        }
+    }
+
+    @Override
+    public void onStop(AuthorizationObservationContext<?> context) {
+        Long started = context.get(STARTED);
+        if (started != null) {
+            RequestTiming.stop(RequestTiming.Phase.AUTHZ, started);
+            // Bodiless responses commit after the security context is cleared; remember the caller now
+            RequestTiming.current().identify(context.getAuthentication());
+        }
+    }
+
+    @Override
+    public boolean supportsContext(Observation.Context context) {
+        return context instanceof AuthorizationObservationContext<?>;
+    }
+}
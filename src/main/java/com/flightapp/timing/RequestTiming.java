@@ -0,0 +1,153 @@
+package com.flightapp.timing;
+
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Locale;
+
+/**
+ * Time spent in each phase of one request, collected while {@link ServerTimingFilter}
+ * has it bound to the request thread. The static {@link #start()}/{@link #stop} pair is
+ * what instrumented code calls; both are a thread-local read when timing is off.
+ */
+public final class RequestTiming {
+
+    public enum Phase {
+        JWT("jwt"),
+        AUTHZ("authz"),
+        STORE("store"),
+        DB("db"),
+        CONVERT("convert"),
+        SERIALIZE("serialize");
+
+        private final String metricName;
+
+        Phase(String metricName) {
+            this.metricName = metricName;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+    }
+
+    private static final ThreadLocal<RequestTiming> CURRENT = new ThreadLocal<>();
+
+    private final long startedAt = System.nanoTime();
+    private final long[] durations = new long[Phase.values().length];
+    private final int[] counts = new int[Phase.values().length];
+    private final boolean headerRequested;
+    private final boolean adminOnly;
+    private Boolean admin;
+
+    RequestTiming(boolean headerRequested, boolean adminOnly) {
+        this.headerRequested = headerRequested;
+        this.adminOnly = adminOnly;
+    }
+
+    public static RequestTiming current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * Returns a start mark for {@link #stop}, or 0 when the current request is not timed.
+     */
+    public static long start() {
+        return CURRENT.get() != null ? System.nanoTime() : 0L;
+    }
+
+    public static void stop(Phase phase, long started) {
+        if (started != 0L) {
+            RequestTiming timing = CURRENT.get();
+            if (timing != null) {
+                timing.add(phase, System.nanoTime() - started);
+            }
+        }
+    }
+
+    static void bind(RequestTiming timing) {
+        CURRENT.set(timing);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    public void add(Phase phase, long nanos) {
+        durations[phase.ordinal()] += nanos;
+        counts[phase.ordinal()]++;
+    }
+
+    public long getDuration(Phase phase) {
+        return durations[phase.ordinal()];
+    }
+
+    public int getCount(Phase phase) {
+        return counts[phase.ordinal()];
+    }
+
+    public long getElapsed() {
+        return System.nanoTime() - startedAt;
+    }
+
+    /**
+     * Whether the Server-Timing header may be sent. A per-request opt-in is honoured for
+     * admins only. The security context is gone once the filter chain unwinds, so the
+     * answer is kept from the first time a caller was known (see {@link #identify}).
+     */
+    public boolean isHeaderAllowed() {
+        if (!headerRequested) {
+            return false;
+        }
+        if (!adminOnly) {
+            return true;
+        }
+        if (admin == null) {
+            identify(SecurityContextHolder.getContext().getAuthentication());
+        }
+        return Boolean.TRUE.equals(admin);
+    }
+
+    void identify(Authentication authentication) {
+        if (admin == null && authentication != null && !(authentication instanceof AnonymousAuthenticationToken)) {
+            admin = authentication.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .anyMatch("ROLE_ADMIN"::equals);
+        }
+    }
+
+    /**
+     * Formats the phases recorded so far, e.g. {@code jwt;dur=0.412, db;dur=1.730, total;dur=2.981}.
+     */
+    public String toHeaderValue() {
+        StringBuilder header = new StringBuilder(128);
+        for (Phase phase : Phase.values()) {
+            if (counts[phase.ordinal()] > 0) {
+                header.append(phase.metricName).append(";dur=").append(millis(durations[phase.ordinal()])).append(", ");
+            }
+        }
+        return header.append("total;dur=").append(millis(getElapsed())).toString();
+    }
+
+    /**
+     * Formats the phases as {@code key=value} pairs for the sampled log line.
+     */
+    public String toLogFields() {
+        StringBuilder fields = new StringBuilder(128).append("total_ms=").append(millis(getElapsed()));
+        for (Phase phase : Phase.values()) {
+            if (counts[phase.ordinal()] > 0) {
+                fields.append(' ').append(phase.metricName).append("_ms=").append(millis(durations[phase.ordinal()]));
+                if (counts[phase.ordinal()] > 1) {
+                    fields.append(' ').append(phase.metricName).append("_count=").append(counts[phase.ordinal()]);
+                }
+            }
+        }
+        return fields.toString();
+    }
+
+    private static String millis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1_000_000.0);
+    }
+}
@@ -0,0 +1,91 @@
+package com.flightapp.timing;
+
+import com.flightapp.config.ServerTimingConfig;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.web.util.OnCommittedResponseWrapper;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Times a request across the security filters, controller, service and repository and
+ * reports the breakdown as a {@code Server-Timing} header and/or a sampled log line.
+ * Requests that want neither are passed through untouched.
+ */
+public class ServerTimingFilter extends OncePerRequestFilter {
+
+    static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private static final Logger log = LoggerFactory.getLogger(ServerTimingFilter.class);
+
+    private final ServerTimingConfig serverTimingConfig;
+
+    public ServerTimingFilter(ServerTimingConfig serverTimingConfig) {
+        this.serverTimingConfig = serverTimingConfig;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request,
+                                    HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        boolean optIn = request.getHeader(serverTimingConfig.getRequestHeader()) != null;
+        boolean headerRequested = serverTimingConfig.isEnabled() || optIn;
+        boolean sampled = serverTimingConfig.getLogSampleRate() > 0
+                && ThreadLocalRandom.current().nextDouble() < serverTimingConfig.getLogSampleRate();
+        if (!headerRequested && !sampled) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        RequestTiming timing = new RequestTiming(headerRequested, !serverTimingConfig.isEnabled());
+        HttpServletResponse timedResponse = headerRequested ? new ServerTimingResponse(response, timing) : response;
+        RequestTiming.bind(timing);
+        try {
+            filterChain.doFilter(request, timedResponse);
+        } finally {
+            RequestTiming.unbind();
+            if (timedResponse instanceof ServerTimingResponse serverTimingResponse && !response.isCommitted()) {
+                serverTimingResponse.writeHeader();
+            }
+            if (sampled && !request.isAsyncStarted()) {
+                log.info("server-timing method={} uri={} status={} {}", request.getMethod(),
+                        request.getRequestURI(), response.getStatus(), timing.toLogFields());
+            }
+        }
+    }
+
+    /**
+     * Adds the header just before the response commits, so it carries every phase that
+     * finished before the first byte of the body went out.
+     */
+    private static final class ServerTimingResponse extends OnCommittedResponseWrapper {
+
+        private final RequestTiming timing;
+        private boolean written;
+
+        ServerTimingResponse(HttpServletResponse response, RequestTiming timing) {
+            super(response);
+            this.timing = timing;
+        }
+
+        @Override
+        protected void onResponseCommitted() {
+            writeHeader();
+        }
+
+        void writeHeader() {
+            if (!written) {
+                written = true;
+                if (timing.isHeaderAllowed()) {
+                    ((HttpServletResponse) getResponse()).addHeader(SERVER_TIMING_HEADER, timing.toHeaderValue());
+                }
+            }
+        }
+    }
+}
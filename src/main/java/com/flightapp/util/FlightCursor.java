@@ -0,0 +1,56 @@
+package com.flightapp.util;
+
+import com.flightapp.exception.BadRequestException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Keyset position in the flight listing. Encoded as an opaque URL-safe token so
+ * clients cannot rely on its layout.
+ */
+@Value
+public class FlightCursor {
+
+    public enum Order {
+        ID, FLIGHT_DATE
+    }
+
+    Order order;
+    LocalDate flightDate;
+    long id;
+
+    public static FlightCursor afterId(long id) {
+        return new FlightCursor(Order.ID, null, id);
+    }
+
+    public static FlightCursor afterDateAndId(LocalDate flightDate, long id) {
+        return new FlightCursor(Order.FLIGHT_DATE, flightDate, id);
+    }
+
+    public String encode() {
+        String raw = order == Order.ID
+                ? "i:" + id
+                : "d:" + flightDate.toEpochDay() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static FlightCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            String[] parts = raw.split(":");
+            if (parts.length == 2 && "i".equals(parts[0])) {
+                return afterId(Long.parseLong(parts[1]));
+            }
+            if (parts.length == 3 && "d".equals(parts[0])) {
+                return afterDateAndId(LocalDate.ofEpochDay(Long.parseLong(parts[1])), Long.parseLong(parts[2]));
+            }
+        } catch (IllegalArgumentException | DateTimeException e) {
+            // fall through to the common error below
+        }
+        throw new BadRequestException("Invalid page cursor");
+    }
+}
@@ -0,0 +1,43 @@
+package com.flightapp.util;
+
+import com.flightapp.exception.BadRequestException;
+import lombok.Value;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position part-way through a delta sync: changes after {@code since} up to {@code upTo}
+ * are being listed in (change version, ID) order, and everything up to
+ * ({@code changeVersion}, {@code id}) has been returned. Encoded as an opaque URL-safe token.
+ */
+@Value
+public class FlightDeltaCursor {
+
+    long since;
+    long upTo;
+    long changeVersion;
+    long id;
+
+    public String encode() {
+        String raw = since + ":" + upTo + ":" + changeVersion + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    public static FlightDeltaCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+            String[] parts = raw.split(":");
+            if (parts.length == 4) {
+                FlightDeltaCursor cursor = new FlightDeltaCursor(Long.parseLong(parts[0]), Long.parseLong(parts[1]),
+                        Long.parseLong(parts[2]), Long.parseLong(parts[3]));
+                if (cursor.since >= 0 && cursor.since < cursor.changeVersion && cursor.changeVersion <= cursor.upTo) {
+                    return cursor;
+                }
+            }
+        } catch (IllegalArgumentException e) {
+            // fall through to the common error below
+        }
+        throw new BadRequestException("Invalid delta cursor");
+    }
+}
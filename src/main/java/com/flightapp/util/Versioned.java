@@ -0,0 +1,14 @@
+package com.flightapp.util;
+
+import lombok.Value;
+
+/**
+ * A value and the version it was read at. The version is null when the value changed while
+ * it was being read, so that no single version describes it.
+ */
+@Value
+public class Versioned<T> {
+
+    T value;
+    Long version;
+}
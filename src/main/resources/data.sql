@@ -4,9 +4,47 @@ CREATE TABLE FLIGHTS (
                          FLIGHT_NUMBER VARCHAR2(4) NOT NULL,
                          FLIGHT_DATE DATE NOT NULL,
                          ORIGIN VARCHAR2(3) NOT NULL,
-                         DESTINATION VARCHAR2(3) NOT NULL
+                         DESTINATION VARCHAR2(3) NOT NULL,
+                         CHANGE_VERSION NUMBER DEFAULT 1 NOT NULL
 );
 
+-- Supports keyset pagination ordered by flight date
+CREATE INDEX IDX_FLIGHTS_DATE_ID ON FLIGHTS (FLIGHT_DATE, ID);
+
+-- Flight search: equality columns lead, then (FLIGHT_DATE, ID) so date ranges and paging seek within the index
+CREATE INDEX IDX_FLIGHTS_ROUTE_DATE ON FLIGHTS (ORIGIN, DESTINATION, FLIGHT_DATE, ID);
+CREATE INDEX IDX_FLIGHTS_ORIGIN_DATE ON FLIGHTS (ORIGIN, FLIGHT_DATE, ID);
+CREATE INDEX IDX_FLIGHTS_DEST_DATE ON FLIGHTS (DESTINATION, FLIGHT_DATE, ID);
+CREATE INDEX IDX_FLIGHTS_CARRIER_DATE ON FLIGHTS (CARRIER_CODE, FLIGHT_DATE, ID);
+
+-- Delta sync: flights written after a given version, in version order
+-- Existing schemas: ALTER TABLE FLIGHTS ADD CHANGE_VERSION NUMBER DEFAULT 1 NOT NULL;
+CREATE INDEX IDX_FLIGHTS_CHANGE_VERSION ON FLIGHTS (CHANGE_VERSION, ID);
+
+-- Single row handing out change versions; locked only by the short transaction that takes the next one
+CREATE TABLE FLIGHT_CHANGE_COUNTER (
+                                       ID NUMBER PRIMARY KEY,
+                                       CHANGE_VERSION NUMBER NOT NULL,
+                                       PURGED_VERSION NUMBER NOT NULL
+);
+
+INSERT INTO FLIGHT_CHANGE_COUNTER (ID, CHANGE_VERSION, PURGED_VERSION) VALUES (1, 1, 0);
+
+-- Versions handed out to writes that have not committed yet; delta sync reads only below the oldest
+CREATE TABLE FLIGHT_CHANGE_RESERVATIONS (
+                                            CHANGE_VERSION NUMBER PRIMARY KEY,
+                                            RESERVED_AT TIMESTAMP NOT NULL
+);
+
+-- Deleted flights, kept for tombstone-retention-days so delta sync can report them
+CREATE TABLE FLIGHT_TOMBSTONES (
+                                   ID NUMBER PRIMARY KEY,
+                                   CHANGE_VERSION NUMBER NOT NULL,
+                                   DELETED_AT TIMESTAMP NOT NULL
+);
+
+CREATE INDEX IDX_TOMBSTONES_CHANGE_VERSION ON FLIGHT_TOMBSTONES (CHANGE_VERSION, ID);
+
 -- Users Table
 CREATE TABLE USERS (
                        ID NUMBER PRIMARY KEY,
@@ -16,7 +54,9 @@ CREATE TABLE USERS (
 );
 
 
-CREATE SEQUENCE FLIGHT_SEQ START WITH 1 INCREMENT BY 1;
+-- Hibernate reserves blocks of 50 IDs per NEXTVAL (pooled-lo), so the increment must match the entity's allocationSize.
+-- Existing schemas: ALTER SEQUENCE FLIGHT_SEQ INCREMENT BY 50;
+CREATE SEQUENCE FLIGHT_SEQ START WITH 1 INCREMENT BY 50;
 
 CREATE SEQUENCE USER_SEQ START WITH 1 INCREMENT BY 1;
 
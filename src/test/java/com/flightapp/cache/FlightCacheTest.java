@@ -0,0 +1,120 @@
+package com.flightapp.cache;
+
+import com.flightapp.config.CacheConfig;
+import com.flightapp.dto.FlightDto;
+import com.flightapp.event.FlightChangeEvent;
+import com.flightapp.exception.ResourceNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlightCacheTest {
+
+    private CacheConfig cacheConfig;
+    private FlightCache flightCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cacheConfig = new CacheConfig();
+        cacheConfig.setFlightsEnabled(true);
+        cacheConfig.setFlightsMaxSize(100);
+        cacheConfig.setFlightsTtl(60000);
+        flightCache = new FlightCache(cacheConfig);
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void get_ConcurrentMisses_ShouldLoadOnce() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<FlightDto>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> flightCache.get(1L, id -> {
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    return flight(id);
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<FlightDto> result : results) {
+                assertEquals(1L, result.get(5, TimeUnit.SECONDS).getId());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        assertEquals(1, flightCache.getNativeCache().stats().loadCount());
+        assertEquals(8, flightCache.getNativeCache().stats().requestCount());
+    }
+
+    @Test
+    void get_LoaderThrows_ShouldNotCache() {
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> flightCache.get(9L, this::missing));
+        assertThrows(ResourceNotFoundException.class, () -> flightCache.get(9L, this::missing));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void onFlightChange_ShouldEvictChangedFlights() {
+        // Arrange
+        flightCache.get(1L, this::counting);
+        flightCache.get(2L, this::counting);
+
+        // Act
+        flightCache.onFlightChange(FlightChangeEvent.saved(List.of(flight(1L))));
+        flightCache.get(1L, this::counting);
+        flightCache.get(2L, this::counting);
+
+        // Assert
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void get_CacheDisabled_ShouldAlwaysLoad() {
+        // Arrange
+        cacheConfig.setFlightsEnabled(false);
+
+        // Act
+        flightCache.get(1L, this::counting);
+        flightCache.get(1L, this::counting);
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    private FlightDto counting(Long id) {
+        loads.incrementAndGet();
+        return flight(id);
+    }
+
+    private FlightDto missing(Long id) {
+        loads.incrementAndGet();
+        throw new ResourceNotFoundException("Flight", "id", id);
+    }
+
+    private static FlightDto flight(Long id) {
+        return new FlightDto(id, "AA", "1234", LocalDate.of(2025, 3, 15), "JFK", "LHR");
+    }
+}
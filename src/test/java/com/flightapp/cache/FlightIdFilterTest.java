@@ -0,0 +1,166 @@
+package com.flightapp.cache;
+
+import com.flightapp.config.FlightConfig;
+import com.flightapp.dto.FlightDto;
+import com.flightapp.event.FlightChangeEvent;
+import com.flightapp.repository.FlightRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class FlightIdFilterTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    private FlightConfig flightConfig;
+    private FlightIdFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        flightConfig = new FlightConfig();
+        flightConfig.setIdFilterEnabled(true);
+        flightConfig.setIdFilterMaxId(1000);
+        filter = new FlightIdFilter(flightRepository, flightConfig);
+    }
+
+    @Test
+    void mightExist_BeforeRebuild_ShouldAllowEveryId() {
+        // Act & Assert
+        assertTrue(filter.mightExist(42L));
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void mightExist_AfterRebuild_ShouldRejectOnlyMissingIdsBelowWatermark() {
+        // Arrange
+        when(flightRepository.findMaxId()).thenReturn(130L);
+        when(flightRepository.streamAllIds()).thenReturn(Stream.of(1L, 64L, 130L));
+
+        // Act
+        filter.rebuild();
+
+        // Assert
+        assertTrue(filter.mightExist(1L));
+        assertTrue(filter.mightExist(64L));
+        assertTrue(filter.mightExist(130L));
+        assertFalse(filter.mightExist(2L));
+        assertFalse(filter.mightExist(0L));
+        assertFalse(filter.mightExist(-5L));
+        // Above the watermark IDs may have been issued since the rebuild
+        assertTrue(filter.mightExist(131L));
+    }
+
+    @Test
+    void onFlightChange_Delete_ShouldClearId() {
+        // Arrange
+        when(flightRepository.findMaxId()).thenReturn(10L);
+        when(flightRepository.streamAllIds()).thenReturn(Stream.of(5L, 10L));
+        filter.rebuild();
+
+        // Act
+        filter.onFlightChange(FlightChangeEvent.deleted(flight(5L)));
+
+        // Assert
+        assertFalse(filter.mightExist(5L));
+        assertTrue(filter.mightExist(10L));
+    }
+
+    @Test
+    void rebuild_ChangesDuringScan_ShouldBeReplayed() {
+        // Arrange
+        when(flightRepository.findMaxId()).thenReturn(10L);
+        when(flightRepository.streamAllIds()).thenAnswer(invocation -> {
+            // Committed while the scan is running, after the row was already read
+            filter.onFlightChange(FlightChangeEvent.deleted(flight(5L)));
+            return Stream.of(5L, 10L);
+        });
+
+        // Act
+        filter.rebuild();
+
+        // Assert
+        assertFalse(filter.mightExist(5L));
+        assertTrue(filter.mightExist(10L));
+    }
+
+    @Test
+    void rebuild_ScanFails_ShouldKeepPreviousBitmap() {
+        // Arrange
+        when(flightRepository.findMaxId()).thenReturn(10L);
+        when(flightRepository.streamAllIds())
+                .thenReturn(Stream.of(5L, 10L))
+                .thenThrow(new IllegalStateException("connection lost"));
+        filter.rebuild();
+
+        // Act
+        assertThrows(IllegalStateException.class, filter::rebuild);
+        filter.onFlightChange(FlightChangeEvent.deleted(flight(5L)));
+
+        // Assert
+        assertFalse(filter.mightExist(5L));
+        assertTrue(filter.mightExist(10L));
+        assertFalse(filter.mightExist(7L));
+    }
+
+    @Test
+    void rebuild_MaxIdQueryFails_ShouldRebuildNextTime() {
+        // Arrange
+        when(flightRepository.findMaxId())
+                .thenReturn(10L)
+                .thenThrow(new IllegalStateException("connection lost"))
+                .thenReturn(12L);
+        when(flightRepository.streamAllIds())
+                .thenReturn(Stream.of(5L, 10L))
+                .thenReturn(Stream.of(5L, 10L, 12L));
+        filter.rebuild();
+        assertThrows(IllegalStateException.class, filter::rebuild);
+
+        // Act
+        filter.rebuild();
+
+        // Assert
+        assertTrue(filter.mightExist(12L));
+        assertFalse(filter.mightExist(11L));
+    }
+
+    @Test
+    void rebuild_MaxIdAboveLimit_ShouldLeaveFilterOff() {
+        // Arrange
+        when(flightRepository.findMaxId()).thenReturn(5000L);
+
+        // Act
+        filter.rebuild();
+
+        // Assert
+        assertTrue(filter.mightExist(3L));
+        verify(flightRepository, never()).streamAllIds();
+    }
+
+    @Test
+    void rebuild_Disabled_ShouldNotScan() {
+        // Arrange
+        flightConfig.setIdFilterEnabled(false);
+
+        // Act
+        filter.rebuild();
+
+        // Assert
+        assertTrue(filter.mightExist(3L));
+        verifyNoInteractions(flightRepository);
+    }
+
+    private static FlightDto flight(Long id) {
+        return new FlightDto(id, "AA", "1234", LocalDate.of(2025, 3, 15), "JFK", "LHR");
+    }
+}
@@ -0,0 +1,213 @@
+package com.flightapp.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.flightapp.config.CacheConfig;
+import com.flightapp.dto.FlightDto;
+import com.flightapp.event.FlightChangeEvent;
+import com.flightapp.format.FlightFormat;
+import com.flightapp.format.FlightProtobuf;
+import com.flightapp.format.FlightSerializer;
+import com.flightapp.util.Versioned;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlightResponseCacheTest {
+
+    private CacheConfig cacheConfig;
+    private ObjectMapper objectMapper;
+    private FlightResponseCache responseCache;
+    private AtomicInteger loads;
+
+    @BeforeEach
+    void setUp() {
+        cacheConfig = new CacheConfig();
+        cacheConfig.setResponsesEnabled(true);
+        cacheConfig.setResponsesFlightsMaxSize(100);
+        cacheConfig.setResponsesCollectionMaxBytes(1 << 20);
+        cacheConfig.setResponsesGzip(true);
+        cacheConfig.setResponsesGzipMinBytes(1024);
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        responseCache = new FlightResponseCache(cacheConfig, new FlightSerializer(objectMapper,
+                new MappingJackson2CborHttpMessageConverter(), new MappingJackson2SmileHttpMessageConverter()));
+        loads = new AtomicInteger();
+    }
+
+    @Test
+    void getAllFlights_SameVersion_ShouldSerializeOnce() throws Exception {
+        // Arrange
+        List<FlightDto> flights = List.of(flight(1L), flight(2L));
+
+        // Act
+        FlightResponseCache.Payload first = responseCache.getAllFlights(7L, FlightFormat.JSON, loader(flights, 7L));
+        FlightResponseCache.Payload second = responseCache.getAllFlights(7L, FlightFormat.JSON, loader(flights, 7L));
+
+        // Assert
+        assertEquals(1, loads.get());
+        assertSame(first, second);
+        assertEquals(7L, second.getVersion());
+        assertArrayEquals(objectMapper.writeValueAsBytes(flights), second.getBytes());
+    }
+
+    @Test
+    void getAllFlights_OtherFormat_ShouldBeKeptSeparately() throws Exception {
+        // Arrange
+        List<FlightDto> flights = List.of(flight(1L), flight(2L));
+        FlightResponseCache.Payload json = responseCache.getAllFlights(7L, FlightFormat.JSON, loader(flights, 7L));
+
+        // Act
+        FlightResponseCache.Payload protobuf = responseCache.getAllFlights(7L, FlightFormat.PROTOBUF, loader(flights, 7L));
+
+        // Assert
+        assertEquals(2, loads.get());
+        assertSame(json, responseCache.getAllFlights(7L, FlightFormat.JSON, loader(flights, 7L)));
+        assertSame(protobuf, responseCache.getAllFlights(7L, FlightFormat.PROTOBUF, loader(flights, 7L)));
+        assertEquals(flights, FlightProtobuf.readFlightList(new ByteArrayInputStream(protobuf.getBytes())));
+        assertTrue(protobuf.getBytes().length < json.getBytes().length);
+    }
+
+    @Test
+    void getAllFlights_ChangedWhileRead_ShouldNotKeepPayload() {
+        // Act
+        FlightResponseCache.Payload payload = responseCache.getAllFlights(7L, FlightFormat.JSON, loader(List.of(flight(1L)), null));
+        responseCache.getAllFlights(7L, FlightFormat.JSON, loader(List.of(flight(1L)), null));
+
+        // Assert
+        assertNull(payload.getVersion());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getAllFlights_OtherVersion_ShouldLoadAgain() {
+        // Act
+        responseCache.getAllFlights(7L, FlightFormat.JSON, loader(List.of(flight(1L)), 7L));
+        FlightResponseCache.Payload payload = responseCache.getAllFlights(8L, FlightFormat.JSON, loader(List.of(flight(1L), flight(2L)), 8L));
+
+        // Assert
+        assertEquals(2, loads.get());
+        assertEquals(8L, payload.getVersion());
+    }
+
+    @Test
+    void getAllFlights_LargerThanLimit_ShouldNotKeepPayload() {
+        // Arrange
+        cacheConfig.setResponsesCollectionMaxBytes(100);
+        List<FlightDto> flights = List.of(flight(1L), flight(2L));
+
+        // Act
+        responseCache.getAllFlights(7L, FlightFormat.JSON, loader(flights, 7L));
+        responseCache.getAllFlights(7L, FlightFormat.JSON, loader(flights, 7L));
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getAllFlights_LargeList_ShouldGzipToSameJson() throws IOException {
+        // Arrange
+        List<FlightDto> flights = LongStream.rangeClosed(1, 50).mapToObj(FlightResponseCacheTest::flight).toList();
+
+        // Act
+        FlightResponseCache.Payload payload = responseCache.getAllFlights(7L, FlightFormat.JSON, loader(flights, 7L));
+
+        // Assert
+        assertTrue(payload.isCompressible());
+        assertTrue(payload.getGzipped().length < payload.getBytes().length);
+        assertSame(payload.getGzipped(), payload.getGzipped());
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(payload.getGzipped()))) {
+            assertArrayEquals(payload.getBytes(), in.readAllBytes());
+        }
+    }
+
+    @Test
+    void getAllFlights_Disabled_ShouldLoadEveryTime() {
+        // Arrange
+        cacheConfig.setResponsesEnabled(false);
+
+        // Act
+        responseCache.getAllFlights(7L, FlightFormat.JSON, loader(List.of(flight(1L)), 7L));
+        responseCache.getAllFlights(7L, FlightFormat.JSON, loader(List.of(flight(1L)), 7L));
+
+        // Assert
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getFlight_SameVersion_ShouldSerializeOnce() {
+        // Act
+        FlightResponseCache.Payload first = responseCache.getFlight(1L, 3L, FlightFormat.JSON, id -> load(flight(id, 3L)));
+        FlightResponseCache.Payload second = responseCache.getFlight(1L, 3L, FlightFormat.JSON, id -> load(flight(id, 3L)));
+
+        // Assert
+        assertEquals(1, loads.get());
+        assertSame(first, second);
+        assertFalse(second.isCompressible());
+    }
+
+    @Test
+    void getFlight_StaleEntry_ShouldReplaceIt() {
+        // Arrange
+        responseCache.getFlight(1L, 3L, FlightFormat.JSON, id -> load(flight(id, 3L)));
+
+        // Act
+        FlightResponseCache.Payload updated = responseCache.getFlight(1L, 4L, FlightFormat.JSON, id -> load(flight(id, 4L)));
+        FlightResponseCache.Payload again = responseCache.getFlight(1L, 4L, FlightFormat.JSON, id -> load(flight(id, 4L)));
+
+        // Assert
+        assertEquals(4L, updated.getVersion());
+        assertSame(updated, again);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void onFlightChange_ShouldDropListAndChangedFlights() {
+        // Arrange
+        responseCache.getAllFlights(7L, FlightFormat.JSON, loader(List.of(flight(1L), flight(2L)), 7L));
+        responseCache.getFlight(1L, 3L, FlightFormat.JSON, id -> load(flight(id, 3L)));
+        responseCache.getFlight(2L, 3L, FlightFormat.JSON, id -> load(flight(id, 3L)));
+        responseCache.getFlight(1L, 3L, FlightFormat.CBOR, id -> load(flight(id, 3L)));
+
+        // Act
+        responseCache.onFlightChange(FlightChangeEvent.deleted(flight(1L)));
+
+        // Assert
+        responseCache.getAllFlights(7L, FlightFormat.JSON, loader(List.of(flight(2L)), 7L));
+        responseCache.getFlight(1L, 3L, FlightFormat.JSON, id -> load(flight(id, 3L)));
+        responseCache.getFlight(2L, 3L, FlightFormat.JSON, id -> load(flight(id, 3L)));
+        responseCache.getFlight(1L, 3L, FlightFormat.CBOR, id -> load(flight(id, 3L)));
+        assertEquals(7, loads.get());
+    }
+
+    private Supplier<Versioned<List<FlightDto>>> loader(List<FlightDto> flights, Long version) {
+        return () -> load(new Versioned<>(flights, version));
+    }
+
+    private <T> T load(T value) {
+        loads.incrementAndGet();
+        return value;
+    }
+
+    private static FlightDto flight(long id) {
+        return flight(id, 1L);
+    }
+
+    private static FlightDto flight(long id, long changeVersion) {
+        return new FlightDto(id, "AA", String.format("%04d", id), LocalDate.of(2025, 3, 15), "JFK", "LHR", changeVersion);
+    }
+}
@@ -0,0 +1,252 @@
+package com.flightapp.cache;
+
+import com.flightapp.config.FlightConfig;
+import com.flightapp.dto.FlightDto;
+import com.flightapp.dto.RouteIndexStatsDto;
+import com.flightapp.event.FlightChangeEvent;
+import com.flightapp.model.Flight;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.store.FlightCodec;
+import com.flightapp.util.FlightCursor;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RouteIndexTest {
+
+    private static final LocalDate MAR_10 = LocalDate.of(2025, 3, 10);
+    private static final LocalDate MAR_20 = LocalDate.of(2025, 3, 20);
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FlightConfig flightConfig;
+    private RouteIndex routeIndex;
+
+    @BeforeEach
+    void setUp() {
+        flightConfig = new FlightConfig();
+        flightConfig.setRouteIndexEnabled(true);
+        routeIndex = new RouteIndex(flightRepository, flightConfig, new FlightCodec(), entityManager, transactionManager);
+    }
+
+    @Test
+    void find_BeforeRebuild_ShouldReturnNull() {
+        // Act & Assert
+        assertFalse(routeIndex.isReady());
+        assertNull(routeIndex.find("JFK", "LHR", null, null, null, null, 10));
+    }
+
+    @Test
+    void find_ShouldReturnRouteFlightsInDateThenIdOrder() {
+        // Arrange
+        load(flight(7L, "BA", MAR_20, "JFK", "LHR"),
+                flight(3L, "AA", MAR_20, "JFK", "LHR"),
+                flight(5L, "AA", MAR_10, "JFK", "LHR"),
+                flight(4L, "AA", MAR_10, "LHR", "JFK"));
+
+        // Act
+        List<FlightDto> all = routeIndex.find("JFK", "LHR", null, null, null, null, 10);
+        List<FlightDto> carrier = routeIndex.find("JFK", "LHR", "AA", null, null, null, 10);
+        List<FlightDto> range = routeIndex.find("JFK", "LHR", null, MAR_20, MAR_20, null, 10);
+        List<FlightDto> unknown = routeIndex.find("JFK", "DXB", null, null, null, null, 10);
+
+        // Assert
+        assertEquals(List.of(5L, 3L, 7L), ids(all));
+        assertEquals(List.of(5L, 3L), ids(carrier));
+        assertEquals(List.of(3L, 7L), ids(range));
+        assertTrue(unknown.isEmpty());
+    }
+
+    @Test
+    void find_WithCursor_ShouldResumeInsideDate() {
+        // Arrange
+        load(flight(3L, "AA", MAR_20, "JFK", "LHR"),
+                flight(5L, "AA", MAR_10, "JFK", "LHR"),
+                flight(7L, "BA", MAR_20, "JFK", "LHR"));
+
+        // Act
+        List<FlightDto> page = routeIndex.find("JFK", "LHR", null, null, null,
+                FlightCursor.afterDateAndId(MAR_20, 3L), 1);
+
+        // Assert
+        assertEquals(List.of(7L), ids(page));
+    }
+
+    @Test
+    void onFlightChange_ShouldAddMoveAndRemoveFlights() {
+        // Arrange
+        load(flight(3L, "AA", MAR_20, "JFK", "LHR"));
+
+        // Act
+        routeIndex.onFlightChange(FlightChangeEvent.saved(List.of(flight(9L, "EK", MAR_10, "JFK", "LHR"))));
+        // Flight 3 is saved again on a different route
+        routeIndex.onFlightChange(FlightChangeEvent.saved(List.of(flight(3L, "AA", MAR_20, "JFK", "DXB"))));
+        routeIndex.onFlightChange(FlightChangeEvent.deleted(flight(9L, "EK", MAR_10, "JFK", "LHR")));
+
+        // Assert
+        assertTrue(routeIndex.find("JFK", "LHR", null, null, null, null, 10).isEmpty());
+        assertEquals(List.of(3L), ids(routeIndex.find("JFK", "DXB", null, null, null, null, 10)));
+        RouteIndexStatsDto stats = routeIndex.stats();
+        assertEquals(1, stats.getFlights());
+        assertEquals(1, stats.getRoutes());
+        assertTrue(stats.getEstimatedBytesPerMillionFlights() > 0);
+    }
+
+    @Test
+    void onFlightChange_IdsOutOfOrder_ShouldFileEachFlightOnce() {
+        // Arrange
+        load(flight(100L, "AA", MAR_20, "JFK", "LHR"));
+
+        // Act: a lower pooled block commits after a higher one, then an update moves its date
+        routeIndex.onFlightChange(FlightChangeEvent.saved(List.of(
+                flight(51L, "AA", MAR_20, "JFK", "LHR"), flight(52L, "BA", MAR_10, "JFK", "LHR"))));
+        routeIndex.onFlightChange(FlightChangeEvent.saved(List.of(flight(51L, "AA", MAR_10, "JFK", "LHR"))));
+        routeIndex.onFlightChange(FlightChangeEvent.saved(List.of(flight(100L, "AA", MAR_20, "JFK", "LHR"))));
+
+        // Assert
+        assertEquals(List.of(51L, 52L, 100L), ids(routeIndex.find("JFK", "LHR", null, null, null, null, 10)));
+        assertEquals(3, routeIndex.stats().getFlights());
+    }
+
+    @Test
+    void onFlightChange_ManyFlights_ShouldTrackEveryMoveAndDelete() {
+        // Arrange
+        load();
+        List<FlightDto> saved = new ArrayList<>();
+        for (long id = 1; id <= 5000; id++) {
+            saved.add(flight(id, "AA", id % 2 == 0 ? MAR_10 : MAR_20, "JFK", "LHR"));
+        }
+        routeIndex.onFlightChange(FlightChangeEvent.saved(saved));
+
+        // Act: move every third flight to another route, then delete every even one
+        for (long id = 3; id <= 5000; id += 3) {
+            routeIndex.onFlightChange(FlightChangeEvent.saved(List.of(flight(id, "AA", MAR_10, "JFK", "DXB"))));
+        }
+        List<FlightDto> even = saved.stream().filter(flight -> flight.getId() % 2 == 0).toList();
+        routeIndex.onFlightChange(FlightChangeEvent.deleted(even));
+
+        // Assert: odd IDs remain, those divisible by three on the new route
+        List<Long> lhr = ids(routeIndex.find("JFK", "LHR", null, null, null, null, 5000));
+        List<Long> dxb = ids(routeIndex.find("JFK", "DXB", null, null, null, null, 5000));
+        assertEquals(1667, lhr.size());
+        assertEquals(833, dxb.size());
+        assertTrue(lhr.stream().allMatch(id -> id % 2 == 1 && id % 3 != 0));
+        assertTrue(dxb.stream().allMatch(id -> id % 2 == 1 && id % 3 == 0));
+        assertEquals(2500, routeIndex.stats().getFlights());
+    }
+
+    @Test
+    void find_ShouldReturnCopies() {
+        // Arrange
+        load(flight(3L, "AA", MAR_20, "JFK", "LHR"));
+
+        // Act
+        routeIndex.find("JFK", "LHR", null, null, null, null, 10).get(0).setCarrierCode("ZZ");
+
+        // Assert
+        assertEquals("AA", routeIndex.find("JFK", "LHR", null, null, null, null, 10).get(0).getCarrierCode());
+    }
+
+    @Test
+    void rebuild_ShouldReplaceIndexWithTableContents() {
+        // Arrange
+        load(flight(3L, "AA", MAR_20, "JFK", "LHR"),
+                flight(5L, "AA", MAR_10, "JFK", "LHR"));
+        // Written elsewhere: flight 3 deleted, flight 5 moved and flight 8 added, with no events here
+        when(flightRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(
+                flight(5L, "AA", MAR_10, "JFK", "DXB"),
+                flight(8L, "BA", MAR_20, "JFK", "LHR")).map(RouteIndexTest::entity));
+
+        // Act
+        routeIndex.rebuild();
+
+        // Assert
+        assertEquals(List.of(8L), ids(routeIndex.find("JFK", "LHR", null, null, null, null, 10)));
+        assertEquals(List.of(5L), ids(routeIndex.find("JFK", "DXB", null, null, null, null, 10)));
+        assertEquals(2, routeIndex.stats().getFlights());
+    }
+
+    @Test
+    void rebuild_ChangesDuringScan_ShouldBeReplayed() {
+        // Arrange
+        when(flightRepository.streamAllByOrderByIdAsc()).thenAnswer(invocation -> {
+            // Committed while the scan is running, after the row was already read
+            routeIndex.onFlightChange(FlightChangeEvent.deleted(flight(3L, "AA", MAR_20, "JFK", "LHR")));
+            return Stream.of(flight(3L, "AA", MAR_20, "JFK", "LHR"),
+                    flight(5L, "AA", MAR_10, "JFK", "LHR")).map(RouteIndexTest::entity);
+        });
+
+        // Act
+        routeIndex.rebuild();
+
+        // Assert
+        assertEquals(List.of(5L), ids(routeIndex.find("JFK", "LHR", null, null, null, null, 10)));
+    }
+
+    @Test
+    void rebuild_ScanFails_ShouldKeepPreviousIndex() {
+        // Arrange
+        load(flight(3L, "AA", MAR_20, "JFK", "LHR"));
+        when(flightRepository.streamAllByOrderByIdAsc()).thenThrow(new IllegalStateException("connection lost"));
+
+        // Act
+        routeIndex.rebuild();
+        routeIndex.onFlightChange(FlightChangeEvent.saved(List.of(flight(9L, "EK", MAR_10, "JFK", "LHR"))));
+
+        // Assert
+        assertTrue(routeIndex.isReady());
+        assertEquals(List.of(9L, 3L), ids(routeIndex.find("JFK", "LHR", null, null, null, null, 10)));
+    }
+
+    @Test
+    void rebuild_Disabled_ShouldStayUnloaded() {
+        // Arrange
+        flightConfig.setRouteIndexEnabled(false);
+
+        // Act
+        routeIndex.rebuild();
+
+        // Assert
+        assertFalse(routeIndex.isReady());
+        verifyNoInteractions(flightRepository);
+    }
+
+    private void load(FlightDto... flights) {
+        when(flightRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(flights).map(RouteIndexTest::entity));
+        routeIndex.rebuild();
+        assertTrue(routeIndex.isReady());
+    }
+
+    private static FlightDto flight(Long id, String carrier, LocalDate date, String origin, String destination) {
+        return new FlightDto(id, carrier, "1234", date, origin, destination);
+    }
+
+    private static Flight entity(FlightDto dto) {
+        return new Flight(dto.getId(), dto.getCarrierCode(), dto.getFlightNumber(), dto.getFlightDate(),
+                dto.getOrigin(), dto.getDestination());
+    }
+
+    private static List<Long> ids(List<FlightDto> flights) {
+        return flights.stream().map(FlightDto::getId).toList();
+    }
+}
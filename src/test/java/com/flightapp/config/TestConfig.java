@@ -1,8 +1,11 @@
 package com.flightapp.config;
 
+import com.flightapp.security.JwtAuthenticationCache;
 import com.flightapp.security.JwtAuthenticationFilter;
 import com.flightapp.security.JwtTokenProvider;
 import com.flightapp.security.UserDetailsServiceImpl;
+import io.jsonwebtoken.Jwts;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.springframework.boot.test.context.TestConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Primary;
@@ -24,6 +27,7 @@ public class TestConfig {
         when(mockProvider.createToken(any(Authentication.class))).thenReturn("test-jwt-token");
         when(mockProvider.validateToken(any(String.class))).thenReturn(true);
         when(mockProvider.getUsernameFromToken(any(String.class))).thenReturn("testuser");
+        when(mockProvider.parseClaims(any(String.class))).thenReturn(Jwts.claims().setSubject("testuser"));
         return mockProvider;
     }
 
@@ -56,6 +60,7 @@ public class TestConfig {
         JwtTokenProvider tokenProvider = jwtTokenProvider();
         UserDetailsServiceImpl userDetailsService = userDetailsService();
         JwtConfig jwtConfig = jwtConfig();
-        return new JwtAuthenticationFilter(tokenProvider, userDetailsService, jwtConfig);
+        return new JwtAuthenticationFilter(tokenProvider, userDetailsService, jwtConfig,
+                new JwtAuthenticationCache(jwtConfig), new SimpleMeterRegistry());
     }
 }
\ No newline at end of file
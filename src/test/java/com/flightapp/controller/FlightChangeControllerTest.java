@@ -0,0 +1,72 @@
+package com.flightapp.controller;
+
+import com.flightapp.config.TestConfig;
+import com.flightapp.config.TestMethodSecurityConfig;
+import com.flightapp.config.TestSecurityConfig;
+import com.flightapp.dto.FlightDto;
+import com.flightapp.event.FlightChangeFeed;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(FlightChangeController.class)
+@Import({TestConfig.class, TestSecurityConfig.class, TestMethodSecurityConfig.class})
+public class FlightChangeControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private FlightChangeFeed flightChangeFeed;
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void streamChanges_WithLastEventId_ShouldStreamEventsAfterIt() throws Exception {
+        // Arrange
+        FlightDto flight = new FlightDto(1L, "AA", "1234", LocalDate.of(2025, 3, 15), "JFK", "LHR");
+        when(flightChangeFeed.subscribe(41L)).thenReturn(Flux.just(
+                ServerSentEvent.builder(flight).id("42").event("saved").build()));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/flights/changes")
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .header("Last-Event-ID", "41"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(containsString("id:42\nevent:saved\ndata:{\"id\":1,")));
+    }
+
+    @Test
+    @WithMockUser(roles = "GUEST")
+    void streamChanges_WithoutFlightRole_ShouldReturnForbidden() throws Exception {
+        // Act & Assert: answered by the exception handler itself, not by a fallback after it failed
+        mockMvc.perform(get("/flights/changes").accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(status().isForbidden())
+                .andExpect(result -> assertInstanceOf(AccessDeniedException.class, result.getResolvedException()))
+                .andExpect(content().string(""));
+
+        verifyNoInteractions(flightChangeFeed);
+    }
+}
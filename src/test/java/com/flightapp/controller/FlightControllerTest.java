@@ -1,13 +1,30 @@
 package com.flightapp.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.flightapp.cache.FlightResponseCache;
+import com.flightapp.config.CacheConfig;
+import com.flightapp.config.FlightFormatConfig;
 import com.flightapp.config.TestConfig;
 import com.flightapp.config.TestMethodSecurityConfig;
 import com.flightapp.config.TestSecurityConfig;
+import com.flightapp.dto.FlightBatchItemResult;
+import com.flightapp.dto.FlightBatchResponse;
+import com.flightapp.dto.FlightDeleteResponse;
+import com.flightapp.dto.FlightDeltaDto;
 import com.flightapp.dto.FlightDto;
+import com.flightapp.dto.FlightPageDto;
+import com.flightapp.dto.FlightSearchCriteria;
+import com.flightapp.exception.BadRequestException;
 import com.flightapp.exception.ResourceNotFoundException;
+import com.flightapp.format.FlightFormat;
+import com.flightapp.format.FlightProtobuf;
+import com.flightapp.format.FlightSerializer;
 import com.flightapp.service.FlightService;
+import com.flightapp.util.FlightCursor;
+import com.flightapp.util.Versioned;
+import com.google.protobuf.UnknownFieldSet;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.ArgumentMatchers;
@@ -15,26 +32,38 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
 
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(FlightController.class)
-@Import({TestConfig.class, TestSecurityConfig.class, TestMethodSecurityConfig.class})
+@Import({TestConfig.class, TestSecurityConfig.class, TestMethodSecurityConfig.class, CacheConfig.class, FlightResponseCache.class,
+        FlightSerializer.class, FlightFormatConfig.class})
 public class FlightControllerTest {
 
     @Autowired
@@ -43,6 +72,9 @@ public class FlightControllerTest {
     @MockBean
     private FlightService flightService;
 
+    @Autowired
+    private FlightResponseCache flightResponseCache;
+
     private ObjectMapper objectMapper;
     private FlightDto flightDto1;
     private FlightDto flightDto2;
@@ -51,6 +83,7 @@ public class FlightControllerTest {
     void setUp() {
         objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
+        flightResponseCache.invalidateAll();
 
         // Setup test data
         LocalDate testDate = LocalDate.of(2025, 3, 15);
@@ -105,34 +138,125 @@ public class FlightControllerTest {
         // That's actually the correct behavior
     }
 
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void addFlights_ShouldReturnPerItemResults() throws Exception {
+        // Arrange
+        FlightBatchResponse response = new FlightBatchResponse(1, 1, List.of(
+                new FlightBatchItemResult(0, FlightBatchItemResult.Status.CREATED, 101L, null),
+                new FlightBatchItemResult(1, FlightBatchItemResult.Status.REJECTED, null,
+                        Map.of("origin", "Origin must be a valid 3-character IATA airport code"))));
+        when(flightService.addFlights(ArgumentMatchers.anyList())).thenReturn(response);
+
+        // Act & Assert
+        mockMvc.perform(post("/flights/batch")
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(flightDto1, flightDto2))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.results[0].id").value(101))
+                .andExpect(jsonPath("$.results[1].status").value("REJECTED"))
+                .andExpect(jsonPath("$.results[1].errors.origin").exists());
+
+        verify(flightService, times(1)).addFlights(ArgumentMatchers.anyList());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void addFlights_AsUser_ShouldReturnForbidden() throws Exception {
+        mockMvc.perform(post("/flights/batch")
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(List.of(flightDto1))))
+                .andExpect(status().isForbidden());
+
+        verify(flightService, never()).addFlights(ArgumentMatchers.anyList());
+    }
+
     @Test
     @WithMockUser(roles = "USER")
     void getFlightById_ExistingId_ShouldReturnFlight() throws Exception {
         // Arrange
+        flightDto1.setChangeVersion(3);
+        when(flightService.getFlightVersion(1L)).thenReturn(3L);
         when(flightService.getFlightById(1L)).thenReturn(flightDto1);
 
         // Act & Assert
         mockMvc.perform(get("/flights/1"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache, private"))
                 .andExpect(jsonPath("$.id").value(flightDto1.getId()))
                 .andExpect(jsonPath("$.carrierCode").value(flightDto1.getCarrierCode()))
-                .andExpect(jsonPath("$.flightNumber").value(flightDto1.getFlightNumber()));
+                .andExpect(jsonPath("$.flightNumber").value(flightDto1.getFlightNumber()))
+                .andExpect(jsonPath("$.changeVersion").doesNotExist());
 
         verify(flightService, times(1)).getFlightById(1L);
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    void getFlightById_SameVersionTwice_ShouldReadFlightOnce() throws Exception {
+        // Arrange
+        flightDto1.setChangeVersion(3);
+        when(flightService.getFlightVersion(1L)).thenReturn(3L);
+        when(flightService.getFlightById(1L)).thenReturn(flightDto1);
+        String first = mockMvc.perform(get("/flights/1")).andReturn().getResponse().getContentAsString();
+
+        // Act & Assert
+        mockMvc.perform(get("/flights/1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(first));
+
+        verify(flightService, times(1)).getFlightById(1L);
+        verify(flightService, times(2)).getFlightVersion(1L);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getFlightById_IfNoneMatchCurrent_ShouldReturnNotModifiedWithoutReadingFlight() throws Exception {
+        // Arrange
+        when(flightService.getFlightVersion(1L)).thenReturn(3L);
+
+        // Act & Assert
+        mockMvc.perform(get("/flights/1").header(HttpHeaders.IF_NONE_MATCH, "\"2\", W/\"3\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(content().string(""));
+
+        verify(flightService, never()).getFlightById(anyLong());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getFlightById_IfNoneMatchStale_ShouldReturnFlight() throws Exception {
+        // Arrange
+        flightDto1.setChangeVersion(3);
+        when(flightService.getFlightVersion(1L)).thenReturn(3L);
+        when(flightService.getFlightById(1L)).thenReturn(flightDto1);
+
+        // Act & Assert
+        mockMvc.perform(get("/flights/1").header(HttpHeaders.IF_NONE_MATCH, "\"2\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3\""))
+                .andExpect(jsonPath("$.id").value(flightDto1.getId()));
+    }
+
     @Test
     @WithMockUser(roles = "USER")
     void getFlightById_NonExistingId_ShouldReturnNotFound() throws Exception {
         // Arrange
-        when(flightService.getFlightById(999L))
+        when(flightService.getFlightVersion(999L))
                 .thenThrow(new ResourceNotFoundException("Flight", "id", 999L));
 
         // Act & Assert
         mockMvc.perform(get("/flights/999"))
                 .andExpect(status().isNotFound());
 
-        verify(flightService, times(1)).getFlightById(999L);
+        verify(flightService, never()).getFlightById(anyLong());
     }
 
     @Test
@@ -143,11 +267,13 @@ public class FlightControllerTest {
         flightList.add(flightDto1);
         flightList.add(flightDto2);
 
-        when(flightService.getAllFlights()).thenReturn(flightList);
+        when(flightService.getFlightsVersion()).thenReturn(7L);
+        when(flightService.getAllFlights()).thenReturn(new Versioned<>(flightList, 7L));
 
         // Act & Assert
         mockMvc.perform(get("/flights"))
                 .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7\""))
                 .andExpect(jsonPath("$", hasSize(2)))
                 .andExpect(jsonPath("$[0].id").value(flightDto1.getId()))
                 .andExpect(jsonPath("$[1].id").value(flightDto2.getId()));
@@ -155,6 +281,318 @@ public class FlightControllerTest {
         verify(flightService, times(1)).getAllFlights();
     }
 
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllFlights_Unchanged_ShouldReuseSerializedList() throws Exception {
+        // Arrange
+        when(flightService.getFlightsVersion()).thenReturn(7L, 7L, 8L);
+        when(flightService.getAllFlights())
+                .thenReturn(new Versioned<>(List.of(flightDto1), 7L), new Versioned<>(List.of(flightDto1, flightDto2), 8L));
+
+        // Act & Assert
+        mockMvc.perform(get("/flights")).andExpect(jsonPath("$", hasSize(1)));
+        mockMvc.perform(get("/flights")).andExpect(jsonPath("$", hasSize(1)));
+        verify(flightService, times(1)).getAllFlights();
+
+        mockMvc.perform(get("/flights"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"8\""))
+                .andExpect(jsonPath("$", hasSize(2)));
+        verify(flightService, times(2)).getAllFlights();
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllFlights_LargeListAcceptingGzip_ShouldReturnGzippedBody() throws Exception {
+        // Arrange
+        List<FlightDto> flights = new ArrayList<>();
+        for (long id = 1; id <= 50; id++) {
+            flights.add(new FlightDto(id, "AA", "1234", LocalDate.of(2025, 3, 15), "JFK", "LHR"));
+        }
+        when(flightService.getFlightsVersion()).thenReturn(7L);
+        when(flightService.getAllFlights()).thenReturn(new Versioned<>(flights, 7L));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/flights").header(HttpHeaders.ACCEPT_ENCODING, "br, gzip;q=0.8"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7-gzip\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem("Accept, Accept-Encoding")))
+                .andReturn();
+
+        // Assert
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(result.getResponse().getContentAsByteArray()))) {
+            assertEquals(50, objectMapper.readTree(in).size());
+        }
+        mockMvc.perform(get("/flights").header(HttpHeaders.IF_NONE_MATCH, "\"7-gzip\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7-gzip\""));
+        mockMvc.perform(get("/flights").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7\""))
+                .andExpect(jsonPath("$", hasSize(50)));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllFlights_IfNoneMatchCurrent_ShouldReturnNotModifiedWithoutReadingFlights() throws Exception {
+        // Arrange
+        when(flightService.getFlightsVersion()).thenReturn(7L);
+
+        // Act & Assert
+        mockMvc.perform(get("/flights").header(HttpHeaders.IF_NONE_MATCH, "\"7\""))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7\""));
+
+        verify(flightService, never()).getAllFlights();
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllFlights_ChangedWhileReading_ShouldOmitETag() throws Exception {
+        // Arrange
+        when(flightService.getFlightsVersion()).thenReturn(7L);
+        when(flightService.getAllFlights()).thenReturn(new Versioned<>(List.of(flightDto1), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/flights").header(HttpHeaders.IF_NONE_MATCH, "\"6\""))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.ETAG))
+                .andExpect(jsonPath("$", hasSize(1)));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllFlights_AcceptProtobuf_ShouldReturnProtobufList() throws Exception {
+        // Arrange
+        when(flightService.getFlightsVersion()).thenReturn(7L);
+        when(flightService.getAllFlights()).thenReturn(new Versioned<>(List.of(flightDto1, flightDto2), 7L));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/flights").accept(FlightFormat.PROTOBUF.getMediaType()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(FlightFormat.PROTOBUF.getMediaType()))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7-protobuf\""))
+                .andExpect(header().stringValues(HttpHeaders.VARY, hasItem("Accept")))
+                .andReturn();
+
+        // Assert
+        assertEquals(List.of(flightDto1, flightDto2),
+                FlightProtobuf.readFlightList(new ByteArrayInputStream(result.getResponse().getContentAsByteArray())));
+        mockMvc.perform(get("/flights")
+                        .accept(FlightFormat.PROTOBUF.getMediaType())
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"7-protobuf\""))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/flights").header(HttpHeaders.IF_NONE_MATCH, "\"7-protobuf\""))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"7\""));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getFlightById_AcceptCbor_ShouldReturnCborFlight() throws Exception {
+        // Arrange
+        flightDto1.setChangeVersion(3);
+        when(flightService.getFlightVersion(1L)).thenReturn(3L);
+        when(flightService.getFlightById(1L)).thenReturn(flightDto1);
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/flights/1").accept(FlightFormat.CBOR.getMediaType()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(FlightFormat.CBOR.getMediaType()))
+                .andExpect(header().string(HttpHeaders.ETAG, "\"3-cbor\""))
+                .andReturn();
+
+        // Assert
+        assertEquals(flightDto1, cborMapper().readValue(result.getResponse().getContentAsByteArray(), FlightDto.class));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllFlights_NoAcceptableFormat_ShouldReturnNotAcceptable() throws Exception {
+        // Arrange
+        when(flightService.getFlightsVersion()).thenReturn(7L);
+
+        // Act & Assert
+        mockMvc.perform(get("/flights").accept(MediaType.APPLICATION_XML))
+                .andExpect(status().isNotAcceptable());
+
+        verify(flightService, never()).getAllFlights();
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getFlightPage_AcceptProtobuf_ShouldReturnProtobufPage() throws Exception {
+        // Arrange
+        when(flightService.getFlightPage(null, 1, FlightCursor.Order.FLIGHT_DATE))
+                .thenReturn(new FlightPageDto(List.of(flightDto1), "aToy"));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/flights/page").param("size", "1").param("sort", "flightDate")
+                        .accept(FlightFormat.PROTOBUF.getMediaType()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(FlightFormat.PROTOBUF.getMediaType()))
+                .andReturn();
+
+        // Assert
+        UnknownFieldSet page = UnknownFieldSet.parseFrom(result.getResponse().getContentAsByteArray());
+        assertEquals(1, page.getField(1).getLengthDelimitedList().size());
+        assertEquals("aToy", page.getField(2).getLengthDelimitedList().get(0).toStringUtf8());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getFlightPage_AcceptProtobufWithJsonFallback_ShouldReturnJsonError() throws Exception {
+        mockMvc.perform(get("/flights/page").param("sort", "origin")
+                        .header(HttpHeaders.ACCEPT, "application/x-protobuf, application/json;q=0.5"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void addFlights_ProtobufBody_ShouldReturnProtobufResults() throws Exception {
+        // Arrange
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        FlightProtobuf.write(List.of(flightDto1, flightDto2), body);
+        FlightBatchResponse response = new FlightBatchResponse(1, 1, List.of(
+                new FlightBatchItemResult(0, FlightBatchItemResult.Status.CREATED, 101L, null),
+                new FlightBatchItemResult(1, FlightBatchItemResult.Status.REJECTED, null, Map.of("origin", "invalid"))));
+        when(flightService.addFlights(List.of(flightDto1, flightDto2))).thenReturn(response);
+
+        // Act
+        MvcResult result = mockMvc.perform(post("/flights/batch")
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .contentType(FlightFormat.PROTOBUF.getMediaType())
+                        .accept(FlightFormat.PROTOBUF.getMediaType())
+                        .content(body.toByteArray()))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(FlightFormat.PROTOBUF.getMediaType()))
+                .andReturn();
+
+        // Assert
+        UnknownFieldSet batch = UnknownFieldSet.parseFrom(result.getResponse().getContentAsByteArray());
+        assertEquals(List.of(1L), batch.getField(1).getVarintList());
+        assertEquals(List.of(1L), batch.getField(2).getVarintList());
+        UnknownFieldSet rejected = UnknownFieldSet.parseFrom(batch.getField(3).getLengthDelimitedList().get(1));
+        assertEquals(List.of(1L), rejected.getField(1).getVarintList());
+        assertEquals(List.of(1L), rejected.getField(2).getVarintList());
+        verify(flightService, times(1)).addFlights(List.of(flightDto1, flightDto2));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void addFlight_CborBody_ShouldReturnCreated() throws Exception {
+        // Arrange
+        when(flightService.addFlight(flightDto1)).thenReturn(flightDto1);
+
+        // Act & Assert
+        mockMvc.perform(post("/flights")
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .contentType(FlightFormat.CBOR.getMediaType())
+                        .content(cborMapper().writeValueAsBytes(flightDto1)))
+                .andExpect(status().isCreated())
+                .andExpect(jsonPath("$.id").value(flightDto1.getId()));
+
+        verify(flightService, times(1)).addFlight(flightDto1);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getFlightPage_ShouldReturnFlightsAndNextCursor() throws Exception {
+        // Arrange
+        FlightPageDto page = new FlightPageDto(List.of(flightDto1), "aToy");
+        when(flightService.getFlightPage(null, 1, FlightCursor.Order.FLIGHT_DATE)).thenReturn(page);
+
+        // Act & Assert
+        mockMvc.perform(get("/flights/page").param("size", "1").param("sort", "flightDate"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.flights", hasSize(1)))
+                .andExpect(jsonPath("$.flights[0].id").value(flightDto1.getId()))
+                .andExpect(jsonPath("$.next").value("aToy"));
+
+        verify(flightService, times(1)).getFlightPage(null, 1, FlightCursor.Order.FLIGHT_DATE);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getFlightPage_UnknownSort_ShouldReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/flights/page").param("sort", "origin"))
+                .andExpect(status().isBadRequest());
+
+        verify(flightService, never()).getFlightPage(any(), anyInt(), any());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getFlightDelta_ShouldReturnChangesSinceVersion() throws Exception {
+        // Arrange
+        FlightDeltaDto delta = new FlightDeltaDto(42, null, false, List.of(flightDto1), List.of(7L));
+        when(flightService.getFlightDelta(40L, null, 500)).thenReturn(delta);
+
+        // Act & Assert
+        mockMvc.perform(get("/flights/delta").param("since", "40"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.version").value(42))
+                .andExpect(jsonPath("$.next").doesNotExist())
+                .andExpect(jsonPath("$.saved[0].id").value(flightDto1.getId()))
+                .andExpect(jsonPath("$.deleted[0]").value(7));
+
+        verify(flightService, times(1)).getFlightDelta(40L, null, 500);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void searchFlights_ShouldPassFiltersToService() throws Exception {
+        // Arrange
+        FlightSearchCriteria criteria = new FlightSearchCriteria(
+                "JFK", "LHR", "AA", LocalDate.of(2025, 3, 1), LocalDate.of(2025, 3, 31));
+        when(flightService.searchFlights(criteria, null, 20))
+                .thenReturn(new FlightPageDto(List.of(flightDto1), null));
+
+        // Act & Assert
+        mockMvc.perform(get("/flights/search")
+                        .param("origin", "JFK")
+                        .param("destination", "LHR")
+                        .param("carrier", "AA")
+                        .param("dateFrom", "2025-03-01")
+                        .param("dateTo", "2025-03-31")
+                        .param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.flights", hasSize(1)))
+                .andExpect(jsonPath("$.next").doesNotExist());
+
+        verify(flightService, times(1)).searchFlights(criteria, null, 20);
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    @SuppressWarnings("unchecked")
+    void exportFlights_ShouldStreamNewlineDelimitedJson() throws Exception {
+        // Arrange
+        doAnswer(invocation -> {
+            Consumer<FlightDto> sink = invocation.getArgument(0);
+            sink.accept(flightDto1);
+            sink.accept(flightDto2);
+            return null;
+        }).when(flightService).exportFlights(any(Consumer.class));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/flights/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(body.endsWith("\n"));
+        assertEquals(flightDto1, objectMapper.readValue(lines[0], FlightDto.class));
+        assertEquals(flightDto2, objectMapper.readValue(lines[1], FlightDto.class));
+    }
+
     @Test
     @WithMockUser(roles = "ADMIN")
     void deleteFlight_ExistingId_ShouldReturnNoContent() throws Exception {
@@ -196,4 +634,66 @@ public class FlightControllerTest {
 
         verify(flightService, times(1)).deleteFlight(999L);
     }
-}
\ No newline at end of file
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void deleteFlights_ShouldReturnDeletedCount() throws Exception {
+        // Arrange
+        when(flightService.deleteFlights(List.of(1L, 2L, 3L))).thenReturn(new FlightDeleteResponse(2));
+
+        // Act & Assert
+        mockMvc.perform(post("/flights/batch/delete")
+                        .with(SecurityMockMvcRequestPostProcessors.csrf())
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 2, 3]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(2));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void deleteFlightsBetween_ShouldPassRangeAndReturnDeletedCount() throws Exception {
+        // Arrange
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 12, 31);
+        when(flightService.deleteFlightsBetween(from, to)).thenReturn(new FlightDeleteResponse(40));
+
+        // Act & Assert
+        mockMvc.perform(delete("/flights")
+                        .param("dateFrom", "2024-01-01")
+                        .param("dateTo", "2024-12-31")
+                        .with(SecurityMockMvcRequestPostProcessors.csrf()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(40));
+    }
+
+    @Test
+    @WithMockUser(roles = "ADMIN")
+    void deleteFlightsBetween_MissingDate_ShouldReturnBadRequest() throws Exception {
+        // Arrange
+        when(flightService.deleteFlightsBetween(LocalDate.of(2024, 1, 1), null))
+                .thenThrow(new BadRequestException("dateFrom and dateTo are required"));
+
+        // Act & Assert
+        mockMvc.perform(delete("/flights")
+                        .param("dateFrom", "2024-01-01")
+                        .with(SecurityMockMvcRequestPostProcessors.csrf()))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void deleteFlightsBetween_AsUser_ShouldReturnForbidden() throws Exception {
+        mockMvc.perform(delete("/flights")
+                        .param("dateFrom", "2024-01-01")
+                        .param("dateTo", "2024-12-31")
+                        .with(SecurityMockMvcRequestPostProcessors.csrf()))
+                .andExpect(status().isForbidden());
+
+        verify(flightService, never()).deleteFlightsBetween(any(), any());
+    }
+
+    private ObjectMapper cborMapper() {
+        return new ObjectMapper(new CBORFactory()).registerModule(new JavaTimeModule());
+    }
+}
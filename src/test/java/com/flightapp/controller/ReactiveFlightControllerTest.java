@@ -0,0 +1,140 @@
+package com.flightapp.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.flightapp.config.TestConfig;
+import com.flightapp.config.TestMethodSecurityConfig;
+import com.flightapp.config.TestSecurityConfig;
+import com.flightapp.dto.FlightDto;
+import com.flightapp.exception.ResourceNotFoundException;
+import com.flightapp.service.ReactiveFlightService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.LocalDate;
+
+import static org.hamcrest.Matchers.hasSize;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(ReactiveFlightController.class)
+@Import({TestConfig.class, TestSecurityConfig.class, TestMethodSecurityConfig.class})
+public class ReactiveFlightControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private ReactiveFlightService reactiveFlightService;
+
+    private ObjectMapper objectMapper;
+    private FlightDto flightDto1;
+    private FlightDto flightDto2;
+
+    @BeforeEach
+    void setUp() {
+        objectMapper = new ObjectMapper();
+        objectMapper.registerModule(new JavaTimeModule());
+
+        LocalDate testDate = LocalDate.of(2025, 3, 15);
+        flightDto1 = new FlightDto(1L, "AA", "1234", testDate, "JFK", "LHR");
+        flightDto2 = new FlightDto(2L, "BA", "4321", testDate, "LHR", "JFK");
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getFlightById_ExistingId_ShouldReturnFlight() throws Exception {
+        // Arrange
+        when(reactiveFlightService.getFlightById(1L)).thenReturn(Mono.just(flightDto1));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/v2/flights/1"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(1))
+                .andExpect(jsonPath("$.carrierCode").value("AA"));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getFlightById_NonExistingId_ShouldReturnNotFound() throws Exception {
+        // Arrange
+        when(reactiveFlightService.getFlightById(99L))
+                .thenReturn(Mono.error(new ResourceNotFoundException("Flight", "id", 99L)));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/v2/flights/99"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllFlights_Ndjson_ShouldStreamOneFlightPerLine() throws Exception {
+        // Arrange
+        when(reactiveFlightService.getAllFlights()).thenReturn(Flux.just(flightDto1, flightDto2));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/v2/flights").accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        String body = mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(flightDto1, objectMapper.readValue(lines[0], FlightDto.class));
+        assertEquals(flightDto2, objectMapper.readValue(lines[1], FlightDto.class));
+    }
+
+    @Test
+    @WithMockUser(roles = "USER")
+    void getAllFlights_Json_ShouldReturnArray() throws Exception {
+        // Arrange
+        when(reactiveFlightService.getAllFlights()).thenReturn(Flux.just(flightDto1, flightDto2));
+
+        // Act
+        MvcResult result = mockMvc.perform(get("/v2/flights").accept(MediaType.APPLICATION_JSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Assert
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[1].id").value(2));
+    }
+
+    @Test
+    @WithMockUser(roles = "GUEST")
+    void getAllFlights_WithoutFlightRole_ShouldReturnForbidden() throws Exception {
+        // Act & Assert
+        mockMvc.perform(get("/v2/flights"))
+                .andExpect(status().isForbidden());
+
+        verifyNoInteractions(reactiveFlightService);
+    }
+}
@@ -0,0 +1,110 @@
+package com.flightapp.datasource;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ConcurrencyLimitingDataSourceTest {
+
+    @Mock
+    private DataSource targetDataSource;
+
+    @Mock
+    private Connection connection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        lenient().when(targetDataSource.getConnection()).thenReturn(connection);
+    }
+
+    @Test
+    void getConnection_WithinPermits_ShouldDelegateAndReleaseOnClose() throws Exception {
+        // Arrange
+        ConcurrencyLimitingDataSource dataSource = new ConcurrencyLimitingDataSource(targetDataSource, 1, 100, 10);
+
+        // Act
+        Connection first = dataSource.getConnection();
+        int activeWhileOpen = dataSource.getActive();
+        first.close();
+        first.close();
+
+        // Assert
+        assertEquals(1, activeWhileOpen);
+        assertEquals(0, dataSource.getActive());
+        verify(connection, times(2)).close();
+        assertNotNull(dataSource.getConnection());
+    }
+
+    @Test
+    void getConnection_NoPermitWithinTimeout_ShouldFailTransiently() throws Exception {
+        // Arrange
+        ConcurrencyLimitingDataSource dataSource = new ConcurrencyLimitingDataSource(targetDataSource, 1, 50, 10);
+        dataSource.getConnection();
+
+        // Act & Assert
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+        verify(targetDataSource, times(1)).getConnection();
+    }
+
+    @Test
+    void getConnection_QueueFull_ShouldFailWithoutWaiting() throws Exception {
+        // Arrange
+        ConcurrencyLimitingDataSource dataSource = new ConcurrencyLimitingDataSource(targetDataSource, 1, 60_000, 0);
+        dataSource.getConnection();
+
+        // Act
+        long started = System.nanoTime();
+        assertThrows(SQLTransientConnectionException.class, dataSource::getConnection);
+
+        // Assert
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started) < 1_000);
+    }
+
+    @Test
+    void getConnection_Waiting_ShouldProceedWhenPermitReleased() throws Exception {
+        // Arrange
+        ConcurrencyLimitingDataSource dataSource = new ConcurrencyLimitingDataSource(targetDataSource, 1, 10_000, 10);
+        Connection held = dataSource.getConnection();
+        CompletableFuture<Connection> waiter = CompletableFuture.supplyAsync(() -> {
+            try {
+                return dataSource.getConnection();
+            } catch (SQLException ex) {
+                throw new IllegalStateException(ex);
+            }
+        });
+        while (dataSource.getWaiting() == 0) {
+            Thread.onSpinWait();
+        }
+
+        // Act
+        held.close();
+
+        // Assert
+        assertNotNull(waiter.get(5, TimeUnit.SECONDS));
+        assertEquals(1, dataSource.getActive());
+    }
+
+    @Test
+    void getConnection_TargetFails_ShouldReturnPermit() throws Exception {
+        // Arrange
+        when(targetDataSource.getConnection()).thenThrow(new SQLException("down"));
+        ConcurrencyLimitingDataSource dataSource = new ConcurrencyLimitingDataSource(targetDataSource, 1, 100, 10);
+
+        // Act & Assert
+        assertThrows(SQLException.class, dataSource::getConnection);
+        assertEquals(0, dataSource.getActive());
+    }
+}
@@ -0,0 +1,168 @@
+package com.flightapp.datasource;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Each in-memory H2 database knows its own name, so a query shows where it was routed.
+ */
+public class ReplicaDataSourceTest {
+
+    private static final String LAG_QUERY = "SELECT SECONDS FROM REPLICA_LAG";
+
+    private DataSource primary;
+    private DataSource replicaA;
+    private DataSource replicaB;
+
+    @BeforeEach
+    void setUp() {
+        primary = database("primary");
+        replicaA = database("replica-a");
+        replicaB = database("replica-b");
+    }
+
+    @Test
+    void readOnlyTransaction_ShouldRunOnReplica_WritesOnPrimary() {
+        // Arrange
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary,
+                replicas(ReplicaDataSource.Strategy.ROUND_ROBIN, Map.of("replica-a", replicaA)));
+        TransactionTemplate transactions = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        JdbcTemplate jdbc = new JdbcTemplate(routing);
+
+        // Act
+        String write = transactions.execute(status -> node(jdbc));
+        transactions.setReadOnly(true);
+        String read = transactions.execute(status -> node(jdbc));
+
+        // Assert
+        assertEquals("primary", write);
+        assertEquals("replica-a", read);
+    }
+
+    @Test
+    void roundRobin_ShouldAlternateReplicas() throws SQLException {
+        // Arrange
+        ReplicaDataSource replicas = replicas(ReplicaDataSource.Strategy.ROUND_ROBIN, both());
+
+        // Act & Assert
+        assertEquals("replica-a", nodeOf(replicas));
+        assertEquals("replica-b", nodeOf(replicas));
+        assertEquals("replica-a", nodeOf(replicas));
+    }
+
+    @Test
+    void leastBusy_ShouldPickReplicaWithFewestOpenConnections() throws SQLException {
+        // Arrange
+        ReplicaDataSource replicas = replicas(ReplicaDataSource.Strategy.LEAST_BUSY, both());
+
+        // Act
+        try (Connection held = replicas.getConnection()) {
+            String next = nodeOf(replicas);
+
+            // Assert
+            assertEquals("replica-a", node(held));
+            assertEquals("replica-b", next);
+        }
+        assertEquals("replica-a", nodeOf(replicas));
+    }
+
+    @Test
+    void checkReplicas_LaggingReplica_ShouldFallBackToPrimaryUntilCaughtUp() throws SQLException {
+        // Arrange
+        ReplicaDataSource replicas = replicas(ReplicaDataSource.Strategy.ROUND_ROBIN, Map.of("replica-a", replicaA));
+        new JdbcTemplate(replicaA).update("UPDATE REPLICA_LAG SET SECONDS = 45");
+
+        // Act
+        replicas.checkReplicas();
+        String whileLagging = nodeOf(replicas);
+        new JdbcTemplate(replicaA).update("UPDATE REPLICA_LAG SET SECONDS = 2");
+        replicas.checkReplicas();
+        String afterCatchingUp = nodeOf(replicas);
+
+        // Assert
+        assertEquals("primary", whileLagging);
+        assertEquals("replica-a", afterCatchingUp);
+        assertEquals(1, replicas.getPrimaryFallbacks());
+    }
+
+    @Test
+    void getConnection_ReplicaDown_ShouldSkipItAndUseTheOthers() throws SQLException {
+        // Arrange
+        JdbcDataSource down = new JdbcDataSource();
+        down.setURL("jdbc:h2:mem:replica-down;IFEXISTS=TRUE");
+        Map<String, DataSource> replicaMap = new LinkedHashMap<>();
+        replicaMap.put("replica-down", down);
+        replicaMap.put("replica-b", replicaB);
+        ReplicaDataSource replicas = replicas(ReplicaDataSource.Strategy.ROUND_ROBIN, replicaMap);
+
+        // Act & Assert
+        assertEquals("replica-b", nodeOf(replicas));
+        assertEquals("replica-b", nodeOf(replicas));
+        assertEquals(0, replicas.getPrimaryFallbacks());
+    }
+
+    @Test
+    void getConnection_AllReplicasDown_ShouldUsePrimary() throws SQLException {
+        // Arrange
+        JdbcDataSource down = new JdbcDataSource();
+        down.setURL("jdbc:h2:mem:replica-down;IFEXISTS=TRUE");
+        ReplicaDataSource replicas = replicas(ReplicaDataSource.Strategy.LEAST_BUSY, Map.of("replica-down", down));
+
+        // Act & Assert
+        assertEquals("primary", nodeOf(replicas));
+        assertEquals(1, replicas.getPrimaryFallbacks());
+    }
+
+    private ReplicaDataSource replicas(ReplicaDataSource.Strategy strategy, Map<String, DataSource> replicas) {
+        return new ReplicaDataSource(replicas, primary, strategy, LAG_QUERY, 30);
+    }
+
+    private Map<String, DataSource> both() {
+        Map<String, DataSource> replicas = new LinkedHashMap<>();
+        replicas.put("replica-a", replicaA);
+        replicas.put("replica-b", replicaB);
+        return replicas;
+    }
+
+    private static DataSource database(String name) {
+        JdbcDataSource dataSource = new JdbcDataSource();
+        dataSource.setURL("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("DROP ALL OBJECTS");
+        jdbc.execute("CREATE TABLE NODE (NAME VARCHAR(20))");
+        jdbc.update("INSERT INTO NODE VALUES (?)", name);
+        jdbc.execute("CREATE TABLE REPLICA_LAG (SECONDS NUMBER)");
+        jdbc.update("INSERT INTO REPLICA_LAG VALUES (0)");
+        return dataSource;
+    }
+
+    private static String node(JdbcTemplate jdbc) {
+        return jdbc.queryForObject("SELECT NAME FROM NODE", String.class);
+    }
+
+    private static String node(Connection connection) throws SQLException {
+        try (var statement = connection.createStatement();
+             var resultSet = statement.executeQuery("SELECT NAME FROM NODE")) {
+            resultSet.next();
+            return resultSet.getString(1);
+        }
+    }
+
+    private static String nodeOf(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            return node(connection);
+        }
+    }
+}
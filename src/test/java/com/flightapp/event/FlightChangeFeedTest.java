@@ -0,0 +1,133 @@
+package com.flightapp.event;
+
+import com.flightapp.config.FlightConfig;
+import com.flightapp.dto.FlightDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.codec.ServerSentEvent;
+import reactor.test.StepVerifier;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlightChangeFeedTest {
+
+    private FlightChangeFeed feed;
+    private FlightDto flight1;
+    private FlightDto flight2;
+    private FlightDto flight3;
+
+    @BeforeEach
+    void setUp() {
+        FlightConfig flightConfig = new FlightConfig();
+        flightConfig.setChangesBufferSize(2);
+        flightConfig.setChangesSubscriberBuffer(3);
+        feed = new FlightChangeFeed(flightConfig);
+
+        LocalDate testDate = LocalDate.of(2025, 3, 15);
+        flight1 = new FlightDto(1L, "AA", "1234", testDate, "JFK", "LHR");
+        flight2 = new FlightDto(2L, "BA", "4321", testDate, "LHR", "JFK");
+        flight3 = new FlightDto(3L, "LH", "0400", testDate, "FRA", "JFK");
+    }
+
+    @Test
+    void subscribe_ShouldReceiveEventPerFlightAfterSubscribing() {
+        // Arrange
+        feed.onFlightChange(FlightChangeEvent.saved(List.of(flight1)));
+
+        // Act & Assert
+        StepVerifier.create(feed.subscribe(null))
+                .then(() -> feed.onFlightChange(FlightChangeEvent.saved(List.of(flight2, flight3))))
+                .assertNext(event -> {
+                    assertEquals("saved", event.event());
+                    assertEquals(flight2, event.data());
+                })
+                .then(() -> feed.onFlightChange(FlightChangeEvent.deleted(flight2)))
+                .assertNext(event -> assertEquals(flight3, event.data()))
+                .assertNext(event -> {
+                    assertEquals("deleted", event.event());
+                    assertEquals(flight2, event.data());
+                })
+                .thenCancel()
+                .verify();
+        assertEquals(0, feed.getSubscriberCount());
+    }
+
+    @Test
+    void subscribe_WithLastEventId_ShouldReplayMissedEventsThenLiveOnes() {
+        // Arrange
+        String firstId = publish(FlightChangeEvent.saved(List.of(flight1))).get(0).id();
+        feed.onFlightChange(FlightChangeEvent.saved(List.of(flight2)));
+
+        // Act & Assert
+        StepVerifier.create(feed.subscribe(Long.parseLong(firstId)))
+                .assertNext(event -> assertEquals(flight2, event.data()))
+                .then(() -> feed.onFlightChange(FlightChangeEvent.saved(List.of(flight3))))
+                .assertNext(event -> assertEquals(flight3, event.data()))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void subscribe_WithLastEventIdNoLongerBuffered_ShouldSendReset() {
+        // Arrange
+        String firstId = publish(FlightChangeEvent.saved(List.of(flight1))).get(0).id();
+        feed.onFlightChange(FlightChangeEvent.saved(List.of(flight2, flight3)));
+
+        // Act & Assert
+        StepVerifier.create(feed.subscribe(Long.parseLong(firstId) - 1))
+                .assertNext(event -> {
+                    assertEquals(FlightChangeFeed.RESET, event.event());
+                    assertEquals(Long.parseLong(firstId) + 2, Long.parseLong(event.id()));
+                    assertNull(event.data());
+                })
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void subscribe_WithUnknownLastEventId_ShouldSendReset() {
+        // Act & Assert
+        StepVerifier.create(feed.subscribe(Long.MAX_VALUE))
+                .assertNext(event -> assertEquals(FlightChangeFeed.RESET, event.event()))
+                .thenCancel()
+                .verify();
+    }
+
+    @Test
+    void slowSubscriber_ShouldBeDisconnectedWhenBufferFills() {
+        // Act & Assert
+        StepVerifier.create(feed.subscribe(null), 0)
+                .then(() -> feed.onFlightChange(FlightChangeEvent.saved(List.of(flight1, flight2, flight3))))
+                .then(() -> assertEquals(1, feed.getSubscriberCount()))
+                .then(() -> feed.onFlightChange(FlightChangeEvent.deleted(flight1)))
+                .expectComplete()
+                .verify();
+        assertEquals(0, feed.getSubscriberCount());
+    }
+
+    @Test
+    void heartbeat_ShouldSendCommentToSubscribers() {
+        // Act & Assert
+        StepVerifier.create(feed.subscribe(null))
+                .then(feed::heartbeat)
+                .assertNext(event -> {
+                    assertEquals("heartbeat", event.comment());
+                    assertNull(event.id());
+                })
+                .thenCancel()
+                .verify();
+    }
+
+    // Publishes while subscribed, to learn the IDs the events were given
+    private List<ServerSentEvent<FlightDto>> publish(FlightChangeEvent event) {
+        List<ServerSentEvent<FlightDto>> events = new ArrayList<>();
+        var subscription = feed.subscribe(null).subscribe(events::add);
+        feed.onFlightChange(event);
+        subscription.dispose();
+        return events;
+    }
+}
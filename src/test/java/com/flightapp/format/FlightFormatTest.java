@@ -0,0 +1,34 @@
+package com.flightapp.format;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlightFormatTest {
+
+    @Test
+    void negotiate_NoPreference_ShouldChooseJson() {
+        // Act & Assert
+        assertEquals(FlightFormat.JSON, FlightFormat.negotiate(null));
+        assertEquals(FlightFormat.JSON, FlightFormat.negotiate("*/*"));
+        assertEquals(FlightFormat.JSON, FlightFormat.negotiate("application/*"));
+    }
+
+    @Test
+    void negotiate_ShouldFollowQualityThenSpecificity() {
+        // Act & Assert
+        assertEquals(FlightFormat.PROTOBUF, FlightFormat.negotiate("application/x-protobuf"));
+        assertEquals(FlightFormat.CBOR, FlightFormat.negotiate("application/json;q=0.5, application/cbor"));
+        assertEquals(FlightFormat.SMILE, FlightFormat.negotiate("*/*, application/x-jackson-smile"));
+        assertEquals(FlightFormat.PROTOBUF, FlightFormat.negotiate("application/x-protobuf, application/json;q=0.5"));
+    }
+
+    @Test
+    void negotiate_RefusedFormats_ShouldBeSkipped() {
+        // Act & Assert
+        assertEquals(FlightFormat.CBOR, FlightFormat.negotiate("*/*, application/json;q=0"));
+        assertNull(FlightFormat.negotiate("application/xml"));
+        assertNull(FlightFormat.negotiate("application/json;q=0"));
+        assertNull(FlightFormat.negotiate("not a media type"));
+    }
+}
@@ -0,0 +1,128 @@
+package com.flightapp.format;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.flightapp.dto.FlightBatchItemResult;
+import com.flightapp.dto.FlightBatchResponse;
+import com.flightapp.dto.FlightDeltaDto;
+import com.flightapp.dto.FlightDto;
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.UnknownFieldSet;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlightProtobufTest {
+
+    private final FlightDto flight = new FlightDto(42L, "U2", "0071", LocalDate.of(2025, 3, 15), "JFK", "LHR");
+
+    @Test
+    void write_ThenRead_ShouldRoundTrip() throws IOException {
+        // Arrange
+        List<FlightDto> flights = List.of(flight, new FlightDto(43L, "AA", "1234", LocalDate.of(1969, 12, 31), "LHR", "JFK"));
+
+        // Act
+        FlightDto decodedFlight = FlightProtobuf.readFlight(new ByteArrayInputStream(encode(flight)));
+        List<FlightDto> decodedList = FlightProtobuf.readFlightList(new ByteArrayInputStream(encode(flights)));
+
+        // Assert
+        assertEquals(flight, decodedFlight);
+        assertEquals(flights, decodedList);
+    }
+
+    @Test
+    void write_ShouldBeSmallerThanJson() throws IOException {
+        // Arrange
+        ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+        // Act
+        byte[] protobuf = encode(List.of(flight));
+
+        // Assert
+        assertTrue(protobuf.length * 3 < objectMapper.writeValueAsBytes(List.of(flight)).length);
+    }
+
+    @Test
+    void read_MissingAndUnknownFields_ShouldLeaveNullsAndSkipUnknown() throws IOException {
+        // Arrange
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        CodedOutputStream out = CodedOutputStream.newInstance(buffer);
+        out.writeString(2, "AA");
+        out.writeString(15, "added in a later version");
+        out.writeInt64(16, 7L);
+        out.writeString(6, "LHR");
+        out.flush();
+
+        // Act
+        FlightDto decoded = FlightProtobuf.readFlight(new ByteArrayInputStream(buffer.toByteArray()));
+
+        // Assert
+        assertEquals(new FlightDto(null, "AA", null, null, null, "LHR"), decoded);
+    }
+
+    @Test
+    void write_Delta_ShouldPackDeletedIds() throws IOException {
+        // Arrange
+        FlightDeltaDto delta = new FlightDeltaDto(42, "next", false, List.of(flight), List.of(7L, 300L));
+
+        // Act
+        UnknownFieldSet message = UnknownFieldSet.parseFrom(encode(delta));
+
+        // Assert
+        assertEquals(List.of(42L), message.getField(1).getVarintList());
+        assertEquals("next", message.getField(2).getLengthDelimitedList().get(0).toStringUtf8());
+        assertFalse(message.hasField(3));
+        assertEquals(flight, FlightProtobuf.readFlight(message.getField(4).getLengthDelimitedList().get(0).newInput()));
+        // Packed: one length-delimited run of varints, 7 and 300 (two bytes)
+        assertEquals(3, message.getField(5).getLengthDelimitedList().get(0).size());
+    }
+
+    @Test
+    void write_BatchResponse_ShouldEncodeItemsAndErrors() throws IOException {
+        // Arrange
+        FlightBatchResponse batch = new FlightBatchResponse(1, 1, List.of(
+                new FlightBatchItemResult(0, FlightBatchItemResult.Status.CREATED, 101L, null),
+                new FlightBatchItemResult(1, FlightBatchItemResult.Status.REJECTED, null, Map.of("origin", "invalid"))));
+
+        // Act
+        UnknownFieldSet message = UnknownFieldSet.parseFrom(encode(batch));
+
+        // Assert
+        List<UnknownFieldSet> items = message.getField(3).getLengthDelimitedList().stream()
+                .map(bytes -> parse(bytes.toByteArray())).toList();
+        assertEquals(List.of(101L), items.get(0).getField(3).getVarintList());
+        assertFalse(items.get(0).hasField(2));
+        assertEquals(List.of(1L), items.get(1).getField(2).getVarintList());
+        UnknownFieldSet error = parse(items.get(1).getField(4).getLengthDelimitedList().get(0).toByteArray());
+        assertEquals("origin", error.getField(1).getLengthDelimitedList().get(0).toStringUtf8());
+        assertEquals("invalid", error.getField(2).getLengthDelimitedList().get(0).toStringUtf8());
+    }
+
+    @Test
+    void write_UnsupportedType_ShouldThrow() {
+        // Act & Assert
+        assertFalse(FlightProtobuf.canWrite(String.class));
+        assertThrows(IllegalArgumentException.class, () -> encode("flight"));
+    }
+
+    private static byte[] encode(Object value) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+        FlightProtobuf.write(value, buffer);
+        return buffer.toByteArray();
+    }
+
+    private static UnknownFieldSet parse(byte[] bytes) {
+        try {
+            return UnknownFieldSet.parseFrom(bytes);
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.flightapp.repository;
+
+import com.flightapp.dto.FlightDto;
+import com.flightapp.dto.FlightSearchCriteria;
+import com.flightapp.model.Flight;
+import com.flightapp.util.FlightCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@DataJpaTest
+@ActiveProfiles("test")
+public class FlightRepositoryTest {
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    private Flight early;
+    private Flight lateLow;
+    private Flight lateHigh;
+
+    @BeforeEach
+    void setUp() {
+        // Inserted out of date order so ID order and date order differ
+        lateLow = flightRepository.save(new Flight(null, "AA", "1234", LocalDate.of(2025, 3, 20), "JFK", "LHR"));
+        early = flightRepository.save(new Flight(null, "BA", "4321", LocalDate.of(2025, 3, 10), "LHR", "JFK"));
+        lateHigh = flightRepository.save(new Flight(null, "EK", "1357", LocalDate.of(2025, 3, 20), "DXB", "JFK"));
+    }
+
+    @Test
+    void findByIdGreaterThan_ShouldSeekPastIdInIdOrder() {
+        // Act
+        List<Flight> firstPage = flightRepository.findAllByOrderByIdAsc(Limit.of(2));
+        List<Flight> secondPage = flightRepository.findByIdGreaterThanOrderByIdAsc(
+                firstPage.get(1).getId(), Limit.of(2));
+
+        // Assert
+        assertEquals(List.of(lateLow.getId(), early.getId()), ids(firstPage));
+        assertEquals(List.of(lateHigh.getId()), ids(secondPage));
+    }
+
+    @Test
+    void findAfterFlightDateAndId_ShouldSeekPastDateAndIdInDateOrder() {
+        // Act
+        List<Flight> firstPage = flightRepository.findAllByOrderByFlightDateAscIdAsc(Limit.of(2));
+        Flight last = firstPage.get(1);
+        List<Flight> secondPage = flightRepository.findAfterFlightDateAndId(
+                last.getFlightDate(), last.getId(), Limit.of(2));
+
+        // Assert
+        assertEquals(List.of(early.getId(), lateLow.getId()), ids(firstPage));
+        assertEquals(List.of(lateHigh.getId()), ids(secondPage));
+    }
+
+    @Test
+    void streamAllByOrderByIdAsc_ShouldReturnEveryFlightInIdOrder() {
+        // Act
+        List<Long> streamed;
+        try (Stream<Flight> flights = flightRepository.streamAllByOrderByIdAsc()) {
+            streamed = flights.map(Flight::getId).toList();
+        }
+
+        // Assert
+        assertEquals(List.of(lateLow.getId(), early.getId(), lateHigh.getId()), streamed);
+    }
+
+    @Test
+    void streamAllIds_ShouldReturnEveryIdUpToMax() {
+        // Act
+        List<Long> streamed;
+        try (Stream<Long> ids = flightRepository.streamAllIds()) {
+            streamed = ids.sorted().toList();
+        }
+
+        // Assert
+        assertEquals(List.of(lateLow.getId(), early.getId(), lateHigh.getId()), streamed);
+        assertEquals(lateHigh.getId(), flightRepository.findMaxId());
+    }
+
+    @Test
+    void search_ShouldCombineFiltersAndSeekPastCursor() {
+        // Arrange
+        FlightSearchCriteria toJfk = new FlightSearchCriteria(null, "JFK", null, null, null);
+
+        // Act
+        List<Flight> firstPage = flightRepository.search(toJfk, null, 1);
+        Flight last = firstPage.get(0);
+        List<Flight> secondPage = flightRepository.search(
+                toJfk, FlightCursor.afterDateAndId(last.getFlightDate(), last.getId()), 1);
+        List<Flight> route = flightRepository.search(
+                new FlightSearchCriteria("DXB", "JFK", "EK", LocalDate.of(2025, 3, 20), LocalDate.of(2025, 3, 20)),
+                null, 10);
+        List<Flight> outOfRange = flightRepository.search(
+                new FlightSearchCriteria(null, null, "AA", LocalDate.of(2025, 3, 21), null), null, 10);
+
+        // Assert
+        assertEquals(List.of(early.getId()), ids(firstPage));
+        assertEquals(List.of(lateHigh.getId()), ids(secondPage));
+        assertEquals(List.of(lateHigh.getId()), ids(route));
+        assertEquals(List.of(), ids(outOfRange));
+    }
+
+    @Test
+    void findDtosByFlightDateBetween_ShouldReturnChunkInDateAndIdOrder() {
+        // Act
+        List<FlightDto> chunk = flightRepository.findDtosByFlightDateBetween(
+                LocalDate.of(2025, 3, 10), LocalDate.of(2025, 3, 20), Limit.of(2));
+        List<FlightDto> before = flightRepository.findDtosByFlightDateBefore(LocalDate.of(2025, 3, 20), Limit.of(10));
+
+        // Assert
+        assertEquals(List.of(early.getId(), lateLow.getId()), chunk.stream().map(FlightDto::getId).toList());
+        assertEquals("4321", chunk.get(0).getFlightNumber());
+        assertEquals(List.of(early.getId()), before.stream().map(FlightDto::getId).toList());
+    }
+
+    @Test
+    void deleteAllByIdIn_ShouldRemoveOnlyListedFlights() {
+        // Act
+        int deleted = flightRepository.deleteAllByIdIn(List.of(early.getId(), lateHigh.getId(), -1L));
+
+        // Assert
+        assertEquals(2, deleted);
+        assertEquals(List.of(lateLow.getId()), ids(flightRepository.findAll()));
+    }
+
+    private static List<Long> ids(List<Flight> flights) {
+        return flights.stream().map(Flight::getId).toList();
+    }
+}
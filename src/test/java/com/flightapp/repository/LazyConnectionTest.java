@@ -0,0 +1,129 @@
+package com.flightapp.repository;
+
+import com.flightapp.config.CacheConfig;
+import com.flightapp.config.ReplicaDataSourceConfig;
+import com.flightapp.model.User;
+import com.flightapp.security.JwtAuthenticationCache;
+import com.flightapp.security.UserDetailsServiceImpl;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Counts connections borrowed from the pool underneath the primary's lazy proxy. Runs
+ * without a test transaction so each call gets its own, as it does in the services.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({ReplicaDataSourceConfig.class, CacheConfig.class, UserDetailsServiceImpl.class,
+        LazyConnectionTest.PoolCounter.class})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class LazyConnectionTest {
+
+    private static final AtomicInteger borrowed = new AtomicInteger();
+
+    @MockBean
+    private JwtAuthenticationCache authenticationCache;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserDetailsServiceImpl userDetailsService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        userRepository.save(new User(null, "admin", "hash", User.Role.ADMIN));
+        userDetailsService.evictAll();
+    }
+
+    @AfterEach
+    void tearDown() {
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void readOnlyTransactionWithoutStatements_ShouldNotBorrowConnection() {
+        // Arrange
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        int before = borrowed.get();
+
+        // Act
+        readOnly.executeWithoutResult(status -> { });
+
+        // Assert
+        assertEquals(before, borrowed.get());
+    }
+
+    @Test
+    void loadUserByUsername_CacheHit_ShouldNotBorrowConnection() {
+        // Arrange
+        int before = borrowed.get();
+        userDetailsService.loadUserByUsername("admin");
+        int afterMiss = borrowed.get();
+
+        // Act
+        userDetailsService.loadUserByUsername("admin");
+
+        // Assert
+        assertEquals(before + 1, afterMiss);
+        assertEquals(afterMiss, borrowed.get());
+    }
+
+    @TestConfiguration
+    static class PoolCounter {
+
+        // Declared with its own type so it is registered as Ordered, ahead of the lazy proxy
+        @Bean
+        static CountingPostProcessor borrowCounter() {
+            return new CountingPostProcessor();
+        }
+    }
+
+    private static class CountingPostProcessor implements BeanPostProcessor, Ordered {
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource dataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource(dataSource) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    borrowed.incrementAndGet();
+                    return super.getConnection();
+                }
+            };
+        }
+
+        @Override
+        public int getOrder() {
+            return Ordered.HIGHEST_PRECEDENCE;
+        }
+    }
+}
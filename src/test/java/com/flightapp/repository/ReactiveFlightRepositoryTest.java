@@ -0,0 +1,87 @@
+package com.flightapp.repository;
+
+import com.flightapp.config.R2dbcConfig;
+import com.flightapp.model.Flight;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.test.StepVerifier;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+
+public class ReactiveFlightRepositoryTest {
+
+    private static final String DATABASE = "mem:reactive_flights;MODE=Oracle;DB_CLOSE_DELAY=-1";
+
+    private ReactiveFlightRepository reactiveFlightRepository;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        // Rows are written over JDBC, as the servlet API does, and read back over R2DBC
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:" + DATABASE, "sa", "");
+             Statement statement = connection.createStatement()) {
+            // Column types as in data.sql; in Oracle mode they come back as BigDecimal and timestamps
+            statement.execute("CREATE TABLE FLIGHTS (ID NUMBER PRIMARY KEY, CARRIER_CODE VARCHAR2(2), " +
+                    "FLIGHT_NUMBER VARCHAR2(4), FLIGHT_DATE DATE, ORIGIN VARCHAR2(3), DESTINATION VARCHAR2(3))");
+            statement.execute("INSERT INTO FLIGHTS VALUES (7, 'BA', '4321', DATE '2025-03-16', 'LHR', 'JFK')");
+            statement.execute("INSERT INTO FLIGHTS VALUES (3, 'AA', '1234', DATE '2025-03-15', 'JFK', 'LHR')");
+        }
+
+        R2dbcConfig r2dbcConfig = new R2dbcConfig();
+        r2dbcConfig.setUrl("r2dbc:h2:" + DATABASE.replace("mem:", "mem:///"));
+        r2dbcConfig.setUsername("sa");
+        r2dbcConfig.setPassword("");
+        r2dbcConfig.setPoolMaxSize(2);
+        r2dbcConfig.setPoolMaxAcquireTime(5000);
+        reactiveFlightRepository = new ReactiveFlightRepository(r2dbcConfig);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        reactiveFlightRepository.destroy();
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:" + DATABASE, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE FLIGHTS");
+        }
+    }
+
+    @Test
+    void findAllByOrderByIdAsc_ShouldEmitFlightsInIdOrder() {
+        // Act & Assert
+        StepVerifier.create(reactiveFlightRepository.findAllByOrderByIdAsc())
+                .expectNext(new Flight(3L, "AA", "1234", LocalDate.of(2025, 3, 15), "JFK", "LHR"))
+                .expectNext(new Flight(7L, "BA", "4321", LocalDate.of(2025, 3, 16), "LHR", "JFK"))
+                .verifyComplete();
+    }
+
+    @Test
+    void findAllByOrderByIdAsc_ShouldHonourDemand() {
+        // Act & Assert
+        StepVerifier.create(reactiveFlightRepository.findAllByOrderByIdAsc(), 1)
+                .expectNextMatches(flight -> flight.getId() == 3L)
+                .expectNoEvent(Duration.ofMillis(100))
+                .thenRequest(1)
+                .expectNextMatches(flight -> flight.getId() == 7L)
+                .verifyComplete();
+    }
+
+    @Test
+    void findById_ExistingFlight_ShouldEmitFlight() {
+        // Act & Assert
+        StepVerifier.create(reactiveFlightRepository.findById(7L))
+                .expectNextMatches(flight -> "4321".equals(flight.getFlightNumber()))
+                .verifyComplete();
+    }
+
+    @Test
+    void findById_MissingFlight_ShouldCompleteEmpty() {
+        // Act & Assert
+        StepVerifier.create(reactiveFlightRepository.findById(99L))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,119 @@
+package com.flightapp.repository;
+
+import com.flightapp.config.ReplicaDataSourceConfig;
+import com.flightapp.model.Flight;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Primary and replica are separate in-memory H2 databases with nothing replicating
+ * between them, so which one answered shows in the result. Runs without a test
+ * transaction so every repository call gets its own, as it does in the services.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(ReplicaDataSourceConfig.class)
+@TestPropertySource(properties = {
+        "datasource.replicas.enabled=true",
+        "datasource.replicas.urls=" + ReplicaRoutingTest.REPLICA_URL
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class ReplicaRoutingTest {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:replica;DB_CLOSE_DELAY=-1";
+
+    private final JdbcTemplate replica = new JdbcTemplate(new DriverManagerDataSource(REPLICA_URL, "sa", ""));
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private JdbcTemplate primary;
+
+    @BeforeEach
+    void setUp(@Autowired DataSource dataSource) {
+        // Outside any transaction, so it goes to the primary
+        primary = new JdbcTemplate(dataSource);
+        replica.execute("CREATE TABLE FLIGHTS (ID BIGINT PRIMARY KEY, CARRIER_CODE VARCHAR(2) NOT NULL, "
+                + "FLIGHT_NUMBER VARCHAR(4) NOT NULL, FLIGHT_DATE DATE NOT NULL, "
+                + "ORIGIN VARCHAR(3) NOT NULL, DESTINATION VARCHAR(3) NOT NULL, "
+                + "CHANGE_VERSION BIGINT DEFAULT 1 NOT NULL)");
+    }
+
+    @AfterEach
+    void tearDown() {
+        replica.execute("DROP TABLE FLIGHTS");
+        flightRepository.deleteAll();
+    }
+
+    @Test
+    void save_ShouldWriteToPrimaryOnly() {
+        // Act
+        flightRepository.save(new Flight(null, "AA", "1234", LocalDate.of(2025, 3, 15), "JFK", "LHR"));
+
+        // Assert
+        assertEquals(0, replica.queryForObject("SELECT COUNT(*) FROM FLIGHTS", Integer.class));
+    }
+
+    @Test
+    void readOnlyFind_ShouldBeAnsweredByReplica() {
+        // Arrange
+        insertFlight(primary, 1L, "1111");
+        insertFlight(replica, 1L, "2222");
+
+        // Act
+        Optional<Flight> found = flightRepository.findById(1L);
+
+        // Assert
+        assertEquals("2222", found.orElseThrow().getFlightNumber());
+    }
+
+    @Test
+    void readOnlyFind_NotYetReplicated_ShouldNotBeFound() {
+        // Arrange
+        insertFlight(primary, 1L, "1111");
+
+        // Act & Assert
+        assertTrue(flightRepository.findById(1L).isEmpty());
+    }
+
+    @Test
+    void readInsideWriteTransaction_ShouldStayOnPrimary() {
+        // Arrange
+        insertFlight(primary, 1L, "1111");
+        insertFlight(replica, 1L, "2222");
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // Act
+        Flight found = transaction.execute(status -> flightRepository.findById(1L).orElseThrow());
+
+        // Assert
+        assertNotNull(found);
+        assertEquals("1111", found.getFlightNumber());
+    }
+
+    private static void insertFlight(JdbcTemplate database, long id, String flightNumber) {
+        database.update("INSERT INTO FLIGHTS (ID, CARRIER_CODE, FLIGHT_NUMBER, FLIGHT_DATE, ORIGIN, DESTINATION) "
+                + "VALUES (?, 'AA', ?, DATE '2025-03-15', 'JFK', 'LHR')", id, flightNumber);
+    }
+}
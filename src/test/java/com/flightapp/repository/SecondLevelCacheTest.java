@@ -0,0 +1,129 @@
+package com.flightapp.repository;
+
+import com.flightapp.config.HibernateCacheConfig;
+import com.flightapp.model.Flight;
+import com.flightapp.model.User;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs without a test transaction so every repository call commits, as it does in the
+ * service, and the cache sees the same invalidations.
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(HibernateCacheConfig.class)
+@TestPropertySource(properties = "cache.hibernate.enabled=true")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+public class SecondLevelCacheTest {
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Flight flight;
+
+    @BeforeEach
+    void setUp() {
+        flight = flightRepository.save(new Flight(null, "AA", "1234", LocalDate.of(2025, 3, 15), "JFK", "LHR"));
+        SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        sessionFactory.getCache().evictAllRegions();
+        statistics = sessionFactory.getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        flightRepository.deleteAll();
+        userRepository.deleteAll();
+    }
+
+    @Test
+    void findById_Repeated_ShouldSkipDatabase() {
+        // Act
+        flightRepository.findById(flight.getId());
+        long statementsAfterFirst = statistics.getPrepareStatementCount();
+        Flight cached = flightRepository.findById(flight.getId()).orElseThrow();
+
+        // Assert
+        assertEquals(1, statementsAfterFirst);
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getSecondLevelCacheHitCount());
+        assertEquals("1234", cached.getFlightNumber());
+    }
+
+    @Test
+    void finder_Repeated_ShouldBeAnsweredFromQueryCache() {
+        // Act
+        flightRepository.findByCarrierCode("AA");
+        long statementsAfterFirst = statistics.getPrepareStatementCount();
+        int found = flightRepository.findByCarrierCode("AA").size();
+
+        // Assert
+        assertEquals(statementsAfterFirst, statistics.getPrepareStatementCount());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(1, found);
+    }
+
+    @Test
+    void save_ShouldInvalidateCachedQueries() {
+        // Arrange
+        flightRepository.findByCarrierCode("AA");
+
+        // Act
+        flightRepository.save(new Flight(null, "AA", "5678", LocalDate.of(2025, 3, 16), "LHR", "JFK"));
+
+        // Assert
+        assertEquals(2, flightRepository.findByCarrierCode("AA").size());
+        assertEquals(0, statistics.getQueryCacheHitCount());
+    }
+
+    @Test
+    void delete_ShouldEvictCachedEntity() {
+        // Arrange
+        flightRepository.findById(flight.getId());
+
+        // Act
+        flightRepository.deleteById(flight.getId());
+
+        // Assert
+        assertTrue(flightRepository.findById(flight.getId()).isEmpty());
+    }
+
+    @Test
+    void findByUsername_Repeated_ShouldSkipDatabase() {
+        // Arrange
+        userRepository.save(new User("alice", "hash", User.Role.USER));
+        statistics.clear();
+
+        // Act
+        userRepository.findByUsername("alice");
+        long statementsAfterFirst = statistics.getPrepareStatementCount();
+        User cached = userRepository.findByUsername("alice").orElseThrow();
+
+        // Assert
+        assertEquals(statementsAfterFirst, statistics.getPrepareStatementCount());
+        assertEquals(User.Role.USER, cached.getRole());
+    }
+}
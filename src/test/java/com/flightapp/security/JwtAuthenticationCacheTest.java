@@ -0,0 +1,93 @@
+package com.flightapp.security;
+
+import com.flightapp.config.JwtConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class JwtAuthenticationCacheTest {
+
+    private static final String TOKEN = "header.payload.signature";
+
+    private JwtConfig jwtConfig;
+    private JwtAuthenticationCache cache;
+    private UsernamePasswordAuthenticationToken authentication;
+
+    @BeforeEach
+    void setUp() {
+        jwtConfig = new JwtConfig();
+        jwtConfig.setCacheEnabled(true);
+        jwtConfig.setCacheMaxSize(100);
+        jwtConfig.setCacheMaxAge(60000);
+        cache = new JwtAuthenticationCache(jwtConfig);
+
+        User principal = new User("testuser", "", Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+        authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+    }
+
+    @Test
+    void get_AfterPut_ShouldReturnFreshAuthentication() {
+        // Arrange
+        cache.put(TOKEN, authentication, new Date(System.currentTimeMillis() + 3600000));
+
+        // Act
+        UsernamePasswordAuthenticationToken first = cache.get(TOKEN);
+        UsernamePasswordAuthenticationToken second = cache.get(TOKEN);
+
+        // Assert
+        assertNotNull(first);
+        assertEquals("testuser", first.getName());
+        assertEquals(authentication.getAuthorities(), first.getAuthorities());
+        assertNotSame(first, second);
+        assertEquals(2, cache.getNativeCache().stats().hitCount());
+    }
+
+    @Test
+    void get_ExpiredToken_ShouldMiss() {
+        // Arrange
+        cache.put(TOKEN, authentication, new Date(System.currentTimeMillis() - 1000));
+
+        // Act & Assert
+        assertNull(cache.get(TOKEN));
+    }
+
+    @Test
+    void get_UnknownToken_ShouldMiss() {
+        // Act & Assert
+        assertNull(cache.get("other.token.value"));
+    }
+
+    @Test
+    void evictUser_ShouldDropOnlyThatUsersTokens() {
+        // Arrange
+        User other = new User("otheruser", "", Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")));
+        Date expiry = new Date(System.currentTimeMillis() + 3600000);
+        cache.put(TOKEN, authentication, expiry);
+        cache.put("other.token.value", new UsernamePasswordAuthenticationToken(other, null, other.getAuthorities()), expiry);
+
+        // Act
+        cache.evictUser("testuser");
+
+        // Assert
+        assertNull(cache.get(TOKEN));
+        assertNotNull(cache.get("other.token.value"));
+    }
+
+    @Test
+    void get_CacheDisabled_ShouldNeverHit() {
+        // Arrange
+        jwtConfig.setCacheEnabled(false);
+        cache.put(TOKEN, authentication, new Date(System.currentTimeMillis() + 3600000));
+
+        // Act & Assert
+        assertNull(cache.get(TOKEN));
+        assertEquals(0, cache.getNativeCache().estimatedSize());
+    }
+}
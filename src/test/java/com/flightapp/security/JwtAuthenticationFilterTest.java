@@ -0,0 +1,165 @@
+package com.flightapp.security;
+
+import com.flightapp.config.JwtConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class JwtAuthenticationFilterTest {
+
+    @Mock
+    private JwtConfig jwtConfig;
+
+    @Mock
+    private UserDetailsServiceImpl userDetailsService;
+
+    private JwtTokenProvider tokenProvider;
+    private JwtAuthenticationFilter filter;
+    private String token;
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        String longSecret = "testSecretKey12345678901234567890123456789012345678901234567890";
+        lenient().when(jwtConfig.getSecret()).thenReturn(Base64.getEncoder().encodeToString(longSecret.getBytes()));
+        lenient().when(jwtConfig.getExpiration()).thenReturn(3600000L);
+        lenient().when(jwtConfig.getHeader()).thenReturn("Authorization");
+        lenient().when(jwtConfig.getPrefix()).thenReturn("Bearer ");
+
+        tokenProvider = new JwtTokenProvider(jwtConfig);
+        tokenProvider.init();
+        meterRegistry = new SimpleMeterRegistry();
+        filter = new JwtAuthenticationFilter(tokenProvider, userDetailsService, jwtConfig,
+                new JwtAuthenticationCache(jwtConfig), meterRegistry);
+
+        UserDetails userDetails = User.builder()
+                .username("testuser")
+                .password("password")
+                .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_ADMIN")))
+                .build();
+        token = tokenProvider.createToken(
+                new UsernamePasswordAuthenticationToken(userDetails, null, userDetails.getAuthorities()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_ClaimsMode_ShouldAuthenticateWithoutUserLookup() throws Exception {
+        // Arrange
+        when(jwtConfig.isClaimsAuthentication()).thenReturn(true);
+
+        // Act
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertNotNull(authentication);
+        assertEquals("testuser", authentication.getName());
+        assertEquals(List.of("ROLE_ADMIN"), authorities(authentication));
+        verifyNoInteractions(userDetailsService);
+    }
+
+    @Test
+    void doFilter_DatabaseMode_ShouldLoadUserDetails() throws Exception {
+        // Arrange
+        when(jwtConfig.isClaimsAuthentication()).thenReturn(false);
+        when(userDetailsService.loadUserByUsername("testuser")).thenReturn(User.builder()
+                .username("testuser")
+                .password("hash")
+                .authorities(Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER")))
+                .build());
+
+        // Act
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals(List.of("ROLE_USER"), authorities(authentication));
+        verify(userDetailsService, times(1)).loadUserByUsername("testuser");
+    }
+
+    @Test
+    void doFilter_InvalidToken_ShouldLeaveRequestUnauthenticated() throws Exception {
+        // Act
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(requestWithToken(token + "x"), new MockHttpServletResponse(), chain);
+
+        // Assert
+        assertNull(SecurityContextHolder.getContext().getAuthentication());
+        assertNotNull(chain.getRequest());
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    void doFilter_ShouldTimeVerificationByOutcome() throws Exception {
+        // Arrange
+        when(jwtConfig.isClaimsAuthentication()).thenReturn(true);
+
+        // Act
+        filter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+        filter.doFilter(requestWithToken(token + "x"), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        assertEquals(1, meterRegistry.get("jwt.verification").tag("outcome", "valid").timer().count());
+        assertEquals(1, meterRegistry.get("jwt.verification").tag("outcome", "invalid").timer().count());
+    }
+
+    @Test
+    void doFilter_CacheEnabled_ShouldParseRepeatedTokenOnce() throws Exception {
+        // Arrange
+        when(jwtConfig.isCacheEnabled()).thenReturn(true);
+        when(jwtConfig.getCacheMaxSize()).thenReturn(100L);
+        when(jwtConfig.getCacheMaxAge()).thenReturn(60000L);
+        when(jwtConfig.isClaimsAuthentication()).thenReturn(true);
+        JwtTokenProvider spyProvider = spy(tokenProvider);
+        JwtAuthenticationFilter cachingFilter = new JwtAuthenticationFilter(
+                spyProvider, userDetailsService, jwtConfig, new JwtAuthenticationCache(jwtConfig), meterRegistry);
+
+        // Act
+        cachingFilter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+        SecurityContextHolder.clearContext();
+        cachingFilter.doFilter(requestWithToken(token), new MockHttpServletResponse(), new MockFilterChain());
+
+        // Assert
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        assertEquals("testuser", authentication.getName());
+        assertEquals(List.of("ROLE_ADMIN"), authorities(authentication));
+        verify(spyProvider, times(1)).parseClaims(token);
+    }
+
+    private MockHttpServletRequest requestWithToken(String jwt) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/flights");
+        request.addHeader("Authorization", "Bearer " + jwt);
+        return request;
+    }
+
+    private static List<String> authorities(Authentication authentication) {
+        return authentication.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList();
+    }
+}
@@ -8,7 +8,9 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import io.jsonwebtoken.Claims;
 import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.User;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -102,4 +104,38 @@ public class JwtTokenProviderTest {
         // Assert
         assertFalse(isValid);
     }
-}
\ No newline at end of file
+
+    @Test
+    void parseClaims_ValidToken_ShouldReturnSubjectAndAuthorities() {
+        // Arrange
+        String token = tokenProvider.createToken(authentication);
+
+        // Act
+        Claims claims = tokenProvider.parseClaims(token);
+
+        // Assert
+        assertNotNull(claims);
+        assertEquals("testuser", claims.getSubject());
+        assertEquals("ROLE_ADMIN", claims.get("auth", String.class));
+    }
+
+    @Test
+    void parseClaims_InvalidToken_ShouldReturnNull() {
+        assertNull(tokenProvider.parseClaims("invalid.token.string"));
+    }
+
+    @Test
+    void getAuthentication_ShouldBuildAuthenticationFromClaims() {
+        // Arrange
+        Claims claims = tokenProvider.parseClaims(tokenProvider.createToken(authentication));
+
+        // Act
+        Authentication result = tokenProvider.getAuthentication(claims);
+
+        // Assert
+        assertEquals("testuser", result.getName());
+        assertTrue(result.isAuthenticated());
+        assertEquals(Collections.singletonList("ROLE_ADMIN"),
+                result.getAuthorities().stream().map(GrantedAuthority::getAuthority).toList());
+    }
+}
@@ -0,0 +1,45 @@
+package com.flightapp.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TimedPasswordEncoderTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private TimedPasswordEncoder passwordEncoder;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        passwordEncoder = new TimedPasswordEncoder(new BCryptPasswordEncoder(4), meterRegistry);
+    }
+
+    @Test
+    void matches_ShouldDelegateAndTimeByOutcome() {
+        // Arrange
+        String hash = passwordEncoder.encode("secret");
+
+        // Act
+        boolean match = passwordEncoder.matches("secret", hash);
+        boolean mismatch = passwordEncoder.matches("wrong", hash);
+
+        // Assert
+        assertTrue(match);
+        assertFalse(mismatch);
+        assertEquals(1, meterRegistry.get("auth.password.check").tag("outcome", "match").timer().count());
+        assertEquals(1, meterRegistry.get("auth.password.check").tag("outcome", "mismatch").timer().count());
+    }
+
+    @Test
+    void encode_ShouldNotRecordChecks() {
+        // Act
+        passwordEncoder.encode("secret");
+
+        // Assert
+        assertEquals(0, meterRegistry.get("auth.password.check").tag("outcome", "match").timer().count());
+    }
+}
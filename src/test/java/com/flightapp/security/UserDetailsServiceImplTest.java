@@ -0,0 +1,149 @@
+package com.flightapp.security;
+
+import com.flightapp.config.CacheConfig;
+import com.flightapp.model.User;
+import com.flightapp.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UserDetailsServiceImplTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private JwtAuthenticationCache authenticationCache;
+
+    private CacheConfig cacheConfig;
+    private UserDetailsServiceImpl userDetailsService;
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        cacheConfig = new CacheConfig();
+        cacheConfig.setUsersEnabled(true);
+        cacheConfig.setUsersMaxSize(100);
+        cacheConfig.setUsersTtl(60000);
+        userDetailsService = new UserDetailsServiceImpl(userRepository, cacheConfig, authenticationCache);
+        admin = new User(1L, "admin", "hash", User.Role.ADMIN);
+    }
+
+    @Test
+    void loadUserByUsername_RepeatedCalls_ShouldQueryOnce() {
+        // Arrange
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+
+        // Act
+        UserDetails first = userDetailsService.loadUserByUsername("admin");
+        UserDetails second = userDetailsService.loadUserByUsername("admin");
+
+        // Assert
+        assertEquals("admin", second.getUsername());
+        assertEquals("ROLE_ADMIN", second.getAuthorities().iterator().next().getAuthority());
+        assertNotSame(first, second);
+        verify(userRepository, times(1)).findByUsername("admin");
+    }
+
+    @Test
+    void loadUserByUsername_ErasedCopy_ShouldNotAffectCache() {
+        // Arrange
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+
+        // Act
+        ((CredentialsContainer) userDetailsService.loadUserByUsername("admin")).eraseCredentials();
+        UserDetails again = userDetailsService.loadUserByUsername("admin");
+
+        // Assert
+        assertEquals("hash", again.getPassword());
+    }
+
+    @Test
+    void loadUserByUsername_ConcurrentMisses_ShouldQueryOnce() throws Exception {
+        // Arrange
+        CountDownLatch release = new CountDownLatch(1);
+        when(userRepository.findByUsername("admin")).thenAnswer(invocation -> {
+            release.await(5, TimeUnit.SECONDS);
+            return Optional.of(admin);
+        });
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // Act
+        List<Future<UserDetails>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> userDetailsService.loadUserByUsername("admin")));
+            }
+            Thread.sleep(100);
+            release.countDown();
+            for (Future<UserDetails> result : results) {
+                assertEquals("admin", result.get(5, TimeUnit.SECONDS).getUsername());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Assert
+        verify(userRepository, times(1)).findByUsername("admin");
+    }
+
+    @Test
+    void loadUserByUsername_UnknownUser_ShouldThrowAndNotCache() {
+        // Arrange
+        when(userRepository.findByUsername("ghost")).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("ghost"));
+        assertThrows(UsernameNotFoundException.class, () -> userDetailsService.loadUserByUsername("ghost"));
+        verify(userRepository, times(2)).findByUsername("ghost");
+    }
+
+    @Test
+    void evictUser_ShouldReloadAndDropCachedTokens() {
+        // Arrange
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+        userDetailsService.loadUserByUsername("admin");
+        admin.setRole(User.Role.USER);
+
+        // Act
+        userDetailsService.evictUser("admin");
+        UserDetails reloaded = userDetailsService.loadUserByUsername("admin");
+
+        // Assert
+        assertEquals("ROLE_USER", reloaded.getAuthorities().iterator().next().getAuthority());
+        verify(userRepository, times(2)).findByUsername("admin");
+        verify(authenticationCache).evictUser("admin");
+    }
+
+    @Test
+    void loadUserByUsername_CacheDisabled_ShouldQueryEveryTime() {
+        // Arrange
+        cacheConfig.setUsersEnabled(false);
+        when(userRepository.findByUsername("admin")).thenReturn(Optional.of(admin));
+
+        // Act
+        userDetailsService.loadUserByUsername("admin");
+        userDetailsService.loadUserByUsername("admin");
+
+        // Assert
+        verify(userRepository, times(2)).findByUsername("admin");
+    }
+}
@@ -0,0 +1,277 @@
+package com.flightapp.service.impl;
+
+import com.flightapp.config.FlightConfig;
+import com.flightapp.dto.FlightDto;
+import com.flightapp.model.Flight;
+import com.flightapp.model.FlightChangeCounter;
+import com.flightapp.model.FlightTombstone;
+import com.flightapp.repository.FlightRepository;
+import com.flightapp.repository.FlightTombstoneRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest
+@ActiveProfiles("test")
+@Import({FlightChangeTracker.class, FlightDeleter.class, FlightConfig.class})
+public class FlightChangeTrackerTest {
+
+    @Autowired
+    private FlightChangeTracker flightChangeTracker;
+
+    @Autowired
+    private FlightDeleter flightDeleter;
+
+    @Autowired
+    private FlightRepository flightRepository;
+
+    @Autowired
+    private FlightTombstoneRepository flightTombstoneRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // Versions are reserved in transactions of their own, so the counter outlives each test's rollback
+    @Test
+    void nextVersion_ShouldCountUpPastInitialVersion() {
+        // Act
+        long first = flightChangeTracker.nextVersion();
+        long second = flightChangeTracker.nextVersion();
+
+        // Assert
+        assertTrue(first > FlightChangeCounter.INITIAL_VERSION);
+        assertEquals(first + 1, second);
+        assertEquals(second, flightChangeTracker.currentVersion());
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void nextVersion_ConcurrentWriters_ShouldNotBlockEachOther() throws Exception {
+        // Arrange
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch firstHasVersion = new CountDownLatch(1);
+        CountDownLatch secondCommitted = new CountDownLatch(1);
+        ExecutorService writers = Executors.newFixedThreadPool(2);
+        try {
+            Future<Long> first = writers.submit(() -> transaction.execute(status -> {
+                long version = flightChangeTracker.nextVersion();
+                save("1111", version);
+                firstHasVersion.countDown();
+                await(secondCommitted);
+                return version;
+            }));
+            assertTrue(firstHasVersion.await(5, TimeUnit.SECONDS));
+
+            // Act: the second writer commits while the first still holds its version
+            Future<Long> second = writers.submit(() -> transaction.execute(status -> {
+                long version = flightChangeTracker.nextVersion();
+                save("2222", version);
+                return version;
+            }));
+            long secondVersion = second.get(5, TimeUnit.SECONDS);
+
+            // Assert: reads stop below the open write, and the collection has no settled version
+            assertFalse(first.isDone());
+            assertEquals(secondVersion - 2, flightChangeTracker.currentVersion());
+            assertEquals(-1, flightChangeTracker.settledVersion());
+            secondCommitted.countDown();
+            long firstVersion = first.get(5, TimeUnit.SECONDS);
+            assertEquals(secondVersion - 1, firstVersion);
+            assertEquals(secondVersion, flightChangeTracker.currentVersion());
+            assertEquals(secondVersion, flightChangeTracker.settledVersion());
+        } finally {
+            secondCommitted.countDown();
+            writers.shutdown();
+            flightRepository.deleteAll();
+        }
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void nextVersion_RolledBack_ShouldNotHoldBackCurrentVersion() {
+        // Arrange
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+        // Act
+        long version = transaction.execute(status -> {
+            status.setRollbackOnly();
+            return flightChangeTracker.nextVersion();
+        });
+
+        // Assert
+        assertEquals(version, flightChangeTracker.currentVersion());
+        assertEquals(version, flightChangeTracker.settledVersion());
+    }
+
+    @Test
+    void findChangedAfter_ShouldReturnFlightsWrittenAfterVersionInVersionOrder() {
+        // Arrange
+        Flight older = save("1111", 3);
+        Flight newer = save("2222", 2);
+        save("3333", 1);
+        save("4444", 5);
+
+        // Act
+        List<Flight> changed = flightRepository.findChangedAfter(1, Long.MAX_VALUE, 4, Limit.of(10));
+
+        // Assert
+        assertEquals(List.of(newer.getId(), older.getId()), changed.stream().map(Flight::getId).toList());
+    }
+
+    @Test
+    void findChangedAfter_WithinVersion_ShouldContinuePastId() {
+        // Arrange
+        Flight first = save("1111", 2);
+        Flight second = save("2222", 2);
+        Flight later = save("3333", 3);
+
+        // Act
+        List<Flight> changed = flightRepository.findChangedAfter(2, first.getId(), 3, Limit.of(10));
+
+        // Assert
+        assertEquals(List.of(second.getId(), later.getId()), changed.stream().map(Flight::getId).toList());
+    }
+
+    @Test
+    void delete_ShouldLeaveTombstonesForDeletedFlightsOnly() {
+        // Arrange
+        Flight kept = save("1111", 1);
+        Flight deleted = save("2222", 1);
+
+        // Act
+        flightDeleter.deleteByIds(List.of(deleted.getId(), 999L));
+
+        // Assert
+        List<FlightTombstone> tombstones = flightTombstoneRepository.findChangedAfter(
+                FlightChangeCounter.INITIAL_VERSION, Long.MAX_VALUE, flightChangeTracker.currentVersion(), Limit.of(10));
+        assertEquals(1, tombstones.size());
+        assertEquals(deleted.getId(), tombstones.get(0).getId());
+        assertEquals(flightChangeTracker.currentVersion(), tombstones.get(0).getChangeVersion());
+        assertTrue(flightRepository.existsById(kept.getId()));
+        assertFalse(flightRepository.existsById(deleted.getId()));
+    }
+
+    @Test
+    void deleteFlightDateBefore_ShouldDeleteAndTombstoneOlderFlightsOnly() {
+        // Arrange
+        Flight older = save("1111", 1);
+        Flight newer = flightRepository.save(new Flight(null, "AA", "2222", LocalDate.of(2025, 3, 20), "JFK", "LHR"));
+
+        // Act
+        List<FlightDto> deleted = flightDeleter.deleteFlightDateBefore(LocalDate.of(2025, 3, 16), 10);
+
+        // Assert
+        assertEquals(List.of(older.getId()), deleted.stream().map(FlightDto::getId).toList());
+        assertEquals(List.of(older.getId()),
+                flightTombstoneRepository.findAll().stream().map(FlightTombstone::getId).toList());
+        assertTrue(flightRepository.existsById(newer.getId()));
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void delete_SameFlightConcurrently_ShouldDeleteItOnce() throws Exception {
+        // Arrange
+        Flight flight = save("1111", 1);
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        CountDownLatch firstDeleted = new CountDownLatch(1);
+        CountDownLatch secondStarted = new CountDownLatch(1);
+        ExecutorService deleters = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<FlightDto>> first = deleters.submit(() -> transaction.execute(status -> {
+                List<FlightDto> deleted = flightDeleter.deleteByIds(List.of(flight.getId()));
+                firstDeleted.countDown();
+                await(secondStarted);
+                pause();
+                return deleted;
+            }));
+            assertTrue(firstDeleted.await(5, TimeUnit.SECONDS));
+
+            // Act: the second delete reads the flight before the first has committed
+            Future<List<FlightDto>> second = deleters.submit(() -> {
+                secondStarted.countDown();
+                return flightDeleter.deleteByIds(List.of(flight.getId()));
+            });
+
+            // Assert
+            assertEquals(1, first.get(5, TimeUnit.SECONDS).size());
+            assertEquals(List.of(), second.get(5, TimeUnit.SECONDS));
+            assertEquals(List.of(flight.getId()),
+                    flightTombstoneRepository.findAll().stream().map(FlightTombstone::getId).toList());
+        } finally {
+            secondStarted.countDown();
+            deleters.shutdown();
+            flightTombstoneRepository.deleteAll();
+            flightRepository.deleteAll();
+        }
+    }
+
+    @Test
+    void purgeTombstones_ShouldDropOldOnesAndRaisePurgedVersion() {
+        // Arrange
+        LocalDateTime now = LocalDateTime.now();
+        flightTombstoneRepository.save(new FlightTombstone(1L, 3, now.minusDays(40)));
+        flightTombstoneRepository.save(new FlightTombstone(2L, 4, now.minusDays(35)));
+        flightTombstoneRepository.save(new FlightTombstone(3L, 6, now.minusDays(1)));
+
+        // Act
+        int purged = flightChangeTracker.purgeTombstones(now.minusDays(30));
+
+        // Assert
+        assertEquals(2, purged);
+        assertEquals(4L, flightChangeTracker.purgedVersion());
+        assertEquals(List.of(3L), flightTombstoneRepository.findAll().stream().map(FlightTombstone::getId).toList());
+    }
+
+    @Test
+    void purgeTombstones_NoneOldEnough_ShouldKeepPurgedVersion() {
+        // Arrange
+        flightTombstoneRepository.save(new FlightTombstone(1L, 3, LocalDateTime.now()));
+
+        // Act & Assert
+        assertEquals(0, flightChangeTracker.purgeTombstones(LocalDateTime.now().minusDays(30)));
+        assertEquals(0L, flightChangeTracker.purgedVersion());
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Gives the other thread time to reach the rows this transaction holds
+    private static void pause() {
+        try {
+            Thread.sleep(500);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private Flight save(String flightNumber, long changeVersion) {
+        Flight flight = new Flight(null, "AA", flightNumber, LocalDate.of(2025, 3, 15), "JFK", "LHR");
+        flight.setChangeVersion(changeVersion);
+        return flightRepository.save(flight);
+    }
+}
@@ -0,0 +1,91 @@
+package com.flightapp.service.impl;
+
+import com.flightapp.config.FlightConfig;
+import com.flightapp.dto.FlightDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class FlightRetentionJobTest {
+
+    @Mock
+    private FlightDeleter flightDeleter;
+
+    @Mock
+    private FlightChangeTracker flightChangeTracker;
+
+    private FlightConfig flightConfig;
+    private FlightRetentionJob job;
+
+    @BeforeEach
+    void setUp() {
+        flightConfig = new FlightConfig();
+        flightConfig.setRetentionEnabled(true);
+        flightConfig.setRetentionHorizonDays(30);
+        flightConfig.setDeleteChunkSize(2);
+        flightConfig.setRetentionChunkPause(0);
+        flightConfig.setTombstoneRetentionDays(7);
+        job = new FlightRetentionJob(flightDeleter, flightChangeTracker, flightConfig);
+    }
+
+    @Test
+    void purge_ShouldDeleteChunksOlderThanHorizonUntilOneComesBackShort() {
+        // Arrange
+        LocalDate cutoff = LocalDate.now().minusDays(30);
+        FlightDto old = new FlightDto(1L, "AA", "1234", cutoff.minusDays(1), "JFK", "LHR");
+        when(flightDeleter.deleteFlightDateBefore(cutoff, 2))
+                .thenReturn(List.of(old, old), List.of(old));
+
+        // Act
+        job.purge();
+
+        // Assert
+        verify(flightDeleter, times(2)).deleteFlightDateBefore(cutoff, 2);
+    }
+
+    @Test
+    void purge_Disabled_ShouldNotDelete() {
+        // Arrange
+        flightConfig.setRetentionEnabled(false);
+
+        // Act
+        job.purge();
+
+        // Assert
+        verify(flightDeleter, never()).deleteFlightDateBefore(any(), anyInt());
+    }
+
+    @Test
+    void purgeTombstones_ShouldDropThoseOlderThanTombstoneRetention() {
+        // Arrange
+        LocalDateTime started = LocalDateTime.now();
+
+        // Act
+        job.purgeTombstones();
+
+        // Assert
+        verify(flightChangeTracker).purgeTombstones(argThat(before ->
+                !before.isBefore(started.minusDays(7)) && !before.isAfter(LocalDateTime.now().minusDays(7))));
+    }
+
+    @Test
+    void purgeTombstones_ShouldReleaseAbandonedChangeVersions() {
+        // Act
+        job.purgeTombstones();
+
+        // Assert
+        verify(flightChangeTracker).releaseAbandonedVersions();
+    }
+}
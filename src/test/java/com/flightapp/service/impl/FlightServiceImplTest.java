@@ -1,23 +1,52 @@
 package com.flightapp.service.impl;
 
+import com.flightapp.cache.FlightCache;
+import com.flightapp.cache.FlightIdFilter;
+import com.flightapp.cache.RouteIndex;
+import com.flightapp.config.CacheConfig;
+import com.flightapp.config.FlightConfig;
+import com.flightapp.dto.FlightBatchItemResult;
+import com.flightapp.dto.FlightBatchResponse;
+import com.flightapp.dto.FlightDeleteResponse;
+import com.flightapp.dto.FlightDeltaDto;
 import com.flightapp.dto.FlightDto;
+import com.flightapp.dto.FlightPageDto;
+import com.flightapp.dto.FlightSearchCriteria;
+import com.flightapp.event.FlightChangeEvent;
+import com.flightapp.exception.BadRequestException;
 import com.flightapp.exception.ResourceNotFoundException;
 import com.flightapp.model.Flight;
+import com.flightapp.model.FlightTombstone;
 import com.flightapp.repository.FlightRepository;
+import com.flightapp.repository.FlightTombstoneRepository;
+import com.flightapp.store.FlightStore;
+import com.flightapp.util.FlightCursor;
+import com.flightapp.util.FlightDeltaCursor;
+import com.flightapp.util.Versioned;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,6 +55,39 @@ public class FlightServiceImplTest {
     @Mock
     private FlightRepository flightRepository;
 
+    @Spy
+    private FlightConfig flightConfig = new FlightConfig();
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Spy
+    private FlightCache flightCache = new FlightCache(enabledCacheConfig());
+
+    @Mock
+    private FlightIdFilter flightIdFilter;
+
+    @Mock
+    private RouteIndex routeIndex;
+
+    @Mock
+    private FlightStore flightStore;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private FlightDeleter flightDeleter;
+
+    @Mock
+    private FlightChangeTracker flightChangeTracker;
+
+    @Mock
+    private FlightTombstoneRepository flightTombstoneRepository;
+
     @InjectMocks
     private FlightServiceImpl flightService;
 
@@ -37,6 +99,10 @@ public class FlightServiceImplTest {
     void setUp() {
         // Setup test data
         LocalDate testDate = LocalDate.of(2025, 3, 15);
+        flightConfig.setMaxPageSize(500);
+        flightConfig.setBatchChunkSize(2);
+        flightConfig.setBatchMaxSize(10);
+        lenient().when(flightIdFilter.mightExist(anyLong())).thenReturn(true);
 
         flight1 = new Flight();
         flight1.setId(1L);
@@ -76,6 +142,107 @@ public class FlightServiceImplTest {
         assertEquals(flight1.getCarrierCode(), savedFlight.getCarrierCode());
         assertEquals(flight1.getFlightNumber(), savedFlight.getFlightNumber());
         verify(flightRepository, times(1)).save(any(Flight.class));
+        verify(eventPublisher).publishEvent(FlightChangeEvent.saved(List.of(savedFlight)));
+    }
+
+    @Test
+    void addFlight_ShouldStampNextChangeVersion() {
+        // Arrange
+        when(flightChangeTracker.nextVersion()).thenReturn(7L);
+        when(flightRepository.save(any(Flight.class))).thenReturn(flight1);
+
+        // Act
+        flightService.addFlight(flightDto);
+
+        // Assert
+        ArgumentCaptor<Flight> saved = ArgumentCaptor.forClass(Flight.class);
+        verify(flightRepository).save(saved.capture());
+        assertEquals(7L, saved.getValue().getChangeVersion());
+    }
+
+    @Test
+    void addFlights_ShouldStampWholeBatchWithOneChangeVersion() {
+        // Arrange
+        when(flightChangeTracker.nextVersion()).thenReturn(7L);
+        List<Long> versions = new ArrayList<>();
+        when(flightRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Flight> flights = invocation.getArgument(0);
+            flights.forEach(flight -> versions.add(flight.getChangeVersion()));
+            return flights;
+        });
+
+        // Act
+        flightService.addFlights(List.of(flightDto, flightDto, flightDto));
+
+        // Assert
+        assertEquals(List.of(7L, 7L, 7L), versions);
+        verify(flightChangeTracker, times(1)).nextVersion();
+    }
+
+    @Test
+    void addFlights_ShouldInsertValidFlightsInChunksAndRejectInvalidOnes() {
+        // Arrange
+        FlightDto invalid = new FlightDto(null, "AA", "12", flight1.getFlightDate(), "JFK", "lhr");
+        List<FlightDto> batch = List.of(flightDto, invalid, flightDto, flightDto);
+        long[] nextId = {100};
+        when(flightRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Flight> flights = invocation.getArgument(0);
+            flights.forEach(flight -> flight.setId(nextId[0]++));
+            return flights;
+        });
+
+        // Act
+        FlightBatchResponse response = flightService.addFlights(batch);
+
+        // Assert
+        assertEquals(3, response.getCreated());
+        assertEquals(1, response.getRejected());
+        List<FlightBatchItemResult> results = response.getResults();
+        assertEquals(4, results.size());
+        assertEquals(FlightBatchItemResult.Status.CREATED, results.get(0).getStatus());
+        assertEquals(100L, results.get(0).getId());
+        assertEquals(FlightBatchItemResult.Status.REJECTED, results.get(1).getStatus());
+        assertNull(results.get(1).getId());
+        assertEquals(2, results.get(1).getErrors().size());
+        assertTrue(results.get(1).getErrors().containsKey("flightNumber"));
+        assertTrue(results.get(1).getErrors().containsKey("destination"));
+        assertEquals(101L, results.get(2).getId());
+        assertEquals(102L, results.get(3).getId());
+        // Chunk size 2: one full chunk and one remainder, each flushed and cleared
+        verify(flightRepository, times(2)).saveAll(anyList());
+        verify(entityManager, times(2)).flush();
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void addFlights_ShouldIgnoreClientSuppliedIds() {
+        // Arrange
+        flightDto.setId(1L);
+        List<Long> savedIds = new ArrayList<>();
+        when(flightRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Flight> flights = invocation.getArgument(0);
+            flights.forEach(flight -> savedIds.add(flight.getId()));
+            return flights;
+        });
+
+        // Act
+        flightService.addFlights(List.of(flightDto));
+
+        // Assert
+        assertEquals(1, savedIds.size());
+        assertNull(savedIds.get(0));
+    }
+
+    @Test
+    void addFlights_EmptyOrOversizedBatch_ShouldThrowBadRequest() {
+        List<FlightDto> oversized = new ArrayList<>();
+        for (int i = 0; i < 11; i++) {
+            oversized.add(flightDto);
+        }
+
+        assertThrows(BadRequestException.class, () -> flightService.addFlights(List.of()));
+        assertThrows(BadRequestException.class, () -> flightService.addFlights(oversized));
+        verifyNoInteractions(flightRepository);
     }
 
     @Test
@@ -94,6 +261,39 @@ public class FlightServiceImplTest {
         verify(flightRepository, times(1)).findById(1L);
     }
 
+    @Test
+    void getFlightById_RepeatedCalls_ShouldLoadOnceAndReturnCopies() {
+        // Arrange
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight1));
+
+        // Act
+        FlightDto first = flightService.getFlightById(1L);
+        first.setOrigin("XXX");
+        FlightDto second = flightService.getFlightById(1L);
+
+        // Assert
+        assertEquals(flight1.getOrigin(), second.getOrigin());
+        verify(flightRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void getFlightById_AfterDelete_ShouldReloadFromRepository() {
+        // Arrange
+        when(flightRepository.findById(1L)).thenReturn(Optional.of(flight1));
+        FlightDto deletedFlight = flightService.getFlightById(1L);
+        when(flightDeleter.deleteByIds(List.of(1L))).thenReturn(List.of(deletedFlight));
+
+        // Act
+        flightService.deleteFlight(1L);
+        // Published by the deleter once the delete commits
+        flightCache.onFlightChange(FlightChangeEvent.deleted(List.of(deletedFlight)));
+        flightService.getFlightById(1L);
+
+        // Assert
+        // getFlightById, then getFlightById again after eviction
+        verify(flightRepository, times(2)).findById(1L);
+    }
+
     @Test
     void getFlightById_NonExistingId_ShouldThrowException() {
         // Arrange
@@ -104,47 +304,581 @@ public class FlightServiceImplTest {
         verify(flightRepository, times(1)).findById(999L);
     }
 
+    @Test
+    void getFlightById_StoreReady_ShouldReadFromStore() {
+        // Arrange
+        when(flightStore.isReady()).thenReturn(true);
+        when(flightStore.get(1L)).thenReturn(flightDto);
+
+        // Act
+        FlightDto found = flightService.getFlightById(1L);
+
+        // Assert
+        assertEquals(flightDto, found);
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void getFlightById_StoreMiss_ShouldFallBackToDatabase() {
+        // Arrange: flight 2 was written elsewhere after the store loaded
+        when(flightStore.isReady()).thenReturn(true);
+        when(flightStore.get(anyLong())).thenReturn(null);
+        when(flightRepository.findById(2L)).thenReturn(Optional.of(flight2));
+        when(flightRepository.findById(999L)).thenReturn(Optional.empty());
+
+        // Act
+        FlightDto found = flightService.getFlightById(2L);
+
+        // Assert
+        assertEquals("4321", found.getFlightNumber());
+        assertThrows(ResourceNotFoundException.class, () -> flightService.getFlightById(999L));
+    }
+
+    @Test
+    void getFlightPage_ByIdWithStoreReady_ShouldReadFromStore() {
+        // Arrange
+        FlightDto second = new FlightDto(2L, "BA", "4321", flight2.getFlightDate(), "LHR", "JFK");
+        when(flightStore.isReady()).thenReturn(true);
+        when(flightStore.findAfterId(1L, 2)).thenReturn(List.of(second, flightDto));
+
+        // Act
+        FlightPageDto page = flightService.getFlightPage(FlightCursor.afterId(1L).encode(), 1, FlightCursor.Order.ID);
+
+        // Assert
+        assertEquals(List.of(second), page.getFlights());
+        assertEquals(FlightCursor.afterId(2L), FlightCursor.decode(page.getNext()));
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void getFlightById_FilteredId_ShouldThrowWithoutQuery() {
+        // Arrange
+        when(flightIdFilter.mightExist(999L)).thenReturn(false);
+
+        // Act & Assert
+        assertThrows(ResourceNotFoundException.class, () -> flightService.getFlightById(999L));
+        assertThrows(ResourceNotFoundException.class, () -> flightService.deleteFlight(999L));
+        verifyNoInteractions(flightRepository, flightDeleter);
+    }
+
     @Test
     void getAllFlights_ShouldReturnAllFlights() {
         // Arrange
         List<Flight> flightList = new ArrayList<>();
         flightList.add(flight1);
         flightList.add(flight2);
+        when(flightChangeTracker.settledVersion()).thenReturn(7L);
         when(flightRepository.findAll()).thenAnswer(invocation -> flightList);
 
         // Act
-        List<FlightDto> flights = flightService.getAllFlights();
+        Versioned<List<FlightDto>> flights = flightService.getAllFlights();
 
         // Assert
-        assertNotNull(flights);
-        assertEquals(2, flights.size());
-        assertEquals(flight1.getId(), flights.get(0).getId());
-        assertEquals(flight2.getId(), flights.get(1).getId());
+        assertNotNull(flights.getValue());
+        assertEquals(2, flights.getValue().size());
+        assertEquals(flight1.getId(), flights.getValue().get(0).getId());
+        assertEquals(flight2.getId(), flights.getValue().get(1).getId());
+        assertEquals(7L, flights.getVersion());
         verify(flightRepository, times(1)).findAll();
     }
 
     @Test
-    void deleteFlight_ExistingId_ShouldDeleteFlight() {
+    void getAllFlights_WrittenWhileReading_ShouldLeaveVersionOut() {
+        // Arrange
+        when(flightChangeTracker.settledVersion()).thenReturn(7L, 8L);
+        when(flightRepository.findAll()).thenReturn(List.of(flight1));
+
+        // Act
+        Versioned<List<FlightDto>> flights = flightService.getAllFlights();
+
+        // Assert
+        assertEquals(1, flights.getValue().size());
+        assertNull(flights.getVersion());
+    }
+
+    @Test
+    void getAllFlights_WriteCommitting_ShouldLeaveVersionOut() {
+        // Arrange
+        when(flightChangeTracker.settledVersion()).thenReturn(-1L);
+        when(flightRepository.findAll()).thenReturn(List.of(flight1));
+
+        // Act
+        Versioned<List<FlightDto>> flights = flightService.getAllFlights();
+
+        // Assert
+        assertEquals(1, flights.getValue().size());
+        assertNull(flights.getVersion());
+    }
+
+    @Test
+    void getAllFlights_StoreReady_ShouldUseStoreVersion() {
+        // Arrange
+        when(flightStore.isReady()).thenReturn(true);
+        when(flightStore.version()).thenReturn(1L << 40);
+        when(flightStore.findAll()).thenReturn(List.of(flightDto));
+
+        // Act
+        Versioned<List<FlightDto>> flights = flightService.getAllFlights();
+
+        // Assert
+        assertEquals(List.of(flightDto), flights.getValue());
+        assertEquals(1L << 40, flights.getVersion());
+        verifyNoInteractions(flightRepository, flightChangeTracker);
+    }
+
+    @Test
+    void getFlightsVersion_ShouldUseStoreWhileReadyAndCounterOtherwise() {
+        // Arrange
+        when(flightStore.isReady()).thenReturn(true, false);
+        when(flightStore.version()).thenReturn(1L << 40);
+        when(flightChangeTracker.settledVersion()).thenReturn(7L);
+
+        // Act & Assert
+        assertEquals(1L << 40, flightService.getFlightsVersion());
+        assertEquals(7L, flightService.getFlightsVersion());
+    }
+
+    @Test
+    void getFlightVersion_StoreReady_ShouldNotReadFlight() {
+        // Arrange
+        when(flightStore.isReady()).thenReturn(true);
+        when(flightStore.getChangeVersion(1L)).thenReturn(4L);
+
+        // Act & Assert
+        assertEquals(4L, flightService.getFlightVersion(1L));
+        verify(flightStore, never()).get(anyLong());
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void getFlightVersion_StoreMiss_ShouldQueryVersion() {
+        // Arrange
+        when(flightStore.isReady()).thenReturn(true);
+        when(flightStore.getChangeVersion(anyLong())).thenReturn(-1L);
+        when(flightRepository.findChangeVersionById(2L)).thenReturn(Optional.of(6L));
+        when(flightRepository.findChangeVersionById(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertEquals(6L, flightService.getFlightVersion(2L));
+        assertThrows(ResourceNotFoundException.class, () -> flightService.getFlightVersion(999L));
+    }
+
+    @Test
+    void getFlightVersion_NotCached_ShouldQueryVersionOnly() {
         // Arrange
+        when(flightRepository.findChangeVersionById(1L)).thenReturn(Optional.of(4L));
+        when(flightRepository.findChangeVersionById(999L)).thenReturn(Optional.empty());
+
+        // Act & Assert
+        assertEquals(4L, flightService.getFlightVersion(1L));
+        assertThrows(ResourceNotFoundException.class, () -> flightService.getFlightVersion(999L));
+        verify(flightRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void getFlightVersion_Cached_ShouldNotQuery() {
+        // Arrange
+        flight1.setChangeVersion(4);
         when(flightRepository.findById(1L)).thenReturn(Optional.of(flight1));
-        doNothing().when(flightRepository).delete(flight1);
+        flightService.getFlightById(1L);
+
+        // Act & Assert
+        assertEquals(4L, flightService.getFlightVersion(1L));
+        verify(flightRepository, never()).findChangeVersionById(anyLong());
+    }
+
+    @Test
+    void exportFlights_ShouldStreamEachFlightAndDetachIt() {
+        // Arrange
+        when(flightRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(flight1, flight2));
+        List<FlightDto> exported = new ArrayList<>();
+
+        // Act
+        flightService.exportFlights(exported::add);
+
+        // Assert
+        assertEquals(2, exported.size());
+        assertEquals(flight1.getId(), exported.get(0).getId());
+        assertEquals(flight2.getId(), exported.get(1).getId());
+        verify(entityManager).detach(flight1);
+        verify(entityManager).detach(flight2);
+        verify(flightRepository, never()).findAll();
+    }
+
+    @Test
+    void deleteFlight_ExistingId_ShouldDeleteWithoutLoadingEntity() {
+        // Arrange
+        when(flightDeleter.deleteByIds(List.of(1L))).thenReturn(List.of(flightService.convertToDto(flight1)));
 
         // Act
         flightService.deleteFlight(1L);
 
         // Assert
-        verify(flightRepository, times(1)).findById(1L);
-        verify(flightRepository, times(1)).delete(flight1);
+        verify(flightDeleter, times(1)).deleteByIds(List.of(1L));
+        verifyNoInteractions(flightRepository);
     }
 
     @Test
     void deleteFlight_NonExistingId_ShouldThrowException() {
         // Arrange
-        when(flightRepository.findById(999L)).thenReturn(Optional.empty());
+        when(flightDeleter.deleteByIds(List.of(999L))).thenReturn(List.of());
 
         // Act & Assert
         assertThrows(ResourceNotFoundException.class, () -> flightService.deleteFlight(999L));
-        verify(flightRepository, times(1)).findById(999L);
-        verify(flightRepository, never()).delete(any(Flight.class));
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void deleteFlights_ShouldDeleteDistinctCandidatesInChunks() {
+        // Arrange
+        flightConfig.setDeleteChunkSize(2);
+        when(flightIdFilter.mightExist(999L)).thenReturn(false);
+        when(flightDeleter.deleteByIds(anyList())).thenAnswer(invocation -> {
+            List<Long> ids = invocation.getArgument(0);
+            return ids.stream().map(id -> new FlightDto(id, "AA", "1234", flight1.getFlightDate(), "JFK", "LHR")).toList();
+        });
+
+        // Act
+        FlightDeleteResponse response = flightService.deleteFlights(List.of(1L, 2L, 2L, 999L, 3L));
+
+        // Assert
+        assertEquals(3, response.getDeleted());
+        verify(flightDeleter).deleteByIds(List.of(1L, 2L));
+        verify(flightDeleter).deleteByIds(List.of(3L));
+        verifyNoMoreInteractions(flightDeleter);
+    }
+
+    @Test
+    void deleteFlights_EmptyOrTooMany_ShouldThrowBadRequest() {
+        // Arrange
+        List<Long> tooMany = new ArrayList<>();
+        for (long id = 1; id <= 11; id++) {
+            tooMany.add(id);
+        }
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> flightService.deleteFlights(List.of()));
+        assertThrows(BadRequestException.class, () -> flightService.deleteFlights(tooMany));
+        verifyNoInteractions(flightDeleter);
+    }
+
+    @Test
+    void deleteFlightsBetween_ShouldDeleteChunksUntilOneComesBackShort() {
+        // Arrange
+        flightConfig.setDeleteChunkSize(2);
+        LocalDate from = LocalDate.of(2024, 1, 1);
+        LocalDate to = LocalDate.of(2024, 12, 31);
+        FlightDto dto = flightService.convertToDto(flight1);
+        when(flightDeleter.deleteFlightDateBetween(from, to, 2))
+                .thenReturn(List.of(dto, dto), List.of(dto, dto), List.of(dto));
+
+        // Act
+        FlightDeleteResponse response = flightService.deleteFlightsBetween(from, to);
+
+        // Assert
+        assertEquals(5, response.getDeleted());
+        verify(flightDeleter, times(3)).deleteFlightDateBetween(from, to, 2);
+    }
+
+    @Test
+    void deleteFlightsBetween_InvertedRange_ShouldThrowBadRequest() {
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> flightService.deleteFlightsBetween(
+                LocalDate.of(2024, 12, 31), LocalDate.of(2024, 1, 1)));
+        verifyNoInteractions(flightDeleter);
+    }
+
+    @Test
+    void getFlightPage_MoreRowsThanSize_ShouldReturnNextCursor() {
+        // Arrange
+        when(flightRepository.findAllByOrderByIdAsc(Limit.of(2))).thenReturn(List.of(flight1, flight2));
+
+        // Act
+        FlightPageDto page = flightService.getFlightPage(null, 1, FlightCursor.Order.ID);
+
+        // Assert
+        assertEquals(1, page.getFlights().size());
+        assertEquals(flight1.getId(), page.getFlights().get(0).getId());
+        assertEquals(FlightCursor.afterId(1L), FlightCursor.decode(page.getNext()));
+    }
+
+    @Test
+    void getFlightPage_LastPage_ShouldReturnNullCursor() {
+        // Arrange
+        String cursor = FlightCursor.afterId(1L).encode();
+        when(flightRepository.findByIdGreaterThanOrderByIdAsc(1L, Limit.of(11))).thenReturn(List.of(flight2));
+
+        // Act
+        FlightPageDto page = flightService.getFlightPage(cursor, 10, FlightCursor.Order.ID);
+
+        // Assert
+        assertEquals(1, page.getFlights().size());
+        assertEquals(flight2.getId(), page.getFlights().get(0).getId());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    void getFlightPage_ByFlightDate_ShouldSeekPastDateAndId() {
+        // Arrange
+        LocalDate date = flight1.getFlightDate();
+        String cursor = FlightCursor.afterDateAndId(date, 1L).encode();
+        when(flightRepository.findAfterFlightDateAndId(date, 1L, Limit.of(2))).thenReturn(List.of(flight2));
+
+        // Act
+        FlightPageDto page = flightService.getFlightPage(cursor, 1, FlightCursor.Order.FLIGHT_DATE);
+
+        // Assert
+        assertEquals(flight2.getId(), page.getFlights().get(0).getId());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    void getFlightPage_SizeAboveMaximum_ShouldBeCapped() {
+        // Arrange
+        flightConfig.setMaxPageSize(1);
+        when(flightRepository.findAllByOrderByIdAsc(Limit.of(2))).thenReturn(List.of(flight1, flight2));
+
+        // Act
+        FlightPageDto page = flightService.getFlightPage(null, 100, FlightCursor.Order.ID);
+
+        // Assert
+        assertEquals(1, page.getFlights().size());
+        assertNotNull(page.getNext());
+    }
+
+    @Test
+    void searchFlights_ShouldNormalizeCodesAndReturnNextCursor() {
+        // Arrange
+        FlightSearchCriteria criteria = new FlightSearchCriteria(" jfk ", "", "aa", null, null);
+        FlightSearchCriteria expected = new FlightSearchCriteria("JFK", null, "AA", null, null);
+        when(flightRepository.search(expected, null, 2)).thenReturn(List.of(flight1, flight2));
+
+        // Act
+        FlightPageDto page = flightService.searchFlights(criteria, null, 1);
+
+        // Assert
+        assertEquals(1, page.getFlights().size());
+        assertEquals(FlightCursor.afterDateAndId(flight1.getFlightDate(), flight1.getId()),
+                FlightCursor.decode(page.getNext()));
+    }
+
+    @Test
+    void searchFlights_RouteWithIndexLoaded_ShouldNotQueryDatabase() {
+        // Arrange
+        FlightSearchCriteria criteria = new FlightSearchCriteria("jfk", "lhr", null, null, null);
+        when(routeIndex.find("JFK", "LHR", null, null, null, null, 11)).thenReturn(List.of(flightDto));
+
+        // Act
+        FlightPageDto page = flightService.searchFlights(criteria, null, 10);
+
+        // Assert
+        assertEquals(List.of(flightDto), page.getFlights());
+        assertNull(page.getNext());
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void searchFlights_RouteWithIndexNotLoaded_ShouldQueryDatabase() {
+        // Arrange
+        FlightSearchCriteria criteria = new FlightSearchCriteria("JFK", "LHR", null, null, null);
+        when(routeIndex.find("JFK", "LHR", null, null, null, null, 11)).thenReturn(null);
+        when(flightRepository.search(criteria, null, 11)).thenReturn(List.of(flight1));
+
+        // Act
+        FlightPageDto page = flightService.searchFlights(criteria, null, 10);
+
+        // Assert
+        assertEquals(1, page.getFlights().size());
+        verify(flightRepository).search(criteria, null, 11);
+    }
+
+    @Test
+    void searchFlights_InvertedDateRange_ShouldThrowBadRequest() {
+        FlightSearchCriteria criteria = new FlightSearchCriteria(
+                null, null, null, LocalDate.of(2025, 3, 20), LocalDate.of(2025, 3, 10));
+
+        assertThrows(BadRequestException.class, () -> flightService.searchFlights(criteria, null, 10));
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void searchFlights_IdCursor_ShouldThrowBadRequest() {
+        String cursor = FlightCursor.afterId(1L).encode();
+
+        assertThrows(BadRequestException.class,
+                () -> flightService.searchFlights(new FlightSearchCriteria(), cursor, 10));
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void getFlightPage_InvalidCursor_ShouldThrowBadRequest() {
+        assertThrows(BadRequestException.class,
+                () -> flightService.getFlightPage("not-a-cursor", 10, FlightCursor.Order.ID));
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void getFlightPage_CursorForOtherOrder_ShouldThrowBadRequest() {
+        String cursor = FlightCursor.afterId(1L).encode();
+
+        assertThrows(BadRequestException.class,
+                () -> flightService.getFlightPage(cursor, 10, FlightCursor.Order.FLIGHT_DATE));
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void getFlightDelta_ShouldReturnChangesUpToCurrentVersion() {
+        // Arrange
+        flight1.setChangeVersion(5);
+        when(flightChangeTracker.currentVersion()).thenReturn(10L);
+        when(flightRepository.findChangedAfter(3L, Long.MAX_VALUE, 10L, Limit.of(501))).thenReturn(List.of(flight1));
+        when(flightTombstoneRepository.findChangedAfter(3L, Long.MAX_VALUE, 10L, Limit.of(501)))
+                .thenReturn(List.of(tombstone(9L, 6)));
+
+        // Act
+        FlightDeltaDto delta = flightService.getFlightDelta(3L, null, 500);
+
+        // Assert
+        assertEquals(10L, delta.getVersion());
+        assertNull(delta.getNext());
+        assertFalse(delta.isResync());
+        assertEquals(List.of(1L), delta.getSaved().stream().map(FlightDto::getId).toList());
+        assertEquals(List.of(9L), delta.getDeleted());
+    }
+
+    @Test
+    void getFlightDelta_FromZero_ShouldSkipTombstones() {
+        // Arrange
+        when(flightChangeTracker.currentVersion()).thenReturn(10L);
+        when(flightRepository.findChangedAfter(0L, Long.MAX_VALUE, 10L, Limit.of(501)))
+                .thenReturn(List.of(flight1, flight2));
+
+        // Act
+        FlightDeltaDto delta = flightService.getFlightDelta(0L, null, 500);
+
+        // Assert
+        assertEquals(2, delta.getSaved().size());
+        assertTrue(delta.getDeleted().isEmpty());
+        verifyNoInteractions(flightTombstoneRepository);
+    }
+
+    @Test
+    void getFlightDelta_MoreThanSize_ShouldReturnCursorInVersionAndIdOrder() {
+        // Arrange
+        flight1.setChangeVersion(4);
+        flight2.setChangeVersion(6);
+        when(flightChangeTracker.currentVersion()).thenReturn(10L);
+        when(flightRepository.findChangedAfter(3L, Long.MAX_VALUE, 10L, Limit.of(3))).thenReturn(List.of(flight1, flight2));
+        when(flightTombstoneRepository.findChangedAfter(3L, Long.MAX_VALUE, 10L, Limit.of(3)))
+                .thenReturn(List.of(tombstone(9L, 4)));
+
+        // Act
+        FlightDeltaDto delta = flightService.getFlightDelta(3L, null, 2);
+
+        // Assert
+        assertEquals(List.of(1L), delta.getSaved().stream().map(FlightDto::getId).toList());
+        assertEquals(List.of(9L), delta.getDeleted());
+        assertEquals(new FlightDeltaCursor(3, 10, 4, 9), FlightDeltaCursor.decode(delta.getNext()));
+        // Version 4 may have more changes after ID 9
+        assertEquals(3L, delta.getVersion());
+    }
+
+    @Test
+    void getFlightDelta_WithCursor_ShouldContinueAfterIt() {
+        // Arrange
+        flight2.setChangeVersion(6);
+        String cursor = new FlightDeltaCursor(3, 10, 4, 9).encode();
+        when(flightChangeTracker.currentVersion()).thenReturn(12L);
+        when(flightRepository.findChangedAfter(4L, 9L, 10L, Limit.of(3))).thenReturn(List.of(flight2));
+
+        // Act
+        FlightDeltaDto delta = flightService.getFlightDelta(null, cursor, 2);
+
+        // Assert
+        assertEquals(10L, delta.getVersion());
+        assertNull(delta.getNext());
+        assertEquals(List.of(2L), delta.getSaved().stream().map(FlightDto::getId).toList());
+    }
+
+    @Test
+    void getFlightDelta_CursorBeyondCurrentVersion_ShouldThrowBadRequest() {
+        // Arrange
+        String cursor = new FlightDeltaCursor(3, 10, 4, 9).encode();
+        when(flightChangeTracker.currentVersion()).thenReturn(8L);
+
+        // Act & Assert
+        assertThrows(BadRequestException.class, () -> flightService.getFlightDelta(null, cursor, 500));
+        assertThrows(BadRequestException.class, () -> flightService.getFlightDelta(null, "bm90LWEtY3Vyc29y", 500));
+        verifyNoInteractions(flightRepository);
+    }
+
+    @Test
+    void getFlightDelta_BeforePurgedTombstones_ShouldAskForResync() {
+        // Arrange
+        when(flightChangeTracker.currentVersion()).thenReturn(10L);
+        when(flightChangeTracker.purgedVersion()).thenReturn(5L);
+
+        // Act
+        FlightDeltaDto delta = flightService.getFlightDelta(3L, null, 500);
+
+        // Assert
+        assertTrue(delta.isResync());
+        verifyNoInteractions(flightRepository, flightTombstoneRepository);
+    }
+
+    @Test
+    void getFlightDelta_CursorWithinPurgedVersion_ShouldAskForResync() {
+        // Arrange
+        String cursor = new FlightDeltaCursor(3, 10, 5, 7).encode();
+        when(flightChangeTracker.currentVersion()).thenReturn(10L);
+        when(flightChangeTracker.purgedVersion()).thenReturn(5L);
+
+        // Act & Assert
+        assertTrue(flightService.getFlightDelta(null, cursor, 500).isResync());
+        verifyNoInteractions(flightRepository, flightTombstoneRepository);
+    }
+
+    @Test
+    void getFlightDelta_FullSyncCursor_ShouldIgnorePurgedTombstones() {
+        // Arrange
+        String cursor = new FlightDeltaCursor(0, 10, 1, 7).encode();
+        when(flightChangeTracker.currentVersion()).thenReturn(10L);
+        when(flightRepository.findChangedAfter(1L, 7L, 10L, Limit.of(501))).thenReturn(List.of(flight2));
+
+        // Act
+        FlightDeltaDto delta = flightService.getFlightDelta(null, cursor, 500);
+
+        // Assert
+        assertFalse(delta.isResync());
+        assertEquals(1, delta.getSaved().size());
+        verify(flightChangeTracker, never()).purgedVersion();
+    }
+
+    @Test
+    void getFlightDelta_UnknownVersion_ShouldAskForResync() {
+        // Arrange
+        when(flightChangeTracker.currentVersion()).thenReturn(10L);
+
+        // Act & Assert
+        assertTrue(flightService.getFlightDelta(11L, null, 500).isResync());
+    }
+
+    @Test
+    void getFlightDelta_MissingOrNegativeVersion_ShouldThrowBadRequest() {
+        assertThrows(BadRequestException.class, () -> flightService.getFlightDelta(null, null, 500));
+        assertThrows(BadRequestException.class, () -> flightService.getFlightDelta(-1L, null, 500));
+        verifyNoInteractions(flightChangeTracker);
+    }
+
+    private static FlightTombstone tombstone(long id, long changeVersion) {
+        return new FlightTombstone(id, changeVersion, null);
+    }
+
+    private static CacheConfig enabledCacheConfig() {
+        CacheConfig cacheConfig = new CacheConfig();
+        cacheConfig.setFlightsEnabled(true);
+        cacheConfig.setFlightsMaxSize(100);
+        cacheConfig.setFlightsTtl(60000);
+        return cacheConfig;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,50 @@
+package com.flightapp.store;
+
+import com.flightapp.dto.FlightDto;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FlightCodecTest {
+
+    private final FlightCodec codec = new FlightCodec();
+
+    @Test
+    void encode_ThenDecode_ShouldRoundTrip() {
+        // Arrange
+        FlightDto flight = new FlightDto(42L, "U2", "0071", LocalDate.of(2025, 3, 15), "JFK", "LHR");
+
+        // Act
+        long record = codec.encode(flight);
+        FlightDto decoded = codec.decode(42L, record);
+
+        // Assert
+        assertTrue(record >= 0);
+        assertEquals(flight, decoded);
+        assertEquals(flight.getFlightDate(), codec.dateOf(record));
+        assertTrue(codec.hasCarrier(record, "U2"));
+        assertFalse(codec.hasCarrier(record, "AA"));
+    }
+
+    @Test
+    void encode_ShouldShareDictionaryCodes() {
+        // Act
+        codec.encode(new FlightDto(1L, "AA", "1234", LocalDate.of(2025, 3, 15), "JFK", "LHR"));
+        codec.encode(new FlightDto(2L, "AA", "4321", LocalDate.of(2025, 3, 16), "LHR", "JFK"));
+
+        // Assert
+        assertEquals(1, codec.carrierCount());
+        assertEquals(2, codec.airportCount());
+    }
+
+    @Test
+    void encode_UnrepresentableFlight_ShouldThrow() {
+        // Act & Assert
+        assertThrows(IllegalArgumentException.class, () ->
+                codec.encode(new FlightDto(1L, "AA", "1234", LocalDate.of(1999, 12, 31), "JFK", "LHR")));
+        assertThrows(IllegalArgumentException.class, () ->
+                codec.encode(new FlightDto(1L, "AA", "12A4", LocalDate.of(2025, 3, 15), "JFK", "LHR")));
+    }
+}
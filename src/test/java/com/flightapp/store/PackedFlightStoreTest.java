@@ -0,0 +1,220 @@
+package com.flightapp.store;
+
+import com.flightapp.config.FlightConfig;
+import com.flightapp.dto.FlightDto;
+import com.flightapp.event.FlightChangeEvent;
+import com.flightapp.model.Flight;
+import com.flightapp.repository.FlightRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class PackedFlightStoreTest {
+
+    @Mock
+    private FlightRepository flightRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private FlightConfig flightConfig;
+    private PackedFlightStore store;
+
+    @BeforeEach
+    void setUp() {
+        flightConfig = new FlightConfig();
+        flightConfig.setStoreEnabled(true);
+        store = new PackedFlightStore(flightRepository, flightConfig, new FlightCodec(), entityManager, transactionManager);
+    }
+
+    @Test
+    void load_ShouldServeFlightsById() {
+        // Arrange
+        when(flightRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(entity(1L), entity(5L), entity(9L)));
+
+        // Act
+        store.load();
+
+        // Assert
+        assertTrue(store.isReady());
+        assertEquals(3, store.size());
+        assertEquals(flight(5L), store.get(5L));
+        assertNull(store.get(4L));
+        assertEquals(List.of(5L, 9L), ids(store.findAfterId(1L, 10)));
+        assertEquals(List.of(1L), ids(store.findAfterId(Long.MIN_VALUE, 1)));
+        assertEquals(List.of(1L, 5L, 9L), ids(store.findAll()));
+    }
+
+    @Test
+    void onFlightChange_ShouldInsertUpdateAndDelete() {
+        // Arrange
+        when(flightRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(entity(1L), entity(5L)));
+        store.load();
+        FlightDto moved = new FlightDto(5L, "BA", "9999", LocalDate.of(2030, 1, 1), "LHR", "DXB");
+
+        // Act
+        store.onFlightChange(FlightChangeEvent.saved(List.of(flight(3L), moved, flight(7L))));
+        store.onFlightChange(FlightChangeEvent.deleted(flight(1L)));
+
+        // Assert
+        assertEquals(List.of(3L, 5L, 7L), ids(store.findAll()));
+        assertEquals(moved, store.get(5L));
+        assertNull(store.get(1L));
+    }
+
+    @Test
+    void onFlightChange_ManyDeletes_ShouldCompact() {
+        // Arrange
+        when(flightRepository.streamAllByOrderByIdAsc()).thenReturn(LongStream.rangeClosed(1, 100).mapToObj(this::entity));
+        store.load();
+
+        // Act
+        for (long id = 1; id <= 60; id++) {
+            store.onFlightChange(FlightChangeEvent.deleted(flight(id)));
+        }
+
+        // Assert
+        assertEquals(40, store.size());
+        assertNull(store.get(30L));
+        assertEquals(flight(61L), store.get(61L));
+        assertEquals(List.of(61L, 62L), ids(store.findAfterId(0L, 2)));
+    }
+
+    @Test
+    void changeVersions_ShouldFollowLoadAndChanges() {
+        // Arrange
+        Flight loaded = entity(1L);
+        loaded.setChangeVersion(4);
+        when(flightRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(loaded, entity(5L)));
+        store.load();
+        long loadedVersion = store.version();
+        FlightDto updated = flight(5L);
+        updated.setChangeVersion(9);
+
+        // Act
+        store.onFlightChange(FlightChangeEvent.saved(List.of(updated)));
+        long savedVersion = store.version();
+        store.onFlightChange(FlightChangeEvent.deleted(flight(1L)));
+        long deletedVersion = store.version();
+        store.onFlightChange(FlightChangeEvent.deleted(flight(1L)));
+
+        // Assert
+        assertEquals(9, store.getChangeVersion(5L));
+        assertEquals(9, store.get(5L).getChangeVersion());
+        assertEquals(9, store.findAll().get(0).getChangeVersion());
+        assertEquals(-1, store.getChangeVersion(1L));
+        assertEquals(-1, store.getChangeVersion(3L));
+        assertNotEquals(loadedVersion, savedVersion);
+        assertNotEquals(savedVersion, deletedVersion);
+        assertEquals(deletedVersion, store.version());
+    }
+
+    @Test
+    void load_UnrepresentableFlight_ShouldStayNotReady() {
+        // Arrange
+        Flight ancient = entity(2L);
+        ancient.setFlightDate(LocalDate.of(1990, 1, 1));
+        when(flightRepository.streamAllByOrderByIdAsc()).thenReturn(Stream.of(entity(1L), ancient));
+
+        // Act
+        store.load();
+
+        // Assert
+        assertFalse(store.isReady());
+        assertEquals(0, store.size());
+    }
+
+    @Test
+    void load_Again_ShouldReplaceContentsWithTable() {
+        // Arrange
+        when(flightRepository.streamAllByOrderByIdAsc())
+                .thenReturn(Stream.of(entity(1L), entity(5L)))
+                // Written elsewhere: flight 1 deleted, flight 3 added, with no events here
+                .thenReturn(Stream.of(entity(3L), entity(5L)));
+        store.load();
+        long firstVersion = store.version();
+
+        // Act
+        store.load();
+
+        // Assert
+        assertEquals(List.of(3L, 5L), ids(store.findAll()));
+        assertNull(store.get(1L));
+        assertNotEquals(firstVersion, store.version());
+    }
+
+    @Test
+    void load_ChangesDuringScan_ShouldBeReplayed() {
+        // Arrange
+        when(flightRepository.streamAllByOrderByIdAsc()).thenAnswer(invocation -> {
+            // Committed while the scan is running, after the row was already read
+            store.onFlightChange(FlightChangeEvent.deleted(flight(1L)));
+            return Stream.of(entity(1L), entity(5L));
+        });
+
+        // Act
+        store.load();
+
+        // Assert
+        assertEquals(List.of(5L), ids(store.findAll()));
+    }
+
+    @Test
+    void load_ScanFails_ShouldKeepPreviousContents() {
+        // Arrange
+        when(flightRepository.streamAllByOrderByIdAsc())
+                .thenReturn(Stream.of(entity(1L), entity(5L)))
+                .thenThrow(new IllegalStateException("connection lost"));
+        store.load();
+
+        // Act
+        store.load();
+
+        // Assert
+        assertTrue(store.isReady());
+        assertEquals(List.of(1L, 5L), ids(store.findAll()));
+    }
+
+    @Test
+    void load_Disabled_ShouldNotReadTable() {
+        // Arrange
+        flightConfig.setStoreEnabled(false);
+
+        // Act
+        store.load();
+
+        // Assert
+        assertFalse(store.isReady());
+        verifyNoInteractions(flightRepository);
+    }
+
+    private Flight entity(long id) {
+        FlightDto dto = flight(id);
+        return new Flight(dto.getId(), dto.getCarrierCode(), dto.getFlightNumber(), dto.getFlightDate(),
+                dto.getOrigin(), dto.getDestination());
+    }
+
+    private static FlightDto flight(long id) {
+        return new FlightDto(id, "AA", String.format("%04d", id), LocalDate.of(2025, 3, 15).plusDays(id), "JFK", "LHR");
+    }
+
+    private static List<Long> ids(List<FlightDto> flights) {
+        return flights.stream().map(FlightDto::getId).toList();
+    }
+}
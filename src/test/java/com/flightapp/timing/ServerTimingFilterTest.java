@@ -0,0 +1,125 @@
+package com.flightapp.timing;
+
+import com.flightapp.config.ServerTimingConfig;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ServerTimingFilterTest {
+
+    private ServerTimingConfig serverTimingConfig;
+    private ServerTimingFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        serverTimingConfig = new ServerTimingConfig();
+        serverTimingConfig.setRequestHeader("X-Server-Timing");
+        filter = new ServerTimingFilter(serverTimingConfig);
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void doFilter_Disabled_ShouldNotTimeRequest() throws Exception {
+        // Arrange
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/flights/1"), response, (req, res) -> {
+            assertNull(RequestTiming.current());
+            res.getWriter().write("{}");
+        });
+
+        // Assert
+        assertNull(response.getHeader("Server-Timing"));
+    }
+
+    @Test
+    void doFilter_Enabled_ShouldReportPhasesRecordedBeforeCommit() throws Exception {
+        // Arrange
+        serverTimingConfig.setEnabled(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("GET", "/flights/1"), response, chainRecording(null));
+
+        // Assert
+        String header = response.getHeader("Server-Timing");
+        assertNotNull(header);
+        assertTrue(header.startsWith("jwt;dur="), header);
+        assertTrue(header.contains("db;dur=2.000"), header);
+        assertTrue(header.contains("total;dur="), header);
+        assertFalse(header.contains("serialize"), header);
+        assertNull(RequestTiming.current());
+    }
+
+    @Test
+    void doFilter_OptInFromAdmin_ShouldAddHeader() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/flights/1");
+        request.addHeader("X-Server-Timing", "1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, chainRecording("ROLE_ADMIN"));
+
+        // Assert
+        assertNotNull(response.getHeader("Server-Timing"));
+    }
+
+    @Test
+    void doFilter_OptInFromUser_ShouldNotAddHeader() throws Exception {
+        // Arrange
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/flights/1");
+        request.addHeader("X-Server-Timing", "1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(request, response, chainRecording("ROLE_USER"));
+
+        // Assert
+        assertNull(response.getHeader("Server-Timing"));
+    }
+
+    @Test
+    void doFilter_NoBody_ShouldAddHeaderAfterChain() throws Exception {
+        // Arrange
+        serverTimingConfig.setEnabled(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // Act
+        filter.doFilter(new MockHttpServletRequest("DELETE", "/flights/1"), response,
+                (req, res) -> RequestTiming.current().add(RequestTiming.Phase.DB, 1_000_000L));
+
+        // Assert
+        assertTrue(response.getHeader("Server-Timing").startsWith("db;dur=1.000"));
+    }
+
+    private FilterChain chainRecording(String role) {
+        return (req, res) -> {
+            if (role != null) {
+                SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+                        "someone", null, List.of(new SimpleGrantedAuthority(role))));
+            }
+            RequestTiming.stop(RequestTiming.Phase.JWT, RequestTiming.start());
+            RequestTiming.current().add(RequestTiming.Phase.DB, 2_000_000L);
+            res.getWriter().write("{}");
+            res.flushBuffer();
+            // Recorded after the commit, so it cannot appear in the header
+            RequestTiming.current().add(RequestTiming.Phase.SERIALIZE, 1_000_000L);
+        };
+    }
+}